@@ -0,0 +1,125 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Benchmark of a batch of IPs checked in one server-major pass ({@link BlacklistChecker#checkHosts})
+ * against the same IPs checked by independent {@link BlacklistChecker#checkHost} calls, scanning
+ * or with the per-IP index. The facade holds {@code listed} random addresses, each on 1-20 random
+ * servers; the batch draws {@code listedShare} percent of its IPs from them and the rest are clean.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchCheckBenchmark {
+
+    @Param({"1000000"})
+    public int listed;
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    @Param({"10", "90"})
+    public int listedShare;
+
+    @Param({"server-major", "scan", "indexed"})
+    public String mode;
+
+    private HostBlackListsDataSourceFacade facade;
+    private BlacklistChecker checker;
+    private final List<String> seeded = new ArrayList<>();
+    private final List<String> batch = new ArrayList<>();
+
+    /**
+     * Seeds the addresses, draws the batch and builds the server-major index outside the measurement.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        facade = HostBlackListsDataSourceFacade.getInstance();
+        SplittableRandom random = new SplittableRandom(21);
+        facade.update(editor -> {
+            for (int i = 0; i < listed; i++) {
+                String ip = format((int) random.nextLong(0x01000000L, 0xE0000000L));
+                List<Integer> servers = new ArrayList<>();
+                for (int k = 1 + random.nextInt(20); k > 0; k--) {
+                    servers.add(random.nextInt(10_000));
+                }
+                editor.seed(ip, servers);
+                seeded.add(ip);
+            }
+        });
+        while (batch.size() < batchSize) {
+            // 240.0.0.0/4 is never seeded, so those IPs are clean
+            String ip = random.nextInt(100) < listedShare
+                    ? seeded.get(random.nextInt(seeded.size()))
+                    : format(0xF0000000 | random.nextInt(1 << 28));
+            if (!batch.contains(ip)) {
+                batch.add(ip);
+            }
+        }
+        Policies policies = new Policies();
+        policies.setIndexedLookup("indexed".equals(mode));
+        policies.setScheduling(Policies.Scheduling.DYNAMIC);
+        checker = new BlacklistChecker(facade, policies);
+        checker.checkHosts(batch);
+    }
+
+    /**
+     * Removes the seeded addresses.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        facade.update(editor -> seeded.forEach(editor::clear));
+    }
+
+    /**
+     * Checks the whole batch.
+     *
+     * @param blackhole Consumes every result.
+     */
+    @Benchmark
+    public void checkBatch(Blackhole blackhole) {
+        if ("server-major".equals(mode)) {
+            blackhole.consume(checker.checkHosts(batch));
+            return;
+        }
+        for (String ip : batch) {
+            MatchResult result = checker.checkHost(ip, 1);
+            blackhole.consume(result);
+        }
+    }
+
+    private static String format(int ip) {
+        return (ip >>> 24) + "." + (ip >>> 16 & 0xFF) + "." + (ip >>> 8 & 0xFF) + "." + (ip & 0xFF);
+    }
+}
@@ -0,0 +1,27 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Raises the level of the application loggers so that the per-check INFO lines
+ * do not end up being what the benchmarks measure.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class BenchmarkLogging {
+
+    /** Strong reference, otherwise the configured logger can be garbage collected */
+    private static final Logger APPLICATION_LOGGER = Logger.getLogger("co.eci.blacklist");
+
+    private BenchmarkLogging() {
+    }
+
+    /**
+     * Silences application logging below WARNING.
+     */
+    static void quiet() {
+        APPLICATION_LOGGER.setLevel(Level.WARNING);
+    }
+}
@@ -0,0 +1,76 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Benchmark of {@link BlacklistChecker#checkHost(String, int)} across thread counts,
+ * lookup strategies (static or dynamic scan scheduling, the index, or the negative filter
+ * in front of a dynamic scan) and the three laboratory IPs: concentrated (200.24.34.55),
+ * dispersed (202.24.34.55) and clean (212.24.24.55).
+ * Throughput and sampled latency (with percentiles) are reported.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BlacklistCheckerBenchmark {
+
+    @Param({"200.24.34.55", "202.24.34.55", "212.24.24.55"})
+    public String ip;
+
+    @Param({"1", "4", "16", "64"})
+    public int threads;
+
+    @Param({"static", "dynamic", "indexed", "filter"})
+    public String lookup;
+
+    private BlacklistChecker checker;
+
+    /**
+     * Builds the checker for the current parameters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        Policies policies = new Policies();
+        policies.setIndexedLookup("indexed".equals(lookup));
+        policies.setNegativeLookup("filter".equals(lookup));
+        policies.setScheduling("static".equals(lookup) ? Policies.Scheduling.STATIC : Policies.Scheduling.DYNAMIC);
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        facade.setNegativeFilterRate("filter".equals(lookup) ? 0.01 : 0.0);
+        checker = new BlacklistChecker(facade, policies);
+    }
+
+    /**
+     * Runs one full check.
+     *
+     * @return The result, consumed by JMH.
+     */
+    @Benchmark
+    public MatchResult checkHost() {
+        return checker.checkHost(ip, threads);
+    }
+}
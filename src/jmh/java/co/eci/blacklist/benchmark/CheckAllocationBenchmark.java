@@ -0,0 +1,89 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Allocation benchmark of a scanning {@link BlacklistChecker#checkHost(String, int)}: run it with
+ * the GC profiler and compare {@code gc.alloc.rate.norm}, the bytes allocated per check by every
+ * thread. The IPs stop the scan after a handful of servers (200.24.34.55), or check all of them
+ * (212.24.24.55, and an IPv6 address listed on the last servers), so equal figures across them
+ * show the allocation does not grow with the servers scanned or the matches found.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckAllocationBenchmark {
+
+    private static final String IPV6 = "2001:db8::a110:c8";
+
+    @Param({"200.24.34.55", "212.24.24.55", IPV6})
+    public String ip;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"static", "dynamic"})
+    public String scheduling;
+
+    private HostBlackListsDataSourceFacade facade;
+    private BlacklistChecker checker;
+
+    /**
+     * Lists the IPv6 address on the last servers and builds the scanning checker.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        facade = HostBlackListsDataSourceFacade.getInstance();
+        facade.setNegativeFilterRate(0.0);
+        facade.seed(IPV6, List.of(9_996, 9_997, 9_998, 9_999));
+        Policies policies = new Policies();
+        policies.setIndexedLookup(false);
+        policies.setScheduling("static".equals(scheduling) ? Policies.Scheduling.STATIC : Policies.Scheduling.DYNAMIC);
+        checker = new BlacklistChecker(facade, policies);
+    }
+
+    /**
+     * Removes the IPv6 address.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        facade.clear(IPV6);
+    }
+
+    /**
+     * Runs one full scan.
+     *
+     * @return The result, consumed by JMH.
+     */
+    @Benchmark
+    public MatchResult checkHost() {
+        return checker.checkHost(ip, threads);
+    }
+}
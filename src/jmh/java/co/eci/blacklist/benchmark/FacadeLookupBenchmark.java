@@ -0,0 +1,95 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Benchmark of the facade queries: a single per-server lookup, a full per-server scan
+ * as the segmented checker does it, and the bulk index queries.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FacadeLookupBenchmark {
+
+    @Param({"200.24.34.55", "202.24.34.55", "212.24.24.55"})
+    public String ip;
+
+    private HostBlackListsDataSourceFacade facade;
+    private int servers;
+    private int server;
+
+    /**
+     * Resolves the facade under test.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        facade = HostBlackListsDataSourceFacade.getInstance();
+        servers = facade.getRegisteredServersCount();
+    }
+
+    /**
+     * One per-server lookup, cycling through the server indices.
+     *
+     * @return Whether the IP is listed on the server.
+     */
+    @Benchmark
+    public boolean isInBlackListServer() {
+        server = server + 1 == servers ? 0 : server + 1;
+        return facade.isInBlackListServer(server, ip);
+    }
+
+    /**
+     * Lookups on every server, as one sequential scan does.
+     *
+     * @param blackhole Consumes every lookup result.
+     */
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        for (int s = 0; s < servers; s++) {
+            blackhole.consume(facade.isInBlackListServer(s, ip));
+        }
+    }
+
+    /**
+     * Bulk query of the first five matches.
+     *
+     * @return The matching server indices.
+     */
+    @Benchmark
+    public int[] getFirstMatches() {
+        return facade.getFirstMatches(ip, 5);
+    }
+
+    /**
+     * Bulk count of matches over every server.
+     *
+     * @return The number of matching servers.
+     */
+    @Benchmark
+    public int countMatches() {
+        return facade.countMatches(ip, 0, servers);
+    }
+}
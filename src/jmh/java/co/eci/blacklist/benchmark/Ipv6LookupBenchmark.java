@@ -0,0 +1,126 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Benchmark of IPv6 lookups in the facade for feeds of random global unicast addresses on
+ * random servers. Probed addresses are either seeded ones, written without leading zeros or
+ * fully expanded in upper case, or addresses from fd00::/8, where nothing is seeded.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class Ipv6LookupBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @Param({"10000", "1000000", "5000000"})
+    public int addresses;
+
+    @Param({"short", "expanded", "miss"})
+    public String probe;
+
+    private HostBlackListsDataSourceFacade facade;
+    private final String[] ips = new String[PROBES];
+    private final List<String> seeded = new ArrayList<>();
+    private int next;
+
+    /**
+     * Loads the addresses in one epoch and draws the probed addresses.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        facade = HostBlackListsDataSourceFacade.getInstance();
+        SplittableRandom random = new SplittableRandom(19);
+        long[] his = new long[addresses];
+        long[] los = new long[addresses];
+        for (int i = 0; i < addresses; i++) {
+            // Global unicast 2000::/3, with the interface identifier in the low half
+            his[i] = 0x2000000000000000L | random.nextLong() >>> 3;
+            los[i] = random.nextLong();
+            seeded.add(shortForm(his[i], los[i]));
+        }
+        facade.update(editor -> {
+            for (String ip : seeded) {
+                editor.seed(ip, List.of(random.nextInt(10_000)));
+            }
+        });
+        for (int i = 0; i < PROBES; i++) {
+            int k = random.nextInt(addresses);
+            ips[i] = switch (probe) {
+                case "short" -> seeded.get(k);
+                case "expanded" -> String.format(Locale.ROOT, "%04X:%04X:%04X:%04X:%04X:%04X:%04X:%04X",
+                        his[k] >>> 48, his[k] >>> 32 & 0xFFFF, his[k] >>> 16 & 0xFFFF, his[k] & 0xFFFF,
+                        los[k] >>> 48, los[k] >>> 32 & 0xFFFF, los[k] >>> 16 & 0xFFFF, los[k] & 0xFFFF);
+                default -> shortForm(0xFD00000000000000L | random.nextLong() >>> 8, random.nextLong());
+            };
+        }
+    }
+
+    /**
+     * Removes the addresses.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        facade.update(editor -> seeded.forEach(editor::clear));
+    }
+
+    /**
+     * One per-server lookup, as the segmented scan does it.
+     *
+     * @return Whether the address is listed on server 42.
+     */
+    @Benchmark
+    public boolean isInBlackListServer() {
+        return facade.isInBlackListServer(42, nextIp());
+    }
+
+    /**
+     * Bulk query of every server listing the address.
+     *
+     * @return The matching server indices.
+     */
+    @Benchmark
+    public int[] getMatches() {
+        return facade.getMatches(nextIp());
+    }
+
+    private String nextIp() {
+        next = (next + 1) & (PROBES - 1);
+        return ips[next];
+    }
+
+    private static String shortForm(long hi, long lo) {
+        return Long.toHexString(hi >>> 48) + ":" + Long.toHexString(hi >>> 32 & 0xFFFF) + ":"
+                + Long.toHexString(hi >>> 16 & 0xFFFF) + ":" + Long.toHexString(hi & 0xFFFF) + ":"
+                + Long.toHexString(lo >>> 48) + ":" + Long.toHexString(lo >>> 32 & 0xFFFF) + ":"
+                + Long.toHexString(lo >>> 16 & 0xFFFF) + ":" + Long.toHexString(lo & 0xFFFF);
+    }
+}
@@ -0,0 +1,120 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Benchmark of lookups through the CIDR prefix trie, for feeds of random /16 to /32 prefixes
+ * (mostly /24) on random servers. Probed addresses are drawn from the covered networks or
+ * from 240.0.0.0/4, which no prefix covers.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class PrefixLookupBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @Param({"10000", "1000000", "4000000"})
+    public int prefixes;
+
+    @Param({"covered", "uncovered"})
+    public String probe;
+
+    private HostBlackListsDataSourceFacade facade;
+    private final String[] ips = new String[PROBES];
+    private final List<String> seeded = new ArrayList<>();
+    private int next;
+
+    /**
+     * Loads the prefixes in one epoch and draws the probed addresses.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        facade = HostBlackListsDataSourceFacade.getInstance();
+        SplittableRandom random = new SplittableRandom(18);
+        int[] networks = new int[prefixes];
+        int[] lengths = new int[prefixes];
+        for (int i = 0; i < prefixes; i++) {
+            int roll = random.nextInt(10);
+            lengths[i] = roll < 7 ? 24 : roll == 7 ? 32 : 16 + random.nextInt(17);
+            // Unicast space below 224.0.0.0, so 240.0.0.0/4 stays uncovered
+            networks[i] = (int) random.nextLong(0x01000000L, 0xE0000000L) & (-1 << (32 - lengths[i]));
+            seeded.add(format(networks[i]) + "/" + lengths[i]);
+        }
+        facade.update(editor -> {
+            for (String prefix : seeded) {
+                editor.seed(prefix, List.of(random.nextInt(10_000)));
+            }
+        });
+        for (int i = 0; i < PROBES; i++) {
+            int k = random.nextInt(prefixes);
+            int ip = "covered".equals(probe)
+                    ? networks[k] | (random.nextInt() & ~(-1 << (32 - lengths[k])))
+                    : 0xF0000000 | random.nextInt(1 << 28);
+            ips[i] = format(ip);
+        }
+    }
+
+    /**
+     * Removes the prefixes.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        facade.update(editor -> seeded.forEach(editor::clear));
+    }
+
+    /**
+     * One per-server lookup, as the segmented scan does it.
+     *
+     * @return Whether the address is listed on server 42.
+     */
+    @Benchmark
+    public boolean isInBlackListServer() {
+        return facade.isInBlackListServer(42, nextIp());
+    }
+
+    /**
+     * Bulk query of every server listing the address.
+     *
+     * @return The matching server indices.
+     */
+    @Benchmark
+    public int[] getMatches() {
+        return facade.getMatches(nextIp());
+    }
+
+    private String nextIp() {
+        next = (next + 1) & (PROBES - 1);
+        return ips[next];
+    }
+
+    private static String format(int ip) {
+        return (ip >>> 24) + "." + (ip >>> 16 & 0xFF) + "." + (ip >>> 8 & 0xFF) + "." + (ip & 0xFF);
+    }
+}
@@ -0,0 +1,79 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.eci.blacklist.api.dto.BatchCheckResponseDTO;
+import co.eci.blacklist.api.dto.CheckResponseDTO;
+import co.eci.blacklist.domain.MatchResult;
+
+/**
+ * Benchmark of the REST response path after the check: mapping a {@link MatchResult}
+ * to its DTO and serializing it to JSON, for a single check and for a 1000-IP batch.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseSerializationBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private MatchResult result;
+    private BatchCheckResponseDTO batch;
+
+    /**
+     * Builds the results to serialize.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        result = new MatchResult("202.24.34.55", false, List.of(5, 111, 999, 2048, 4096), 4097, 10_000, 3, 4);
+        List<CheckResponseDTO> results = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            results.add(CheckResponseDTO.from(result));
+        }
+        batch = new BatchCheckResponseDTO(1000, 1000, results, List.of(), 1000, 12);
+    }
+
+    /**
+     * Maps and serializes a single check result.
+     *
+     * @return The JSON bytes.
+     * @throws JsonProcessingException if serialization fails.
+     */
+    @Benchmark
+    public byte[] singleCheck() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(CheckResponseDTO.from(result));
+    }
+
+    /**
+     * Serializes a batch response of 1000 results.
+     *
+     * @return The JSON bytes.
+     * @throws JsonProcessingException if serialization fails.
+     */
+    @Benchmark
+    public byte[] batchOf1000() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(batch);
+    }
+}
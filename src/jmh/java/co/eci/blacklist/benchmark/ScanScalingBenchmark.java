@@ -0,0 +1,71 @@
+package co.eci.blacklist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+/**
+ * Scaling benchmark of a full scan: the clean IP 212.24.24.55 is checked against every server
+ * with 1 to 128 workers, so the time per check only falls with more threads (up to the cores
+ * available) when the workers share no written state while scanning. Run it with the
+ * {@code perfnorm} profiler on Linux to see the cache misses per check.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32", "64", "128"})
+    public int threads;
+
+    @Param({"static", "dynamic"})
+    public String scheduling;
+
+    private BlacklistChecker checker;
+
+    /**
+     * Builds a scanning checker for the current scheduling.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        facade.setNegativeFilterRate(0.0);
+        Policies policies = new Policies();
+        policies.setIndexedLookup(false);
+        policies.setScheduling("static".equals(scheduling) ? Policies.Scheduling.STATIC : Policies.Scheduling.DYNAMIC);
+        checker = new BlacklistChecker(facade, policies);
+    }
+
+    /**
+     * Scans every server.
+     *
+     * @return The result, consumed by JMH.
+     */
+    @Benchmark
+    public MatchResult scanAll() {
+        return checker.checkHost("212.24.24.55", threads);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025 Escuela Colombiana de Ingenieria Julio Garavito.
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package co.eci.blacklist.api;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.eci.blacklist.api.dto.DeltaRequestDTO;
+import co.eci.blacklist.api.dto.EpochResponseDTO;
+import co.eci.blacklist.api.dto.ReloadRequestDTO;
+import co.eci.blacklist.api.dto.ReloadResponseDTO;
+import co.eci.blacklist.application.AdminProperties;
+import co.eci.blacklist.application.BlacklistAdminService;
+import co.eci.blacklist.infrastructure.BlacklistFeedImporter;
+import co.eci.blacklist.infrastructure.IpAddresses;
+
+/**
+ * REST controller for updating the blacklist data. Every update is published as a new
+ * data epoch; checks already running keep the epoch they started with. The endpoints
+ * answer 403 unless enabled in the configuration.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/admin/blacklist")
+public class AdminController {
+
+    /** The service publishing new versions of the data */
+    private final BlacklistAdminService service;
+
+    /** The administration configuration */
+    private final AdminProperties properties;
+
+    /**
+     * Constructs a new AdminController.
+     *
+     * @param service the service publishing new versions of the data
+     * @param properties the administration configuration
+     */
+    public AdminController(BlacklistAdminService service, AdminProperties properties) {
+        this.service = service;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the epoch of the data currently answering checks.
+     *
+     * @return The current epoch, or 403 if the endpoints are disabled.
+     */
+    @GetMapping("/epoch")
+    public ResponseEntity<?> epoch() {
+        if (!properties.isEnabled()) {
+            return disabled();
+        }
+        return ResponseEntity.ok(new EpochResponseDTO(service.currentEpoch()));
+    }
+
+    /**
+     * Replaces all the blacklist data with a feed from the configured feed directory.
+     * The current data keeps answering checks until the whole feed has been loaded.
+     *
+     * @param request The feed and, for per-server feeds, its server index.
+     * @return The published epoch with the import statistics, 400 if the request is invalid,
+     *         404 if the feed does not exist, 409 if checks are served from a snapshot, or 403
+     *         if the endpoints are disabled.
+     * @throws IOException If the feed cannot be read.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<?> reload(@RequestBody ReloadRequestDTO request) throws IOException {
+        if (!properties.isEnabled()) {
+            return disabled();
+        }
+        if (request.feed() == null || request.feed().isBlank()) {
+            return ResponseEntity.badRequest().body("Feed must be provided");
+        }
+        if (request.serverIndex() != null && request.serverIndex() < 0) {
+            return ResponseEntity.badRequest().body("Invalid server index: " + request.serverIndex());
+        }
+
+        BlacklistFeedImporter.Result result;
+        try {
+            result = service.reload(request.feed(), request.serverIndex());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Feed not found: " + request.feed());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        return ResponseEntity.ok(new ReloadResponseDTO(result.epoch(), result.rows(), result.rejected(),
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos())));
+    }
+
+    /**
+     * Seeds and clears IP addresses and IPv4 CIDR prefixes in a new epoch. Each epoch copies the
+     * whole IPv4 and IPv6 tables, so a delta costs time and memory proportional to the data set
+     * rather than to its own size; deltas sent concurrently share one epoch and one copy, and
+     * large changes are better sent as a single delta or a reload.
+     *
+     * @param request The server indices to add per IP address or prefix and the entries to remove.
+     * @return The epoch that includes the delta, 400 if an entry or server index is invalid,
+     *         409 if checks are served from a snapshot, or 403 if the endpoints are disabled.
+     */
+    @PostMapping("/delta")
+    public ResponseEntity<?> delta(@RequestBody DeltaRequestDTO request) {
+        if (!properties.isEnabled()) {
+            return disabled();
+        }
+        Map<String, List<Integer>> seed = request.seed() == null ? Map.of() : request.seed();
+        List<String> clear = request.clear() == null ? List.of() : request.clear();
+        for (Map.Entry<String, List<Integer>> entry : seed.entrySet()) {
+            if (!isValidEntry(entry.getKey())) {
+                return ResponseEntity.badRequest().body("Invalid IP address: " + entry.getKey());
+            }
+            if (entry.getValue() == null || entry.getValue().stream().anyMatch(s -> s == null || s < 0)) {
+                return ResponseEntity.badRequest().body("Invalid server indices for " + entry.getKey());
+            }
+        }
+        for (String ip : clear) {
+            if (ip == null || !isValidEntry(ip)) {
+                return ResponseEntity.badRequest().body("Invalid IP address: " + ip);
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(new EpochResponseDTO(service.applyDelta(seed, clear)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts IP addresses and CIDR prefixes; prefixes are validated when the delta is applied.
+     *
+     * @param entry the IP address or prefix
+     * @return true if the entry may be applied
+     */
+    private static boolean isValidEntry(String entry) {
+        return entry.indexOf('/') >= 0 || IpAddresses.isValid(entry);
+    }
+
+    private ResponseEntity<String> disabled() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Administration endpoints are disabled");
+    }
+}
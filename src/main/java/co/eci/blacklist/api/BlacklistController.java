@@ -16,16 +16,38 @@
 
 package co.eci.blacklist.api;
 
-import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import co.eci.blacklist.api.dto.BatchCheckRequestDTO;
+import co.eci.blacklist.api.dto.BatchCheckResponseDTO;
 import co.eci.blacklist.api.dto.CheckResponseDTO;
+import co.eci.blacklist.application.BatchProperties;
 import co.eci.blacklist.application.BlacklistService;
+import co.eci.blacklist.application.StreamProperties;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.ScanControl;
+import co.eci.blacklist.infrastructure.IpAddresses;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -42,51 +64,181 @@ public class BlacklistController {
     /** The blacklist service for business logic operations */
     private final BlacklistService service;
 
+    /** The batch configuration, including the maximum batch size */
+    private final BatchProperties batchProperties;
+
+    /** The streaming configuration, including the progress interval */
+    private final StreamProperties streamProperties;
+
+    /** The scheduler of periodic progress events */
+    private final ScheduledExecutorService streamScheduler;
+
     /**
      * Constructs a new BlacklistController with the specified service.
      *
      * @param service the blacklist service for handling business logic
-     * @throws IllegalArgumentException if service is null
+     * @param batchProperties the batch configuration
+     * @param streamProperties the streaming configuration
+     * @param streamScheduler the scheduler of periodic progress events
      */
-    public BlacklistController(BlacklistService service) {
+    public BlacklistController(BlacklistService service, BatchProperties batchProperties,
+            StreamProperties streamProperties,
+            @Qualifier("blacklistStreamScheduler") ScheduledExecutorService streamScheduler) {
         this.service = service;
+        this.batchProperties = batchProperties;
+        this.streamProperties = streamProperties;
+        this.streamScheduler = streamScheduler;
     }
 
     /**
      * Verifies an IP address against blacklist servers using parallel processing.
      *
-     * @param ip      The IPv4 address to verify.
-     * @param threads The number of threads to use (0 for automatic detection).
-     * @return Verification result wrapped in CheckResponseDTO or 400 if IP invalid.
+     * @param ip      The IP address to verify; an IPv6 address may be in any textual form.
+     * @param threads The number of threads to use (0 for the auto-tuned count).
+     * @param timeoutMs The time budget in milliseconds (0 for none, absent for the configured default).
+     * @return Verification result wrapped in CheckResponseDTO, partial if the deadline expired,
+     *         or 400 if IP or timeout invalid.
      */
     @GetMapping("/check")
     public ResponseEntity<?> check(
             @RequestParam String ip,
-            @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int threads) {
+            @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int threads,
+            @RequestParam(required = false) @Min(0) Long timeoutMs) {
 
-        // Validates IP first
-        if (!isValidIp(ip)) {
+        // Validates IP first, in the form that is checked, cached and reported
+        String canonical = IpAddresses.canonical(ip);
+        if (canonical == null) {
             return ResponseEntity.badRequest().body("Invalid IP address: " + ip);
         }
+        if (timeoutMs != null && timeoutMs < 0) {
+            return ResponseEntity.badRequest().body("Invalid timeout: " + timeoutMs);
+        }
 
-        int effectiveThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors());
-        var res = service.check(ip, effectiveThreads);
+        var res = service.check(canonical, threads, toTimeout(timeoutMs));
         return ResponseEntity.ok(CheckResponseDTO.from(res));
     }
 
     /**
-     * Validates whether a string is a valid IPv4 or IPv6 address.
+     * Verifies an IP address and streams the scan as Server-Sent Events: a {@code match} event
+     * for each server where the IP is found, periodic {@code progress} events with the servers
+     * checked so far, and a final {@code verdict} event with the full result. The scan is
+     * cancelled if the client disconnects or the stream times out.
      *
-     * @param ip the string to validate
-     * @return true if valid, false otherwise
+     * @param ip        The IP address to verify.
+     * @param threads   The number of threads to use (0 for the auto-tuned count).
+     * @param timeoutMs The time budget in milliseconds (0 for none, absent for the configured default).
+     * @return The event stream.
+     * @throws ResponseStatusException with status 400 if IP or timeout invalid, or 503 if the
+     *         streaming pool and its queue are full.
      */
-    private boolean isValidIp(String ip) {
+    @GetMapping(path = "/check/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter checkStream(
+            @RequestParam String ip,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(10_000) int threads,
+            @RequestParam(required = false) @Min(0) Long timeoutMs) {
+
+        String canonical = IpAddresses.canonical(ip);
+        if (canonical == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid IP address: " + ip);
+        }
+        if (timeoutMs != null && timeoutMs < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid timeout: " + timeoutMs);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamProperties.getTimeout().toMillis());
+        ScanEventStream stream = new ScanEventStream(emitter);
+        long interval = streamProperties.getProgressInterval().toMillis();
+        ScheduledFuture<?> progress = streamScheduler.scheduleAtFixedRate(
+                stream::sendProgress, interval, interval, TimeUnit.MILLISECONDS);
+
+        ScanControl control = new ScanControl(toTimeout(timeoutMs));
+        Runnable stop = () -> {
+            stream.markClosed();
+            progress.cancel(false);
+            control.cancel();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(error -> stop.run());
+
+        CompletableFuture<MatchResult> check;
         try {
-            java.net.InetAddress inet = java.net.InetAddress.getByName(ip);
-            // Ensure that the parsed IP matches the input (avoid accepting things like hostnames)
-            return inet.getHostAddress().equals(ip);
-        } catch (UnknownHostException e) {
-            return false;
+            check = service.checkAsync(canonical, threads, stream, control);
+        } catch (RejectedExecutionException e) {
+            stop.run();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many streaming checks", e);
+        }
+        check.whenComplete((res, error) -> {
+            progress.cancel(false);
+            if (error != null) {
+                stream.fail(error.getCause() != null ? error.getCause() : error);
+            } else {
+                stream.complete(res);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Verifies several IP addresses in one request. Duplicates, including different forms of
+     * one IPv6 address, are evaluated once and the distinct addresses are checked in parallel;
+     * invalid entries are listed but not checked.
+     *
+     * @param request The IP addresses and the number of threads per check.
+     * @return Per-IP results with aggregate timing, or 400 if the batch is empty or too large.
+     */
+    @PostMapping("/check-batch")
+    public ResponseEntity<?> checkBatch(@RequestBody BatchCheckRequestDTO request) {
+        if (request.ips() == null || request.ips().isEmpty()) {
+            return ResponseEntity.badRequest().body("Batch must contain at least one IP address");
+        }
+        if (request.ips().size() > batchProperties.getMaxSize()) {
+            return ResponseEntity.badRequest().body(
+                    "Batch size " + request.ips().size() + " exceeds maximum of " + batchProperties.getMaxSize());
+        }
+        int threads = request.threads() == null ? 0 : request.threads();
+        if (threads < 0 || threads > 10_000) {
+            return ResponseEntity.badRequest().body("Invalid thread count: " + threads);
         }
+        if (request.timeoutMs() != null && request.timeoutMs() < 0) {
+            return ResponseEntity.badRequest().body("Invalid timeout: " + request.timeoutMs());
+        }
+
+        long start = System.currentTimeMillis();
+        LinkedHashSet<String> unique = new LinkedHashSet<>(request.ips());
+        LinkedHashSet<String> valid = new LinkedHashSet<>();
+        List<String> invalid = new ArrayList<>();
+        for (String ip : unique) {
+            // One parse validates the address and gives the form it is checked under
+            String canonical = ip == null ? null : IpAddresses.canonical(ip);
+            if (canonical != null) {
+                valid.add(canonical);
+            } else {
+                invalid.add(ip);
+            }
+        }
+
+        List<CheckResponseDTO> results = new ArrayList<>(valid.size());
+        int untrusted = 0;
+        for (MatchResult res : service.checkAll(valid, threads, toTimeout(request.timeoutMs()))) {
+            results.add(CheckResponseDTO.from(res));
+            if (!res.trustworthy()) {
+                untrusted++;
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        return ResponseEntity.ok(new BatchCheckResponseDTO(
+                request.ips().size(), unique.size(), results, invalid, untrusted, elapsed));
+    }
+
+    /**
+     * Converts the requested timeout in milliseconds.
+     *
+     * @param timeoutMs the requested timeout, or null for the configured default
+     * @return the timeout, or null for the configured default
+     */
+    private Duration toTimeout(Long timeoutMs) {
+        return timeoutMs == null ? null : Duration.ofMillis(timeoutMs);
     }
 }
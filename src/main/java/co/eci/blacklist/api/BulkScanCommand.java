@@ -0,0 +1,98 @@
+package co.eci.blacklist.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import co.eci.blacklist.application.BulkScanJob;
+import co.eci.blacklist.application.BulkScanProperties;
+import co.eci.blacklist.infrastructure.BlacklistFeedImporter;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point of the offline bulk scan. When {@code blacklist.bulk-scan.input} is
+ * set, the application imports the optional feed, runs the {@link BulkScanJob} over the input,
+ * logs its progress and exits once the report is written:
+ * <pre>
+ * java -jar blacklist-api.jar --spring.main.web-application-type=none \
+ *     --blacklist.bulk-scan.input=inventory.txt --blacklist.bulk-scan.output=verdicts.csv
+ * </pre>
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "blacklist.bulk-scan", name = "input")
+public class BulkScanCommand implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(BulkScanCommand.class.getName());
+
+    /** The job checking the input file */
+    private final BulkScanJob job;
+
+    /** The bulk scan configuration */
+    private final BulkScanProperties properties;
+
+    /** The facade receiving the optional feed */
+    private final HostBlackListsDataSourceFacade facade;
+
+    /** The context closed once the scan is over */
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Constructor of the BulkScanCommand class.
+     *
+     * @param job The job checking the input file.
+     * @param properties The bulk scan configuration.
+     * @param facade The facade receiving the optional feed.
+     * @param context The application context, closed once the scan is over.
+     */
+    public BulkScanCommand(BulkScanJob job, BulkScanProperties properties, HostBlackListsDataSourceFacade facade,
+            ConfigurableApplicationContext context) {
+        this.job = job;
+        this.properties = properties;
+        this.facade = facade;
+        this.context = context;
+    }
+
+    /**
+     * Runs the scan, then shuts the application down.
+     *
+     * @param args The application arguments, unused; the scan is configured by properties.
+     * @throws IllegalStateException If no output file is configured.
+     * @throws UncheckedIOException If the feed, the input or the report cannot be read or written.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Path output = properties.getOutput();
+        if (output == null) {
+            throw new IllegalStateException("blacklist.bulk-scan.output is required for the bulk scan");
+        }
+        try {
+            if (properties.getFeed() != null) {
+                new BlacklistFeedImporter(facade, properties.getEffectiveParallelism(),
+                        progress -> logger.log(Level.INFO, "Importing {0}: {1} rows",
+                                new Object[]{properties.getFeed(), progress.rows()}),
+                        properties.getProgressInterval())
+                        .importPairs(properties.getFeed());
+            }
+            job.run(properties.getInput(), output, progress -> logger.log(Level.INFO,
+                    "Bulk scan: {0} lines, {1} checked ({2} listed, {3} rejected), {4}% of the input, {5} IPs/s, ETA {6}",
+                    new Object[]{progress.lines(), progress.checked(), progress.listed(), progress.rejected(),
+                            progress.totalBytes() == 0 ? 100 : progress.bytesRead() * 100 / progress.totalBytes(),
+                            Math.round(progress.ipsPerSecond()),
+                            progress.eta() == null ? "unknown" : progress.eta().withNanos(0)}));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,105 @@
+package co.eci.blacklist.api;
+
+import java.io.IOException;
+import java.util.function.IntSupplier;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import co.eci.blacklist.api.dto.CheckResponseDTO;
+import co.eci.blacklist.api.dto.MatchEventDTO;
+import co.eci.blacklist.api.dto.ProgressEventDTO;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.ScanListener;
+
+/**
+ * Scan listener that forwards the progress of a check to a Server-Sent Events stream:
+ * {@code match} events as workers find the IP, {@code progress} events when polled,
+ * and a final {@code verdict} (or {@code error}) event.
+ * Once the client goes away, further events are silently dropped.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class ScanEventStream implements ScanListener {
+
+    private final SseEmitter emitter;
+    private volatile IntSupplier checkedServers;
+    private volatile int totalServers;
+    private volatile boolean closed;
+
+    /**
+     * Constructor of the ScanEventStream class.
+     *
+     * @param emitter The emitter of the HTTP response.
+     */
+    ScanEventStream(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onStart(String ip, int totalServers, IntSupplier checkedServers) {
+        this.totalServers = totalServers;
+        this.checkedServers = checkedServers;
+    }
+
+    @Override
+    public void onMatch(String ip, int serverIndex, int found) {
+        send("match", new MatchEventDTO(serverIndex, found));
+    }
+
+    /**
+     * Sends a progress event if the scan has started.
+     */
+    void sendProgress() {
+        IntSupplier checked = checkedServers;
+        if (checked != null) {
+            send("progress", new ProgressEventDTO(checked.getAsInt(), totalServers));
+        }
+    }
+
+    /**
+     * Sends the final progress and verdict events and closes the stream.
+     *
+     * @param result The result of the check.
+     */
+    void complete(MatchResult result) {
+        send("progress", new ProgressEventDTO(result.checkedServers(), result.totalServers()));
+        send("verdict", CheckResponseDTO.from(result));
+        close();
+    }
+
+    /**
+     * Sends an error event and closes the stream.
+     *
+     * @param error The error that ended the check.
+     */
+    void fail(Throwable error) {
+        send("error", String.valueOf(error.getMessage()));
+        close();
+    }
+
+    /**
+     * Marks the stream as closed, for example when the client disconnects or the stream times out.
+     */
+    void markClosed() {
+        closed = true;
+    }
+
+    private void close() {
+        if (!closed) {
+            closed = true;
+            emitter.complete();
+        }
+    }
+
+    private void send(String name, Object data) {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package co.eci.blacklist.api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch blacklist check request.
+ *
+ * @param ips     The IP addresses to check; duplicates are evaluated once.
+ * @param threads Number of parallel threads used for each check (0 or absent for automatic detection).
+ * @param timeoutMs Time budget of each check in milliseconds (0 for none, absent for the configured default).
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record BatchCheckRequestDTO(
+        List<String> ips,
+        Integer threads,
+        Long timeoutMs) {
+}
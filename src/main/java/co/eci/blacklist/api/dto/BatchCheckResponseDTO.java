@@ -0,0 +1,25 @@
+package co.eci.blacklist.api.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch blacklist check response.
+ *
+ * @param requested   Number of IP addresses received, including duplicates.
+ * @param unique      Number of distinct IP addresses.
+ * @param results     One check result per distinct valid IP address, in order of first appearance.
+ * @param invalid     Distinct entries that are not valid IP addresses and were not checked.
+ * @param untrusted   Number of results that are not trustworthy.
+ * @param elapsedMs   Total execution time of the batch in milliseconds.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record BatchCheckResponseDTO(
+        int requested,
+        int unique,
+        List<CheckResponseDTO> results,
+        List<String> invalid,
+        int untrusted,
+        long elapsedMs) {
+}
@@ -14,6 +14,8 @@ import java.util.List;
  * @param totalServers   Total number of blacklist servers available.
  * @param elapsedMs      Total execution time in milliseconds.
  * @param threads        Number of parallel threads used for processing.
+ * @param partial        Whether the check hit its deadline or was cancelled before reaching a verdict.
+ * @param dataEpoch      The version of the blacklist data the verdict was computed against.
  *
  * @author ARSW-PANDILLA-2025
  * @version 1.0
@@ -25,7 +27,9 @@ public record CheckResponseDTO(
         int checkedServers,
         int totalServers,
         long elapsedMs,
-        int threads) {
+        int threads,
+        boolean partial,
+        long dataEpoch) {
 
     /**
      * Creates a CheckResponseDTO from a domain MatchResult object.
@@ -45,6 +49,8 @@ public record CheckResponseDTO(
                 matchResult.checkedServers(),
                 matchResult.totalServers(),
                 matchResult.elapsedMs(),
-                matchResult.threads());
+                matchResult.threads(),
+                matchResult.partial(),
+                matchResult.epoch());
     }
 }
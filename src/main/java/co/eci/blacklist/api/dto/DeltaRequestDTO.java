@@ -0,0 +1,18 @@
+package co.eci.blacklist.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a delta of the blacklist data, applied as one new epoch.
+ *
+ * @param seed  The server indices to add, per IP address (absent for none).
+ * @param clear The IP addresses to remove, before the seeds are applied (absent for none).
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record DeltaRequestDTO(
+        Map<String, List<Integer>> seed,
+        List<String> clear) {
+}
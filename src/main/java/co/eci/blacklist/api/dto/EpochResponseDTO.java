@@ -0,0 +1,12 @@
+package co.eci.blacklist.api.dto;
+
+/**
+ * Data Transfer Object carrying the epoch of the blacklist data.
+ *
+ * @param epoch The data epoch currently answering checks, or published by an update.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record EpochResponseDTO(long epoch) {
+}
@@ -0,0 +1,15 @@
+package co.eci.blacklist.api.dto;
+
+/**
+ * Data Transfer Object sent as a {@code match} event while a streaming check runs.
+ *
+ * @param server The index of the blacklist server where the IP was found.
+ * @param found  Number of matches found so far, including this one.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record MatchEventDTO(
+        int server,
+        int found) {
+}
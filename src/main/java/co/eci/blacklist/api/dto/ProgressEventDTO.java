@@ -0,0 +1,15 @@
+package co.eci.blacklist.api.dto;
+
+/**
+ * Data Transfer Object sent as a periodic {@code progress} event while a streaming check runs.
+ *
+ * @param checkedServers Number of servers checked so far.
+ * @param totalServers   Total number of blacklist servers available.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record ProgressEventDTO(
+        int checkedServers,
+        int totalServers) {
+}
@@ -0,0 +1,16 @@
+package co.eci.blacklist.api.dto;
+
+/**
+ * Data Transfer Object for a reload of the blacklist data from a feed file.
+ *
+ * @param feed        The feed path, relative to the configured feed directory; gzip is detected.
+ * @param serverIndex The server listing every address of a per-server feed, or absent for an
+ *                    {@code ip,serverIndex} feed.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record ReloadRequestDTO(
+        String feed,
+        Integer serverIndex) {
+}
@@ -0,0 +1,19 @@
+package co.eci.blacklist.api.dto;
+
+/**
+ * Data Transfer Object for the outcome of a reload.
+ *
+ * @param epoch     The data epoch published by the reload.
+ * @param rows      The rows read from the feed, rejected ones included.
+ * @param rejected  The malformed rows that were skipped.
+ * @param elapsedMs Total reload time in milliseconds.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public record ReloadResponseDTO(
+        long epoch,
+        long rows,
+        long rejected,
+        long elapsedMs) {
+}
@@ -0,0 +1,90 @@
+package co.eci.blacklist.application;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the administration endpoints that update the blacklist data.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.admin")
+public class AdminProperties {
+
+    /** Whether the administration endpoints accept requests. Default value is false. */
+    private boolean enabled = false;
+
+    /** Directory holding the feeds that may be reloaded; null disables reloads from files. */
+    private Path feedDirectory;
+
+    /** Number of threads parsing a reloaded feed; 0 means one per available processor. */
+    private int importParallelism = 0;
+
+    /**
+     * Returns whether the administration endpoints are enabled.
+     *
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the administration endpoints.
+     *
+     * @param enabled True to enable them.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the directory of the feeds that may be reloaded.
+     *
+     * @return The feed directory, or null if reloads from files are disabled.
+     */
+    public Path getFeedDirectory() {
+        return feedDirectory;
+    }
+
+    /**
+     * Sets the directory of the feeds that may be reloaded.
+     *
+     * @param feedDirectory The feed directory, or null to disable reloads from files.
+     */
+    public void setFeedDirectory(Path feedDirectory) {
+        this.feedDirectory = feedDirectory == null ? null : feedDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the configured import parallelism.
+     *
+     * @return The number of parsing threads, or 0 for automatic sizing.
+     */
+    public int getImportParallelism() {
+        return importParallelism;
+    }
+
+    /**
+     * Sets the import parallelism.
+     *
+     * @param importParallelism The number of parsing threads, or 0 for automatic sizing.
+     */
+    public void setImportParallelism(int importParallelism) {
+        if (importParallelism < 0) {
+            throw new IllegalArgumentException("Import parallelism cannot be negative");
+        }
+        this.importParallelism = importParallelism;
+    }
+
+    /**
+     * Returns the import parallelism actually used, resolving 0 to the available processors.
+     *
+     * @return The effective number of parsing threads.
+     */
+    public int getEffectiveImportParallelism() {
+        return importParallelism > 0 ? importParallelism : Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+}
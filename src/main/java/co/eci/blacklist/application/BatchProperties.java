@@ -0,0 +1,95 @@
+package co.eci.blacklist.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of batch blacklist checks.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.batch")
+public class BatchProperties {
+
+    /** Maximum number of IP addresses accepted in one batch request. Default value is 5000. */
+    private int maxSize = 5_000;
+
+    /** Number of IP addresses evaluated concurrently; 0 means one per available processor. */
+    private int parallelism = 0;
+
+    /**
+     * Whether batches without a time budget resolve their uncached IP addresses together, in one
+     * pass over the source's server-major index, instead of one check per address. Sources without
+     * such an index ignore it. Default value is false.
+     */
+    private boolean serverMajor = false;
+
+    /**
+     * Returns the maximum batch size.
+     *
+     * @return The maximum number of IP addresses per batch.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum batch size.
+     *
+     * @param maxSize The maximum number of IP addresses per batch.
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the configured parallelism.
+     *
+     * @return The number of concurrent evaluations, or 0 for automatic sizing.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the parallelism.
+     *
+     * @param parallelism The number of concurrent evaluations, or 0 for automatic sizing.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism cannot be negative");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Indicates whether batches are resolved in one server-major pass.
+     *
+     * @return True if uncached addresses are checked together, false if one by one.
+     */
+    public boolean isServerMajor() {
+        return serverMajor;
+    }
+
+    /**
+     * Sets whether batches are resolved in one server-major pass.
+     *
+     * @param serverMajor True to check uncached addresses together, false to check them one by one.
+     */
+    public void setServerMajor(boolean serverMajor) {
+        this.serverMajor = serverMajor;
+    }
+
+    /**
+     * Returns the parallelism actually used, resolving 0 to the available processors.
+     *
+     * @return The effective number of concurrent evaluations.
+     */
+    public int getEffectiveParallelism() {
+        return parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,192 @@
+package co.eci.blacklist.application;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import co.eci.blacklist.infrastructure.BlacklistFeedImporter;
+import co.eci.blacklist.infrastructure.BlacklistSource;
+import co.eci.blacklist.infrastructure.BlacklistSourceProperties;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application service that publishes new versions of the blacklist data: full reloads from
+ * a feed file and deltas of seeded and cleared addresses. Both are built off the request
+ * path of the checks and swapped in atomically as a new epoch.
+ *
+ * <p>Every epoch starts from a copy of the current IPv4 and IPv6 tables, so publishing one
+ * costs time and memory proportional to the whole data set, however small the delta. Deltas
+ * that arrive while another is being published are therefore applied together, in arrival
+ * order, as a single epoch. Updates are refused when checks are served from a snapshot
+ * rather than from the facade, since they would never reach the checks.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Service
+public class BlacklistAdminService {
+
+    private static final Logger logger = Logger.getLogger(BlacklistAdminService.class.getName());
+
+    /** The facade holding the blacklist data */
+    private final HostBlackListsDataSourceFacade facade;
+
+    /** The source answering checks, which is backed by the facade unless it is a snapshot */
+    private final BlacklistSource source;
+
+    /** The administration configuration */
+    private final AdminProperties properties;
+
+    /** Whether the facade serves the checks, so that its updates reach them */
+    private final boolean updatable;
+
+    /** Serializes publications; the caller holding it publishes every queued delta */
+    private final Object publishLock = new Object();
+
+    /** Deltas waiting for the next publication */
+    private List<PendingDelta> queued = new ArrayList<>();
+
+    /**
+     * Constructor of the BlacklistAdminService class.
+     *
+     * @param facade The facade holding the blacklist data.
+     * @param source The source answering checks.
+     * @param sourceProperties The source configuration, telling whether the facade serves checks.
+     * @param properties The administration configuration.
+     */
+    public BlacklistAdminService(HostBlackListsDataSourceFacade facade, BlacklistSource source,
+            BlacklistSourceProperties sourceProperties, AdminProperties properties) {
+        this.facade = facade;
+        this.source = source;
+        this.properties = properties;
+        this.updatable = sourceProperties.getType() != BlacklistSourceProperties.Type.SNAPSHOT;
+    }
+
+    /**
+     * Returns the epoch of the data currently answering checks.
+     *
+     * @return The current data epoch.
+     */
+    public long currentEpoch() {
+        return source.epoch();
+    }
+
+    /**
+     * Replaces all the data with a feed from the configured feed directory.
+     *
+     * @param feed The feed path, relative to the feed directory.
+     * @param serverIndex The server listing every address of a per-server feed, or null for an
+     *                    {@code ip,serverIndex} feed.
+     * @return The outcome of the reload.
+     * @throws IllegalArgumentException If reloads are disabled or the path leaves the feed directory.
+     * @throws IllegalStateException If checks are not served from the facade.
+     * @throws IOException If the feed cannot be read, in which case the data is unchanged.
+     */
+    public BlacklistFeedImporter.Result reload(String feed, Integer serverIndex) throws IOException {
+        requireUpdatable();
+        Path directory = properties.getFeedDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("Reloading from files is disabled: no feed directory configured");
+        }
+        Path path = directory.resolve(feed).normalize();
+        if (!path.startsWith(directory)) {
+            throw new IllegalArgumentException("Feed must be inside the feed directory: " + feed);
+        }
+
+        BlacklistFeedImporter importer = new BlacklistFeedImporter(facade, properties.getEffectiveImportParallelism(),
+                progress -> logger.log(Level.FINE, "Reloading {0}: {1} rows",
+                        new Object[]{path, progress.rows()}),
+                Duration.ofSeconds(5));
+        return serverIndex == null ? importer.reloadPairs(path) : importer.reloadServerList(path, serverIndex);
+    }
+
+    /**
+     * Seeds and clears addresses in a new epoch. Addresses are cleared before the seeds are
+     * applied. Deltas queued by concurrent callers are published together, each one applied
+     * after those that arrived before it; if the combined update fails, every delta of it is
+     * retried on its own so that one invalid delta does not reject the others.
+     *
+     * @param seed The server indices to add, per IP address.
+     * @param clear The IP addresses to remove.
+     * @return The number of the epoch that includes the delta.
+     * @throws IllegalArgumentException If an entry or server index of the delta is invalid.
+     * @throws IllegalStateException If checks are not served from the facade.
+     */
+    public long applyDelta(Map<String, List<Integer>> seed, List<String> clear) {
+        requireUpdatable();
+        PendingDelta delta = new PendingDelta(seed, clear, new CompletableFuture<>());
+        synchronized (this) {
+            queued.add(delta);
+        }
+        synchronized (publishLock) {
+            if (!delta.epoch().isDone()) {
+                List<PendingDelta> batch;
+                synchronized (this) {
+                    batch = queued;
+                    queued = new ArrayList<>();
+                }
+                publish(batch);
+            }
+        }
+        try {
+            return delta.epoch().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Publishes queued deltas as one epoch, or one by one if that fails.
+     */
+    private void publish(List<PendingDelta> batch) {
+        try {
+            long epoch = facade.update(editor -> batch.forEach(delta -> delta.applyTo(editor)));
+            batch.forEach(delta -> delta.epoch().complete(epoch));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).epoch().completeExceptionally(e);
+                return;
+            }
+        }
+        for (PendingDelta delta : batch) {
+            try {
+                delta.epoch().complete(facade.update(delta::applyTo));
+            } catch (RuntimeException e) {
+                delta.epoch().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void requireUpdatable() {
+        if (!updatable) {
+            throw new IllegalStateException("Checks are served from a snapshot; the data cannot be updated");
+        }
+    }
+
+    /**
+     * A delta waiting to be published, with the epoch that will include it.
+     *
+     * @param seed The server indices to add, per IP address.
+     * @param clear The IP addresses to remove.
+     * @param epoch Completed with the number of the epoch that includes the delta.
+     */
+    private record PendingDelta(Map<String, List<Integer>> seed, List<String> clear, CompletableFuture<Long> epoch) {
+
+        void applyTo(HostBlackListsDataSourceFacade.Editor editor) {
+            clear.forEach(editor::clear);
+            seed.forEach(editor::seed);
+        }
+    }
+}
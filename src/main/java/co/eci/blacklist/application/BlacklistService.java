@@ -1,7 +1,21 @@
 package co.eci.blacklist.application;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
 import co.eci.blacklist.domain.BlacklistChecker;
 import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.domain.ScanControl;
+import co.eci.blacklist.domain.ScanListener;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,23 +30,161 @@ public class BlacklistService {
     /** The domain service for blacklist checking logic */
     private final BlacklistChecker checker;
 
+    /** The executor that evaluates the IP addresses of a batch concurrently */
+    private final ExecutorService batchExecutor;
+
+    /** The bounded executor that runs streaming checks */
+    private final ExecutorService streamExecutor;
+
+    /** The cache of recent verdicts */
+    private final VerdictCache verdictCache;
+
+    /** The registry of scans in flight, used to coalesce concurrent checks of one IP */
+    private final InFlightChecks inFlightChecks;
+
+    /** The tuner that chooses the thread count of checks requesting 0 threads */
+    private final ThreadAutoTuner tuner;
+
+    /** The batch configuration, choosing between per-address checks and a server-major pass */
+    private final BatchProperties batchProperties;
+
+    /** The policies providing the default time budget of a check */
+    private final Policies policies;
+
     /**
      * Constructor of the BlacklistService class.
      *
      * @param checker The blacklist checker for domain operations.
+     * @param batchExecutor The executor used to evaluate batches in parallel.
+     * @param streamExecutor The executor that runs streaming checks.
+     * @param verdictCache The cache of recent verdicts.
+     * @param inFlightChecks The registry of scans in flight.
+     * @param tuner The tuner of the thread count for checks requesting 0 threads.
+     * @param batchProperties The batch configuration.
+     * @param policies The policies providing the default time budget.
      */
-    public BlacklistService(BlacklistChecker checker) {
+    public BlacklistService(BlacklistChecker checker,
+            @Qualifier("blacklistBatchExecutor") ExecutorService batchExecutor,
+            @Qualifier("blacklistStreamExecutor") ExecutorService streamExecutor,
+            VerdictCache verdictCache, InFlightChecks inFlightChecks, ThreadAutoTuner tuner,
+            BatchProperties batchProperties, Policies policies) {
         this.checker = checker;
+        this.batchExecutor = batchExecutor;
+        this.streamExecutor = streamExecutor;
+        this.verdictCache = verdictCache;
+        this.inFlightChecks = inFlightChecks;
+        this.tuner = tuner;
+        this.batchProperties = batchProperties;
+        this.policies = policies;
     }
 
     /**
      * Performs a blacklist check for the specified IP address.
+     * A cached verdict is returned unchanged while it is valid, including the timing
+     * and thread count of the check that produced it. On a miss, concurrent callers for
+     * the same IP share a single scan.
      *
      * @param ip      The IP address to check against blacklists.
-     * @param threads The number of threads to use for parallel processing.
+     * @param threads The number of threads to use for parallel processing, or 0 to let the tuner choose.
      * @return MatchResult containing the check results and performance metrics.
      */
     public MatchResult check(String ip, int threads) {
-        return checker.checkHost(ip, threads);
+        return check(ip, threads, null);
+    }
+
+    /**
+     * Performs a blacklist check for the specified IP address within a time budget.
+     * A check cut short by the deadline returns a partial result, which is not cached.
+     * Callers that join a scan already in flight still wait no longer than their own budget.
+     *
+     * @param ip      The IP address to check against blacklists.
+     * @param threads The number of threads to use for parallel processing, or 0 to let the tuner choose.
+     * @param timeout The time budget, {@link Duration#ZERO} for none, or null for the configured default.
+     * @return MatchResult containing the check results and performance metrics.
+     */
+    public MatchResult check(String ip, int threads, Duration timeout) {
+        Duration budget = timeout != null ? timeout : policies.getTimeout();
+        return verdictCache.get(ip, key -> inFlightChecks.run(key, budget,
+                remaining -> scan(key, threads, ScanListener.NONE, new ScanControl(remaining))));
+    }
+
+    /**
+     * Starts a blacklist check in the background, notifying the listener as the scan progresses.
+     * The check bypasses the verdict cache and in-flight coalescing, since the listener must
+     * observe a live scan, and runs on the streaming executor.
+     *
+     * @param ip       The IP address to check against blacklists.
+     * @param threads  The number of threads to use for parallel processing, or 0 to let the tuner choose.
+     * @param listener The listener notified of the scan start and of each match.
+     * @param control  The deadline of the check and the flag that cancels it.
+     * @return A future completed with the result of the check.
+     * @throws RejectedExecutionException If the streaming executor is saturated.
+     */
+    public CompletableFuture<MatchResult> checkAsync(String ip, int threads, ScanListener listener,
+            ScanControl control) {
+        return CompletableFuture.supplyAsync(() -> scan(ip, threads, listener, control), streamExecutor);
+    }
+
+    /**
+     * Performs blacklist checks for several IP addresses in parallel.
+     * Duplicate addresses are evaluated only once. With {@link BatchProperties#isServerMajor()},
+     * a batch checked without a time budget against a source with a server-major index has its
+     * uncached addresses resolved together in one pass over that index instead. Other sources,
+     * or batches with a deadline, keep the parallel checks, since the pass would query server
+     * after server on the calling thread and cannot be cut short.
+     *
+     * @param ips     The IP addresses to check against blacklists.
+     * @param threads The number of threads to use for each check, or 0 to let the tuner choose.
+     * @param timeout The time budget of each check, {@link Duration#ZERO} for none, or null for the default.
+     * @return One MatchResult per distinct IP address, in order of first appearance.
+     */
+    public List<MatchResult> checkAll(Collection<String> ips, int threads, Duration timeout) {
+        Duration budget = timeout != null ? timeout : policies.getTimeout();
+        if (batchProperties.isServerMajor() && checker.supportsServerMajor() && budget.isZero()) {
+            return verdictCache.getAll(List.copyOf(new LinkedHashSet<>(ips)), checker::checkHosts);
+        }
+
+        List<CompletableFuture<MatchResult>> futures = new ArrayList<>(ips.size());
+        for (String ip : new LinkedHashSet<>(ips)) {
+            futures.add(CompletableFuture.supplyAsync(() -> check(ip, threads, timeout), batchExecutor));
+        }
+
+        List<MatchResult> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<MatchResult> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Runs one check on the domain checker. When 0 threads are requested the tuner picks
+     * the thread count and learns from the rate of checks that scanned to a verdict; checks
+     * answered by the index or the negative filter, and partial ones, are not recorded.
+     *
+     * @param ip       The IP address to check.
+     * @param threads  The requested thread count, or 0 to let the tuner choose.
+     * @param listener The listener notified of the scan start and of each match.
+     * @param control  The deadline of the check and the flag that cancels it.
+     * @return The result of the check.
+     */
+    private MatchResult scan(String ip, int threads, ScanListener listener, ScanControl control) {
+        if (threads > 0) {
+            return checker.checkHost(ip, threads, listener, control);
+        }
+        int tuned = tuner.threads();
+        long start = System.nanoTime();
+        MatchResult result = checker.checkHost(ip, tuned, listener, control);
+        if (result.lookup() == MatchResult.Lookup.SCAN && !result.partial()) {
+            tuner.record(tuned, result.checkedServers(), System.nanoTime() - start);
+        }
+        return result;
     }
 }
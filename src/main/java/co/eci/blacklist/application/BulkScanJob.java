@@ -0,0 +1,494 @@
+package co.eci.blacklist.application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.ScanControl;
+import co.eci.blacklist.domain.ScanListener;
+import co.eci.blacklist.domain.ServerIndexList;
+import co.eci.blacklist.infrastructure.IpAddresses;
+import co.eci.blacklist.infrastructure.ScanExecutors;
+import org.springframework.stereotype.Service;
+
+/**
+ * Offline bulk scan: checks every IP address of a file, one per line, and writes a verdict per
+ * address to a CSV or NDJSON report. Blank lines and lines starting with {@code #} are skipped,
+ * and lines that are not an IPv4 or IPv6 address are counted as rejected.
+ *
+ * <p>The file is read in chunks of lines, which worker threads check in parallel, one scan per
+ * address or one server-major pass per chunk when {@link BatchProperties#isServerMajor()} applies
+ * as for batch requests. Checks bypass the verdict cache and have no time budget. At most two
+ * chunks per worker are in flight, so memory stays bounded whatever the size of the file, and
+ * reports are written in input order as the chunks complete.
+ *
+ * <p>Every progress interval the report is forced to disk and a checkpoint recording the lines
+ * reported and the report length is written next to it ({@code <output>.checkpoint}). A resumed
+ * run truncates the report to that length, skips those lines and appends from there, so a crash
+ * costs at most one interval of work.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Service
+public class BulkScanJob {
+
+    private static final Logger logger = Logger.getLogger(BulkScanJob.class.getName());
+
+    private static final String CSV_HEADER = "ip,trustworthy,matches,checked_servers,total_servers,data_epoch\n";
+
+    /**
+     * Snapshot of a running scan. Counts include the lines reported by the run being resumed.
+     *
+     * @param lines The input lines reported so far, skipped ones included.
+     * @param checked The addresses checked so far.
+     * @param listed The addresses found not trustworthy so far.
+     * @param rejected The lines that were not IP addresses.
+     * @param bytesRead The bytes of the input reported so far.
+     * @param totalBytes The size of the input.
+     * @param ipsPerSecond The rate of this run, in addresses checked per second.
+     * @param eta The estimated time left, or null until this run has reported any line.
+     */
+    public record Progress(long lines, long checked, long listed, long rejected, long bytesRead, long totalBytes,
+            double ipsPerSecond, Duration eta) {
+    }
+
+    /**
+     * Outcome of a scan. Counts cover the whole input, resumed lines included.
+     *
+     * @param lines The input lines read.
+     * @param checked The addresses checked.
+     * @param listed The addresses found not trustworthy.
+     * @param rejected The lines that were not IP addresses.
+     * @param resumedLines The lines already reported by an earlier run, 0 if the scan started over.
+     * @param elapsedNanos The duration of this run.
+     * @param ipsPerSecond The rate of this run, in addresses checked per second.
+     */
+    public record Result(long lines, long checked, long listed, long rejected, long resumedLines, long elapsedNanos,
+            double ipsPerSecond) {
+    }
+
+    /** The domain checker evaluating every address */
+    private final BlacklistChecker checker;
+
+    /** The bulk scan configuration */
+    private final BulkScanProperties properties;
+
+    /** The batch configuration, choosing between per-address checks and a server-major pass */
+    private final BatchProperties batchProperties;
+
+    /**
+     * Constructor of the BulkScanJob class.
+     *
+     * @param checker The blacklist checker for domain operations.
+     * @param properties The bulk scan configuration.
+     * @param batchProperties The batch configuration.
+     */
+    public BulkScanJob(BlacklistChecker checker, BulkScanProperties properties, BatchProperties batchProperties) {
+        this.checker = checker;
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+    }
+
+    /**
+     * Checks every address of the input and writes the report, resuming from the checkpoint
+     * of an interrupted run when {@link BulkScanProperties#isResume()} is set and one exists.
+     *
+     * @param input The file of IP addresses, one per line.
+     * @param output The report file, created or overwritten unless resumed.
+     * @param progressListener Notified every progress interval and once at the end.
+     * @return The outcome of the scan.
+     * @throws IOException If a file cannot be read or written; the checkpoint keeps the work
+     *         reported so far.
+     * @throws IllegalStateException If the checkpoint to resume from belongs to another input or format.
+     */
+    public Result run(Path input, Path output, Consumer<Progress> progressListener) throws IOException {
+        long start = System.nanoTime();
+        long totalBytes = Files.size(input);
+        Checkpoint checkpoint = Checkpoint.of(input, totalBytes, properties.getFormat());
+        Path checkpointFile = checkpointFile(output);
+        boolean resumed = properties.isResume() && Files.exists(checkpointFile);
+        if (resumed) {
+            checkpoint.resumeFrom(checkpointFile, output);
+        } else {
+            Files.deleteIfExists(checkpointFile);
+        }
+        long resumedLines = checkpoint.lines;
+        long resumedChecked = checkpoint.checked;
+        long resumedBytes = checkpoint.bytesRead;
+
+        int parallelism = properties.getEffectiveParallelism();
+        int chunkSize = properties.getChunkSize();
+        long intervalNanos = properties.getProgressInterval().toNanos();
+        ExecutorService workers = ScanExecutors.newPlatformPool("blacklist-bulk-scan-", parallelism, parallelism * 2);
+        Deque<Future<Verdicts>> pending = new ArrayDeque<>();
+
+        try (LineReader in = new LineReader(Files.newInputStream(input));
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Progress progress = null;
+            try {
+                out.truncate(checkpoint.outputBytes);
+                out.position(checkpoint.outputBytes);
+                if (!resumed && properties.getFormat() == BulkScanProperties.Format.CSV) {
+                    checkpoint.outputBytes += write(out, CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+                }
+
+                // Skip the lines an earlier run reported
+                long line = 0;
+                String text = null;
+                while (line < checkpoint.lines && (text = in.readLine()) != null) {
+                    line++;
+                }
+
+                long lastProgress = System.nanoTime();
+                List<String> chunk = new ArrayList<>(chunkSize);
+                while ((text = in.readLine()) != null) {
+                    line++;
+                    chunk.add(text);
+                    if (chunk.size() < chunkSize) {
+                        continue;
+                    }
+                    List<String> lines = chunk;
+                    long endLine = line;
+                    long endBytes = in.bytesRead();
+                    pending.add(workers.submit(() -> evaluate(lines, endLine, endBytes)));
+                    chunk = new ArrayList<>(chunkSize);
+
+                    while (pending.size() >= parallelism * 2 || !pending.isEmpty() && pending.peek().isDone()) {
+                        checkpoint.append(out, await(pending.remove()));
+                    }
+                    long now = System.nanoTime();
+                    if (now - lastProgress >= intervalNanos) {
+                        lastProgress = now;
+                        progress = checkpoint.save(out, checkpointFile, now - start, resumedChecked, resumedBytes);
+                        progressListener.accept(progress);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    List<String> lines = chunk;
+                    long endLine = line;
+                    pending.add(workers.submit(() -> evaluate(lines, endLine, totalBytes)));
+                }
+                while (!pending.isEmpty()) {
+                    checkpoint.append(out, await(pending.remove()));
+                }
+                checkpoint.bytesRead = totalBytes;
+                progress = checkpoint.save(out, checkpointFile, System.nanoTime() - start, resumedChecked, resumedBytes);
+                progressListener.accept(progress);
+            } catch (IOException | RuntimeException e) {
+                // Keep the chunks already written for the next run
+                if (out.isOpen()) {
+                    try {
+                        checkpoint.save(out, checkpointFile, System.nanoTime() - start, resumedChecked, resumedBytes);
+                    } catch (IOException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                }
+                throw e;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            Result result = new Result(checkpoint.lines, checkpoint.checked, checkpoint.listed, checkpoint.rejected,
+                    resumedLines, elapsed, progress.ipsPerSecond());
+            logger.log(Level.INFO, "Bulk scan of {0} written to {1}: {2} addresses ({3} listed, {4} rejected) at {5} IPs/s",
+                    new Object[]{input, output, result.checked(), result.listed(), result.rejected(),
+                            Math.round(result.ipsPerSecond())});
+            return result;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the checkpoint file of a report.
+     *
+     * @param output The report file.
+     * @return The file next to it recording how far the report got.
+     */
+    public static Path checkpointFile(Path output) {
+        return output.resolveSibling(output.getFileName() + ".checkpoint");
+    }
+
+    /**
+     * Checks the addresses of a chunk and formats their report lines.
+     */
+    private Verdicts evaluate(List<String> lines, long endLine, long endBytes) {
+        List<String> texts = new ArrayList<>(lines.size());
+        List<String> ips = new ArrayList<>(lines.size());
+        int rejected = 0;
+        for (String line : lines) {
+            String text = line.strip();
+            if (text.isEmpty() || text.charAt(0) == '#') {
+                continue;
+            }
+            String ip = IpAddresses.canonical(text);
+            if (ip == null) {
+                rejected++;
+                continue;
+            }
+            texts.add(text);
+            ips.add(ip);
+        }
+
+        List<MatchResult> results;
+        if (batchProperties.isServerMajor() && checker.supportsServerMajor()) {
+            results = checker.checkHosts(ips);
+        } else {
+            results = new ArrayList<>(ips.size());
+            for (String ip : ips) {
+                results.add(checker.checkHost(ip, 1, ScanListener.NONE, new ScanControl(Duration.ZERO)));
+            }
+        }
+
+        StringBuilder report = new StringBuilder(results.size() * 64);
+        int listed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            MatchResult result = results.get(i);
+            if (!result.trustworthy()) {
+                listed++;
+            }
+            format(report, texts.get(i), result);
+        }
+        return new Verdicts(report.toString().getBytes(StandardCharsets.US_ASCII), results.size(), listed, rejected,
+                endLine, endBytes);
+    }
+
+    /**
+     * Appends the report line of one address, with the address as it appears in the input.
+     */
+    private void format(StringBuilder report, String ip, MatchResult result) {
+        ServerIndexList matches = result.matchIndices();
+        if (properties.getFormat() == BulkScanProperties.Format.CSV) {
+            report.append(ip).append(',').append(result.trustworthy()).append(',');
+            for (int i = 0; i < matches.size(); i++) {
+                report.append(i == 0 ? "" : " ").append(matches.getInt(i));
+            }
+            report.append(',').append(result.checkedServers())
+                    .append(',').append(result.totalServers())
+                    .append(',').append(result.epoch()).append('\n');
+            return;
+        }
+        report.append("{\"ip\":\"").append(ip)
+                .append("\",\"trustworthy\":").append(result.trustworthy())
+                .append(",\"matches\":[");
+        for (int i = 0; i < matches.size(); i++) {
+            report.append(i == 0 ? "" : ",").append(matches.getInt(i));
+        }
+        report.append("],\"checkedServers\":").append(result.checkedServers())
+                .append(",\"totalServers\":").append(result.totalServers())
+                .append(",\"dataEpoch\":").append(result.epoch()).append("}\n");
+    }
+
+    private static Verdicts await(Future<Verdicts> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during the bulk scan", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Bulk scan chunk failed", e.getCause());
+        }
+    }
+
+    private static int write(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return bytes.length;
+    }
+
+    /**
+     * The report lines of a chunk, with the input position it ends at.
+     */
+    private record Verdicts(byte[] report, int checked, int listed, int rejected, long endLine, long endBytes) {
+    }
+
+    /**
+     * How far the report got: the input lines reported, the report length they produced and the
+     * running counts. Only the reading thread touches it.
+     */
+    private static final class Checkpoint {
+
+        private final Path input;
+        private final long inputBytes;
+        private final BulkScanProperties.Format format;
+        private long lines;
+        private long bytesRead;
+        private long outputBytes;
+        private long checked;
+        private long listed;
+        private long rejected;
+
+        private Checkpoint(Path input, long inputBytes, BulkScanProperties.Format format) {
+            this.input = input;
+            this.inputBytes = inputBytes;
+            this.format = format;
+        }
+
+        static Checkpoint of(Path input, long inputBytes, BulkScanProperties.Format format) {
+            return new Checkpoint(input.toAbsolutePath().normalize(), inputBytes, format);
+        }
+
+        /**
+         * Loads the position of an earlier run over the same input and format.
+         */
+        void resumeFrom(Path file, Path output) throws IOException {
+            Properties saved = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                saved.load(in);
+            }
+            if (!input.toString().equals(saved.getProperty("input"))
+                    || inputBytes != Long.parseLong(saved.getProperty("inputBytes", "-1"))
+                    || !format.name().equals(saved.getProperty("format"))) {
+                throw new IllegalStateException("Checkpoint " + file + " was written for another input or format;"
+                        + " delete it or disable resume");
+            }
+            lines = Long.parseLong(saved.getProperty("lines"));
+            bytesRead = Long.parseLong(saved.getProperty("bytesRead"));
+            outputBytes = Long.parseLong(saved.getProperty("outputBytes"));
+            checked = Long.parseLong(saved.getProperty("checked"));
+            listed = Long.parseLong(saved.getProperty("listed"));
+            rejected = Long.parseLong(saved.getProperty("rejected"));
+            if (!Files.exists(output) || Files.size(output) < outputBytes) {
+                throw new IllegalStateException("Report " + output + " is shorter than its checkpoint " + file);
+            }
+        }
+
+        /**
+         * Writes the report lines of the next chunk in input order and advances past it.
+         */
+        void append(FileChannel out, Verdicts chunk) throws IOException {
+            outputBytes += write(out, chunk.report());
+            lines = chunk.endLine();
+            bytesRead = chunk.endBytes();
+            checked += chunk.checked();
+            listed += chunk.listed();
+            rejected += chunk.rejected();
+        }
+
+        /**
+         * Forces the report to disk, then atomically replaces the checkpoint file, so the
+         * checkpoint never points past data that was lost.
+         */
+        Progress save(FileChannel out, Path file, long elapsedNanos, long resumedChecked, long resumedBytes)
+                throws IOException {
+            out.force(false);
+            Properties state = new Properties();
+            state.setProperty("input", input.toString());
+            state.setProperty("inputBytes", Long.toString(inputBytes));
+            state.setProperty("format", format.name());
+            state.setProperty("lines", Long.toString(lines));
+            state.setProperty("bytesRead", Long.toString(bytesRead));
+            state.setProperty("outputBytes", Long.toString(outputBytes));
+            state.setProperty("checked", Long.toString(checked));
+            state.setProperty("listed", Long.toString(listed));
+            state.setProperty("rejected", Long.toString(rejected));
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temporary)) {
+                state.store(stream, "Bulk scan checkpoint");
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            double seconds = elapsedNanos / 1e9;
+            long bytesThisRun = bytesRead - resumedBytes;
+            Duration eta = bytesThisRun <= 0 ? null
+                    : Duration.ofNanos((long) ((double) (inputBytes - bytesRead) / bytesThisRun * elapsedNanos));
+            return new Progress(lines, checked, listed, rejected, bytesRead, inputBytes,
+                    seconds == 0 ? 0.0 : (checked - resumedChecked) / seconds, eta);
+        }
+    }
+
+    /**
+     * Reads the input line by line like {@link java.io.BufferedReader#readLine()}, decoding bytes as
+     * ISO-8859-1 so that any byte decodes, and counts the bytes consumed with their terminators,
+     * so the position is exact whether lines end with LF, CRLF or CR.
+     */
+    private static final class LineReader implements Closeable {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[64 << 10];
+        private byte[] line = new byte[64];
+        private int position;
+        private int limit;
+        private long bytesRead;
+
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Returns the next line without its terminator, or null at the end of the input.
+         */
+        String readLine() throws IOException {
+            int length = 0;
+            while (position < limit || fill()) {
+                byte c = buffer[position++];
+                bytesRead++;
+                if (c == '\n') {
+                    return new String(line, 0, length, StandardCharsets.ISO_8859_1);
+                }
+                if (c == '\r') {
+                    if ((position < limit || fill()) && buffer[position] == '\n') {
+                        position++;
+                        bytesRead++;
+                    }
+                    return new String(line, 0, length, StandardCharsets.ISO_8859_1);
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = c;
+            }
+            return length == 0 ? null : new String(line, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * Returns the bytes of the lines returned so far, terminators included.
+         */
+        long bytesRead() {
+            return bytesRead;
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buffer);
+            if (n <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package co.eci.blacklist.application;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the offline bulk scan, which checks every IP address of a file and writes
+ * the verdicts to a report instead of serving requests.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.bulk-scan")
+public class BulkScanProperties {
+
+    /**
+     * Format of the verdict report.
+     */
+    public enum Format {
+        /** One {@code ip,trustworthy,matches,checked_servers,total_servers,data_epoch} row per address, after a header. */
+        CSV,
+        /** One JSON object per line, with the fields of a check response. */
+        NDJSON
+    }
+
+    /** File of IP addresses to check, one per line; null disables the bulk scan. */
+    private Path input;
+
+    /** File the verdicts are written to. */
+    private Path output;
+
+    /** Format of the verdict report. Default value is CSV. */
+    private Format format = Format.CSV;
+
+    /** Feed of {@code ip,serverIndex} lines imported before the scan; null checks the data as loaded. */
+    private Path feed;
+
+    /** Number of chunks of addresses checked concurrently; 0 means one per available processor. */
+    private int parallelism = 0;
+
+    /** Number of input lines per chunk. Default value is 1024. */
+    private int chunkSize = 1_024;
+
+    /** Whether a scan continues from the checkpoint of an earlier, interrupted run. Default value is false. */
+    private boolean resume = false;
+
+    /** Interval between progress reports and checkpoints. Default value is 10 seconds. */
+    private Duration progressInterval = Duration.ofSeconds(10);
+
+    /**
+     * Returns the file of IP addresses to check.
+     *
+     * @return The input file, or null if the bulk scan is disabled.
+     */
+    public Path getInput() {
+        return input;
+    }
+
+    /**
+     * Sets the file of IP addresses to check.
+     *
+     * @param input The input file, or null to disable the bulk scan.
+     */
+    public void setInput(Path input) {
+        this.input = input;
+    }
+
+    /**
+     * Returns the file the verdicts are written to.
+     *
+     * @return The output file.
+     */
+    public Path getOutput() {
+        return output;
+    }
+
+    /**
+     * Sets the file the verdicts are written to.
+     *
+     * @param output The output file.
+     */
+    public void setOutput(Path output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the format of the verdict report.
+     *
+     * @return The report format.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the format of the verdict report.
+     *
+     * @param format The report format.
+     */
+    public void setFormat(Format format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null");
+        }
+        this.format = format;
+    }
+
+    /**
+     * Returns the feed imported before the scan.
+     *
+     * @return The feed file, or null to check the data as loaded.
+     */
+    public Path getFeed() {
+        return feed;
+    }
+
+    /**
+     * Sets the feed imported before the scan.
+     *
+     * @param feed The feed file, or null to check the data as loaded.
+     */
+    public void setFeed(Path feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * Returns the configured parallelism.
+     *
+     * @return The number of concurrent chunks, or 0 for automatic sizing.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the parallelism.
+     *
+     * @param parallelism The number of concurrent chunks, or 0 for automatic sizing.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism cannot be negative");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of input lines per chunk.
+     *
+     * @return The chunk size.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of input lines per chunk.
+     *
+     * @param chunkSize The chunk size.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Indicates whether a scan continues from the checkpoint of an interrupted run.
+     *
+     * @return True to resume, false to start over.
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * Sets whether a scan continues from the checkpoint of an interrupted run.
+     *
+     * @param resume True to resume, false to start over.
+     */
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * Returns the interval between progress reports and checkpoints.
+     *
+     * @return The progress interval.
+     */
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * Sets the interval between progress reports and checkpoints.
+     *
+     * @param progressInterval The progress interval.
+     */
+    public void setProgressInterval(Duration progressInterval) {
+        if (progressInterval == null || progressInterval.isNegative() || progressInterval.isZero()) {
+            throw new IllegalArgumentException("Progress interval must be positive");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Returns the parallelism actually used, resolving 0 to the available processors.
+     *
+     * @return The effective number of concurrent chunks.
+     */
+    public int getEffectiveParallelism() {
+        return parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,167 @@
+package co.eci.blacklist.application;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.infrastructure.BlacklistSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent checks of the same IP address into a single running scan.
+ * The first caller runs the scan on its own thread; callers that arrive while it is
+ * running wait for it and receive the same result (or exception). Each caller keeps its
+ * own deadline while it waits. This works with or without the verdict cache, which only
+ * helps callers that arrive after a scan ended.
+ *
+ * <p>When the source's data for an IP changes, a scan already running for it is detached,
+ * so later callers start a fresh scan instead of joining one computed on the old data.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Component
+public class InFlightChecks {
+
+    private final ConcurrentMap<String, CompletableFuture<MatchResult>> inFlight = new ConcurrentHashMap<>();
+    private final BlacklistSource source;
+    private final Consumer<String> changeListener = ip -> {
+        if (ip == null) {
+            inFlight.clear();
+        } else {
+            inFlight.remove(ip);
+        }
+    };
+    private final Counter scans;
+    private final Counter coalesced;
+
+    /**
+     * Constructor of the InFlightChecks class.
+     *
+     * @param source The data source whose changes detach running scans.
+     * @param registry The registry where the coalescing metrics are published.
+     */
+    public InFlightChecks(BlacklistSource source, MeterRegistry registry) {
+        this.source = source;
+        this.scans = Counter.builder("blacklist.check.scans")
+                .description("Scans started by a caller that found no scan in flight for its IP")
+                .register(registry);
+        this.coalesced = Counter.builder("blacklist.check.coalesced")
+                .description("Callers that joined a scan already in flight for the same IP")
+                .register(registry);
+        Gauge.builder("blacklist.check.inflight", inFlight, ConcurrentMap::size)
+                .description("IP addresses with a scan currently in flight")
+                .register(registry);
+        source.addChangeListener(changeListener);
+    }
+
+    /**
+     * Runs the scan for the IP address, or joins the one already running for it. A caller
+     * that joins waits no longer than its own budget and then returns a partial result of
+     * its own; if the scan it joined was cut short while this caller still has budget, it
+     * scans again instead of taking over another request's partial verdict.
+     *
+     * @param ip The IP address to check.
+     * @param budget The time budget of this caller, or {@link Duration#ZERO} for none.
+     * @param scan The scan to run if none is in flight, given the budget left to this caller.
+     * @return The result of the scan that this caller ran or joined.
+     */
+    public MatchResult run(String ip, Duration budget, Function<Duration, MatchResult> scan) {
+        long start = System.nanoTime();
+        boolean bounded = !budget.isZero();
+        long budgetNanos = budget.toNanos();
+        while (true) {
+            long remaining = budgetNanos - (System.nanoTime() - start);
+            if (bounded && remaining <= 0) {
+                return timedOut(ip, start);
+            }
+
+            CompletableFuture<MatchResult> mine = new CompletableFuture<>();
+            CompletableFuture<MatchResult> running = inFlight.putIfAbsent(ip, mine);
+            if (running == null) {
+                return lead(ip, mine, () -> scan.apply(bounded ? Duration.ofNanos(remaining) : Duration.ZERO));
+            }
+
+            coalesced.increment();
+            MatchResult result;
+            try {
+                result = bounded ? running.get(remaining, TimeUnit.NANOSECONDS) : running.get();
+            } catch (TimeoutException e) {
+                return timedOut(ip, start);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Thread was interrupted while waiting for a blacklist check", e);
+            }
+            if (!result.partial()) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Runs the scan as the leader for the IP address. The scan leaves the registry before
+     * its result is published, so callers it wakes up with a partial result start a new one.
+     *
+     * @param ip The IP address to check.
+     * @param mine The future registered for the IP address.
+     * @param scan The scan to run.
+     * @return The result of the scan.
+     */
+    private MatchResult lead(String ip, CompletableFuture<MatchResult> mine, Supplier<MatchResult> scan) {
+        scans.increment();
+        MatchResult result;
+        try {
+            result = scan.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(ip, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(ip, mine);
+        mine.complete(result);
+        return result;
+    }
+
+    /**
+     * Builds the partial result of a caller whose budget ran out while it waited for a scan
+     * it joined. The caller checked no server itself.
+     *
+     * @param ip The IP address checked.
+     * @param start The timestamp from {@link System#nanoTime()} when the caller arrived.
+     * @return A partial, trustworthy result with no server checked.
+     */
+    private MatchResult timedOut(String ip, long start) {
+        return new MatchResult(ip, true, List.of(), 0, source.getRegisteredServersCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1, true, source.epoch());
+    }
+
+    /**
+     * Stops listening to data changes when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        source.removeChangeListener(changeListener);
+    }
+}
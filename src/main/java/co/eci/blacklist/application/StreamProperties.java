@@ -0,0 +1,111 @@
+package co.eci.blacklist.application;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of streaming blacklist checks.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.stream")
+public class StreamProperties {
+
+    /** Interval between progress events. Default value is 100 milliseconds. */
+    private Duration progressInterval = Duration.ofMillis(100);
+
+    /** Maximum time a stream stays open. Default value is 30 seconds. */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /** Number of streamed scans running at once. Default value is 16. */
+    private int maxConcurrent = 16;
+
+    /** Number of streamed scans waiting for a thread; beyond it new streams are refused. Default value is 16. */
+    private int queueCapacity = 16;
+
+    /**
+     * Returns the interval between progress events.
+     *
+     * @return The progress interval.
+     */
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * Sets the interval between progress events.
+     *
+     * @param progressInterval The progress interval.
+     */
+    public void setProgressInterval(Duration progressInterval) {
+        if (progressInterval == null || progressInterval.isNegative() || progressInterval.isZero()) {
+            throw new IllegalArgumentException("Progress interval must be positive");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Returns the maximum time a stream stays open.
+     *
+     * @return The stream timeout.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the maximum time a stream stays open.
+     *
+     * @param timeout The stream timeout.
+     */
+    public void setTimeout(Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Stream timeout must be positive");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the number of streamed scans running at once.
+     *
+     * @return The size of the streaming pool.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Sets the number of streamed scans running at once.
+     *
+     * @param maxConcurrent The size of the streaming pool.
+     */
+    public void setMaxConcurrent(int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Max concurrent streams must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Returns the number of streamed scans that may wait for a thread.
+     *
+     * @return The capacity of the streaming queue.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the number of streamed scans that may wait for a thread.
+     *
+     * @param queueCapacity The capacity of the streaming queue, 0 to refuse any stream beyond the pool size.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("Stream queue capacity cannot be negative");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,128 @@
+package co.eci.blacklist.application;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chooses the thread count of checks that request 0 threads by hill-climbing on the
+ * observed scan rate (servers checked per second of wall time). Each window of scans is
+ * run at one thread count; if its rate beat the previous window the tuner keeps moving in
+ * the same direction, otherwise it turns back. It never stops exploring, so it follows
+ * changes in load and in the latency of the blacklist source.
+ *
+ * <p>The rate is normalized by the servers checked, so early-stopped and full scans
+ * can share a window.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Component
+public class ThreadAutoTuner {
+
+    private final boolean enabled;
+    private final int minThreads;
+    private final int maxThreads;
+    private final int window;
+    private final double step;
+    private final AtomicInteger threads;
+    private final Counter adjustments;
+
+    private int direction = 1;
+    private double previousRate = Double.NaN;
+    private volatile double lastRate = Double.NaN;
+    private int samples;
+    private long checkedInWindow;
+    private long nanosInWindow;
+
+    /**
+     * Constructor of the ThreadAutoTuner class.
+     *
+     * @param properties The tuning configuration.
+     * @param registry The registry where the tuning metrics are published.
+     */
+    public ThreadAutoTuner(ThreadTuningProperties properties, MeterRegistry registry) {
+        if (properties.getMinThreads() > properties.getMaxThreads()) {
+            throw new IllegalArgumentException("Minimum threads cannot exceed maximum threads");
+        }
+        this.enabled = properties.isEnabled();
+        this.minThreads = properties.getMinThreads();
+        this.maxThreads = properties.getMaxThreads();
+        this.window = properties.getWindow();
+        this.step = properties.getStep();
+        this.threads = new AtomicInteger(clamp(Runtime.getRuntime().availableProcessors()));
+        this.adjustments = Counter.builder("blacklist.tuning.adjustments")
+                .description("Changes of the auto-tuned thread count")
+                .register(registry);
+        Gauge.builder("blacklist.tuning.threads", this, ThreadAutoTuner::threads)
+                .description("Thread count used by checks that request 0 threads")
+                .register(registry);
+        Gauge.builder("blacklist.tuning.rate", this, tuner -> tuner.lastRate)
+                .description("Servers checked per second in the last completed tuning window")
+                .register(registry);
+    }
+
+    /**
+     * Returns the thread count for a check that requested 0 threads.
+     *
+     * @return The tuned thread count, or the available processors when tuning is disabled.
+     */
+    public int threads() {
+        return enabled ? threads.get() : Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Records a finished scan. Scans run with a thread count other than the current one,
+     * for instance started just before the last move, are ignored.
+     *
+     * @param usedThreads The thread count the scan ran with.
+     * @param checkedServers The servers the scan checked.
+     * @param elapsedNanos The wall time of the scan in nanoseconds.
+     */
+    public synchronized void record(int usedThreads, int checkedServers, long elapsedNanos) {
+        if (!enabled || usedThreads != threads.get() || checkedServers <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        checkedInWindow += checkedServers;
+        nanosInWindow += elapsedNanos;
+        if (++samples < window) {
+            return;
+        }
+
+        double rate = checkedInWindow * 1e9 / nanosInWindow;
+        if (!Double.isNaN(previousRate) && rate < previousRate) {
+            direction = -direction;
+        }
+        previousRate = rate;
+        lastRate = rate;
+        samples = 0;
+        checkedInWindow = 0;
+        nanosInWindow = 0;
+
+        int current = threads.get();
+        int next = next(current, direction);
+        if (next == current) {
+            // At a bound: explore the other side instead of standing still
+            direction = -direction;
+            next = next(current, direction);
+        }
+        if (next != current) {
+            threads.set(next);
+            adjustments.increment();
+        }
+    }
+
+    private int next(int current, int towards) {
+        long candidate = towards > 0
+                ? Math.max(current + 1L, Math.round(current * step))
+                : Math.min(current - 1L, Math.round(current / step));
+        return clamp(candidate);
+    }
+
+    private int clamp(long candidate) {
+        return (int) Math.max(minThreads, Math.min(maxThreads, candidate));
+    }
+}
@@ -0,0 +1,130 @@
+package co.eci.blacklist.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the thread-count auto-tuner used when a check requests 0 threads.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.tuning")
+public class ThreadTuningProperties {
+
+    /** Whether 0 threads is tuned from observed scans; false uses the available processors. */
+    private boolean enabled = false;
+
+    /** Lowest thread count the tuner may choose. Default value is 1. */
+    private int minThreads = 1;
+
+    /** Highest thread count the tuner may choose. Default value is 256. */
+    private int maxThreads = 256;
+
+    /** Number of scans observed at a thread count before moving. Default value is 20. */
+    private int window = 20;
+
+    /** Multiplicative step between consecutive thread counts. Default value is 1.5. */
+    private double step = 1.5;
+
+    /**
+     * Indicates whether the auto-tuner is enabled.
+     *
+     * @return True if 0 threads is tuned from observed scans.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the auto-tuner.
+     *
+     * @param enabled True to tune 0 threads from observed scans.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the lowest thread count the tuner may choose.
+     *
+     * @return The minimum thread count.
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the lowest thread count the tuner may choose.
+     *
+     * @param minThreads The minimum thread count, at least 1.
+     */
+    public void setMinThreads(int minThreads) {
+        if (minThreads < 1) {
+            throw new IllegalArgumentException("Minimum threads must be at least 1");
+        }
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Returns the highest thread count the tuner may choose.
+     *
+     * @return The maximum thread count.
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the highest thread count the tuner may choose.
+     *
+     * @param maxThreads The maximum thread count, at least 1.
+     */
+    public void setMaxThreads(int maxThreads) {
+        if (maxThreads < 1 || maxThreads > 10_000) {
+            throw new IllegalArgumentException("Maximum threads must be between 1 and 10000");
+        }
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Returns the number of scans observed at a thread count before moving.
+     *
+     * @return The window size.
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets the number of scans observed at a thread count before moving.
+     *
+     * @param window The window size, at least 1.
+     */
+    public void setWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Tuning window must be at least 1");
+        }
+        this.window = window;
+    }
+
+    /**
+     * Returns the multiplicative step between consecutive thread counts.
+     *
+     * @return The step factor.
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /**
+     * Sets the multiplicative step between consecutive thread counts.
+     *
+     * @param step The step factor, greater than 1.
+     */
+    public void setStep(double step) {
+        if (step <= 1.0) {
+            throw new IllegalArgumentException("Tuning step must be greater than 1");
+        }
+        this.step = step;
+    }
+}
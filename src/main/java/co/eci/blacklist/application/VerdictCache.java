@@ -0,0 +1,185 @@
+package co.eci.blacklist.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.BlacklistSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of recent verdicts, keyed by IP address and alarm threshold.
+ * Entries expire after a fixed TTL and, when the cache is full, are evicted with
+ * Caffeine's frequency-aware W-TinyLFU policy, so hot IPs survive bursts of one-off lookups.
+ * Entries are invalidated as soon as the source's data for their IP changes.
+ * Hit, miss and eviction counters are published as {@code cache.*} meters tagged
+ * {@code cache=blacklist.verdicts}.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@Component
+public class VerdictCache {
+
+    /** Name under which the cache metrics are published */
+    static final String CACHE_NAME = "blacklist.verdicts";
+
+    private final boolean enabled;
+    private final Policies policies;
+    private final BlacklistSource source;
+    private final Cache<String, Entry> cache;
+    private final Consumer<String> changeListener = ip -> {
+        if (ip == null) {
+            invalidateAll();
+        } else {
+            invalidate(ip);
+        }
+    };
+
+    /** Incremented on every data change, so a result computed across a change is not cached */
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    /**
+     * Constructor of the VerdictCache class.
+     *
+     * @param properties The cache configuration.
+     * @param policies The policies providing the current alarm threshold.
+     * @param source The data source whose changes invalidate entries.
+     * @param registry The registry where the cache metrics are published.
+     */
+    public VerdictCache(VerdictCacheProperties properties, Policies policies,
+            BlacklistSource source, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.policies = policies;
+        this.source = source;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        source.addChangeListener(changeListener);
+    }
+
+    /**
+     * Returns the cached verdict for the IP address, computing and caching it on a miss.
+     * The computation runs outside the cache, so a slow scan never blocks other keys.
+     *
+     * @param ip The IP address to check.
+     * @param compute The function that computes the verdict on a miss.
+     * @return The cached or freshly computed result.
+     */
+    public MatchResult get(String ip, Function<String, MatchResult> compute) {
+        if (!enabled) {
+            return compute.apply(ip);
+        }
+        int threshold = policies.getAlarmCount();
+        Entry entry = cache.getIfPresent(ip);
+        if (entry != null && entry.threshold() == threshold) {
+            return entry.result();
+        }
+
+        long version = dataVersion.get();
+        MatchResult result = compute.apply(ip);
+        if (result.partial()) {
+            // A scan cut short by its deadline is not a verdict worth reusing
+            return result;
+        }
+        cache.put(ip, new Entry(threshold, result));
+        if (dataVersion.get() != version) {
+            // Data changed while computing; the listener may have run before the put
+            cache.invalidate(ip);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached verdicts of several IP addresses, computing the missing ones together
+     * in a single call and caching them.
+     *
+     * @param ips The distinct IP addresses to check.
+     * @param computeAll The function that computes the verdicts of the addresses it is given, in order.
+     * @return One result per address, in the order given.
+     */
+    public List<MatchResult> getAll(List<String> ips, Function<List<String>, List<MatchResult>> computeAll) {
+        if (!enabled) {
+            return computeAll.apply(ips);
+        }
+        int threshold = policies.getAlarmCount();
+        MatchResult[] results = new MatchResult[ips.size()];
+        List<String> missing = new ArrayList<>();
+        List<Integer> missingAt = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            Entry entry = cache.getIfPresent(ips.get(i));
+            if (entry != null && entry.threshold() == threshold) {
+                results[i] = entry.result();
+            } else {
+                missing.add(ips.get(i));
+                missingAt.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return List.of(results);
+        }
+
+        long version = dataVersion.get();
+        List<MatchResult> computed = computeAll.apply(missing);
+        for (int j = 0; j < computed.size(); j++) {
+            MatchResult result = computed.get(j);
+            results[missingAt.get(j)] = result;
+            if (!result.partial()) {
+                cache.put(missing.get(j), new Entry(threshold, result));
+            }
+        }
+        if (dataVersion.get() != version) {
+            // Data changed while computing; the listener may have run before the puts
+            cache.invalidateAll(missing);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Discards the cached verdict for the IP address.
+     *
+     * @param ip The IP address whose data changed.
+     */
+    public void invalidate(String ip) {
+        dataVersion.incrementAndGet();
+        cache.invalidate(ip);
+    }
+
+    /**
+     * Discards every cached verdict.
+     */
+    public void invalidateAll() {
+        dataVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Stops listening to data changes when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        source.removeChangeListener(changeListener);
+    }
+
+    /**
+     * Cached verdict together with the threshold it was computed for.
+     *
+     * @param threshold The alarm threshold in effect when computed.
+     * @param result The computed result.
+     */
+    private record Entry(int threshold, MatchResult result) {
+    }
+}
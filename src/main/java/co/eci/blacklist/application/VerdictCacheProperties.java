@@ -0,0 +1,84 @@
+package co.eci.blacklist.application;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the verdict cache of the application service.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.cache")
+public class VerdictCacheProperties {
+
+    /** Whether verdicts are cached. Default value is true. */
+    private boolean enabled = true;
+
+    /** Time a verdict stays valid after it was computed. Default value is 60 seconds. */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /** Maximum number of cached verdicts. Default value is 100000. */
+    private long maxEntries = 100_000;
+
+    /**
+     * Indicates whether the cache is enabled.
+     *
+     * @return True if verdicts are cached.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the cache.
+     *
+     * @param enabled True to cache verdicts.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the time-to-live of a verdict.
+     *
+     * @return The time-to-live.
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Sets the time-to-live of a verdict.
+     *
+     * @param ttl The time-to-live.
+     */
+    public void setTtl(Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the maximum number of cached verdicts.
+     *
+     * @return The maximum number of entries.
+     */
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of cached verdicts.
+     *
+     * @param maxEntries The maximum number of entries.
+     */
+    public void setMaxEntries(long maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+}
@@ -1,18 +1,36 @@
 package co.eci.blacklist.domain;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import co.eci.blacklist.domain.MatchResult.Lookup;
+import co.eci.blacklist.infrastructure.CheckMetrics;
+import co.eci.blacklist.infrastructure.BlacklistSource;
+import co.eci.blacklist.infrastructure.ScanExecutors;
 
 /**
  * Blacklist checker with multi-thread processing.
+ * Segments are submitted to a shared executor, so workers are reused across requests
+ * instead of creating and joining new threads on every call. Servers are either split
+ * into one fixed segment per worker or handed out in small chunks from a shared cursor,
+ * as configured by {@link Policies#getScheduling()}. Every lookup of a check goes to the
+ * version of the data {@linkplain BlacklistSource#pinned() pinned} when it started, and the
+ * result carries that version's epoch. With {@link Policies#isNegativeLookup()}, an IP the source
+ * {@linkplain BlacklistSource#mightBeListed(String) rules out} is trustworthy without querying any server.
+ * {@link #checkHosts(List)} resolves many IPs together in one pass over the servers.
  *
  * @author ARSW-PANDILLA-2025
  * @version 1.0
@@ -21,18 +39,67 @@ public class BlacklistChecker {
 
     private static final Logger logger = Logger.getLogger(BlacklistChecker.class.getName());
 
-    private final HostBlackListsDataSourceFacade facade;
+    private final BlacklistSource source;
     private final Policies policies;
+    private final ExecutorService executor;
+    private final CheckMetrics metrics;
+
+    /**
+     * Constructor of the BlacklistChecker class using the shared default executor.
+     *
+     * @param source Source of the blacklist servers.
+     * @param policies Policy configuration including alarm threshold.
+     */
+    public BlacklistChecker(BlacklistSource source, Policies policies) {
+        this(source, policies, ScanExecutors.shared());
+    }
+
+    /**
+     * Constructor of the BlacklistChecker class.
+     *
+     * @param source Source of the blacklist servers.
+     * @param policies Policy configuration including alarm threshold.
+     * @param executor Executor that runs the scan segments.
+     */
+    public BlacklistChecker(BlacklistSource source, Policies policies, ExecutorService executor) {
+        this(source, policies, executor, CheckMetrics.noop());
+    }
 
     /**
      * Constructor of the BlacklistChecker class.
      *
-     * @param facade Facade to access blacklist servers.
+     * @param source Source of the blacklist servers.
      * @param policies Policy configuration including alarm threshold.
+     * @param executor Executor that runs the scan segments.
+     * @param metrics Meters recording every check and segment.
      */
-    public BlacklistChecker(HostBlackListsDataSourceFacade facade, Policies policies) {
-        this.facade = Objects.requireNonNull(facade, "Facade cannot be null");
+    public BlacklistChecker(BlacklistSource source, Policies policies, ExecutorService executor,
+            CheckMetrics metrics) {
+        this.source = Objects.requireNonNull(source, "Source cannot be null");
         this.policies = Objects.requireNonNull(policies, "Policies cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+    }
+
+    /**
+     * Indicates whether checks are resolved with a bulk lookup on the source's index,
+     * in which case the thread count does not affect them.
+     *
+     * @return True if checks use the index, false if they scan server by server.
+     */
+    public boolean isIndexed() {
+        return policies.isIndexedLookup() && source.supportsBulkLookup();
+    }
+
+    /**
+     * Indicates whether the source answers {@link #checkHosts(List)} from a server-major index.
+     * Other sources would serve the pass with one query per server and address, on the calling
+     * thread and without a deadline.
+     *
+     * @return True if a batch may be checked in one pass, false otherwise.
+     */
+    public boolean supportsServerMajor() {
+        return source.supportsServerMajorLookup();
     }
 
     /**
@@ -43,131 +110,425 @@ public class BlacklistChecker {
      * @return Verification result with timing information.
      */
     public MatchResult checkHost(String ip, int nThreads) {
+        return checkHost(ip, nThreads, ScanListener.NONE);
+    }
+
+    /**
+     * Checks if the IP address appears in blacklist servers using multiple threads,
+     * notifying the listener of every match as soon as a worker finds it.
+     *
+     * @param ip The IP address to verify.
+     * @param nThreads The number of threads to use for parallel processing.
+     * @param listener The listener notified of the scan start and of each match.
+     * @return Verification result with timing information.
+     */
+    public MatchResult checkHost(String ip, int nThreads, ScanListener listener) {
+        return checkHost(ip, nThreads, listener, new ScanControl());
+    }
+
+    /**
+     * Checks if the IP address appears in blacklist servers using multiple threads, within the
+     * time budget of the control and until it is cancelled. A check cut short before reaching
+     * the alarm threshold returns a partial result with the servers checked so far.
+     *
+     * @param ip The IP address to verify.
+     * @param nThreads The number of threads to use for parallel processing.
+     * @param listener The listener notified of the scan start and of each match.
+     * @param control The deadline and cancellation flag of the check.
+     * @return Verification result with timing information.
+     */
+    public MatchResult checkHost(String ip, int nThreads, ScanListener listener, ScanControl control) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        Objects.requireNonNull(control, "Control cannot be null");
         int threshold = policies.getAlarmCount();
-        int total = facade.getRegisteredServersCount();
+        BlacklistSource data = source.pinned();
+        int total = data.getRegisteredServersCount();
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
+        if (policies.isNegativeLookup() && !data.mightBeListed(ip)) {
+            return checkFiltered(data, ip, total, Math.max(1, nThreads), start, listener);
+        }
+        if (isIndexed()) {
+            return checkIndexed(data, ip, threshold, total, Math.max(1, nThreads), start, listener);
+        }
+
+        // Only written on a match or to stop; the servers checked are counted by each worker
         AtomicInteger found = new AtomicInteger(0);
-        AtomicInteger checked = new AtomicInteger(0);
         AtomicBoolean stop = new AtomicBoolean(false);
-        List<Integer> matches = Collections.synchronizedList(new ArrayList<>());
 
         int threads = Math.max(1, nThreads);
+        BlacklistWorker[] workers = new BlacklistWorker[threads];
+        listener.onStart(ip, total, () -> checked(workers));
+        IntPredicate probe = data.probe(ip);
 
-        int segmentSize = total / threads;
-        int remainder = total % threads;
-
-        List<BlacklistWorkerThread> workerThreads = new ArrayList<>(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Duration timeout = control.getTimeout() != null ? control.getTimeout() : policies.getTimeout();
+        boolean timedOut = false;
 
         try {
-            // Create and start threads
-            for (int i = 0; i < threads; i++) {
-                int startIdx = i * segmentSize;
-                
-                int endIdx;
-                if (i < remainder) {
-                    startIdx += i;
-                    endIdx = startIdx + segmentSize + 1;
-                } else {
-                    startIdx += remainder;
-                    endIdx = startIdx + segmentSize;
+            if (policies.getScheduling() == Policies.Scheduling.DYNAMIC) {
+                // Every worker claims chunks from one shared cursor until the servers run out;
+                // a chunk never exceeds the static segment, which also keeps the cursor from overflowing
+                AtomicInteger cursor = new AtomicInteger(0);
+                int chunkSize = Math.max(1, Math.min(policies.getChunkSize(), (total + threads - 1) / threads));
+                for (int i = 0; i < threads; i++) {
+                    workers[i] = new BlacklistWorker(
+                            ip, cursor, chunkSize, total, probe, found, stop, threshold, done,
+                            failure, listener, metrics, control);
+                    executor.execute(workers[i]);
                 }
+            } else {
+                int segmentSize = total / threads;
+                int remainder = total % threads;
 
-                if (endIdx > total) {
-                    endIdx = total;
-                }
+                // Submit one segment per requested thread
+                for (int i = 0; i < threads; i++) {
+                    int startIdx = i * segmentSize;
+
+                    int endIdx;
+                    if (i < remainder) {
+                        startIdx += i;
+                        endIdx = startIdx + segmentSize + 1;
+                    } else {
+                        startIdx += remainder;
+                        endIdx = startIdx + segmentSize;
+                    }
+
+                    if (endIdx > total) {
+                        endIdx = total;
+                    }
 
-                BlacklistWorkerThread workerThread = new BlacklistWorkerThread(
-                        ip, startIdx, endIdx, facade, matches, found, checked, stop, threshold);
-                workerThreads.add(workerThread);
-                workerThread.start();
+                    // A private cursor handing out the whole segment as a single chunk
+                    workers[i] = new BlacklistWorker(
+                            ip, new AtomicInteger(startIdx), endIdx - startIdx, endIdx, probe, found,
+                            stop, threshold, done, failure, listener, metrics, control);
+                    executor.execute(workers[i]);
+                }
             }
 
-            // Join
-            for (BlacklistWorkerThread thread : workerThreads) {
-                thread.join();
+            // Wait for every segment, or until the deadline and then let the workers stop on their own
+            if (timeout.isZero()) {
+                done.await();
+            } else if (!done.await(timeout.toNanos() - (System.nanoTime() - start), TimeUnit.NANOSECONDS)) {
+                stop.set(true);
+                timedOut = true;
             }
 
+        } catch (RejectedExecutionException e) {
+            stop.set(true);
+            throw e;
         } catch (InterruptedException e) {
+            stop.set(true);
             Thread.currentThread().interrupt();
             throw new RuntimeException("Thread was interrupted during blacklist checking", e);
         }
 
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
         boolean trustworthy = found.get() < threshold;
+        int checkedServers = checked(workers);
+        boolean partial = trustworthy && checkedServers < total && (timedOut || control.isCancelled());
+        return complete(ip, trustworthy, partial, Lookup.SCAN, merge(workers), checkedServers, total, threads,
+                data.epoch(), start);
+    }
 
-        logger.log(Level.INFO, "Checked blacklists: {0} of {1}", new Object[]{checked.get(), total});
+    /**
+     * Sums the servers checked by every worker. While they run, each worker's count trails its
+     * position by less than {@link BlacklistWorker#PUBLISH_STRIDE} servers; once it finishes the
+     * count is exact.
+     *
+     * @param workers The workers of the scan, null past the ones submitted so far.
+     * @return The number of servers checked.
+     */
+    private static int checked(BlacklistWorker[] workers) {
+        int checked = 0;
+        for (int i = 0; i < workers.length && workers[i] != null; i++) {
+            checked += workers[i].checked;
+        }
+        return checked;
+    }
+
+    /**
+     * Merges the matches of every worker into one ascending list. Workers still running after a
+     * deadline keep appending to their buffers; only the matches they had published are taken.
+     *
+     * @param workers The workers of the scan, null past the ones submitted before a rejection.
+     * @return The matches found.
+     */
+    private static ServerIndexList merge(BlacklistWorker[] workers) {
+        int total = 0;
+        int[] counts = new int[workers.length];
+        for (int i = 0; i < workers.length && workers[i] != null; i++) {
+            counts[i] = workers[i].count;
+            total += counts[i];
+        }
+        int[] merged = new int[total];
+        int n = 0;
+        for (int i = 0; i < workers.length && workers[i] != null; i++) {
+            System.arraycopy(workers[i].found, 0, merged, n, counts[i]);
+            n += counts[i];
+        }
+        Arrays.sort(merged);
+        return ServerIndexList.wrap(merged);
+    }
+
+    /**
+     * Checks several IP addresses together in one pass over the servers, which the source may
+     * answer from a server-major index. Every address reaches its verdict in the same pass, and
+     * the results match those of {@link #checkHost(String, int)} with the index: the matches are
+     * the lowest matching servers up to the alarm threshold, and the checked count is the position
+     * of the last one needed, or every server when the address is trustworthy. The pass has no
+     * deadline and runs on the calling thread, so each result reports one thread and carries
+     * its duration.
+     *
+     * @param ips The distinct IP addresses to verify.
+     * @return One result per address, in the order given.
+     */
+    public List<MatchResult> checkHosts(List<String> ips) {
+        int threshold = policies.getAlarmCount();
+        BlacklistSource data = source.pinned();
+        int total = data.getRegisteredServersCount();
+
+        long start = System.nanoTime();
+        int[][] first = data.getFirstMatches(ips, threshold);
+        List<MatchResult> results = new ArrayList<>(ips.size());
+        for (int i = 0; i < first.length; i++) {
+            boolean trustworthy = first[i].length < threshold;
+            int checked = trustworthy ? total : (threshold == 0 ? 0 : Math.min(total, first[i][threshold - 1] + 1));
+            results.add(complete(ips.get(i), trustworthy, false, Lookup.BATCH,
+                    ServerIndexList.of(first[i], first[i].length), checked, total, 1, data.epoch(), start));
+        }
+        return results;
+    }
+
+    /**
+     * Resolves the verdict with a single bulk lookup on the source's per-IP index.
+     * The result matches a sequential scan that stops at the threshold-th match:
+     * the matches are the lowest matching server indices and the checked count is
+     * the position of the last one needed, or every server when the IP is trustworthy.
+     *
+     * @param data The pinned data to query.
+     * @param ip The IP address to verify.
+     * @param threshold The alarm threshold.
+     * @param total The number of registered servers.
+     * @param threads The requested parallelism, reported unchanged.
+     * @param start The start timestamp from {@link System#nanoTime()}.
+     * @param listener The listener notified of the scan start and of each match.
+     * @return Verification result with timing information.
+     */
+    private MatchResult checkIndexed(BlacklistSource data, String ip, int threshold, int total, int threads,
+            long start, ScanListener listener) {
+        int[] first = data.getFirstMatches(ip, threshold);
+        boolean trustworthy = first.length < threshold;
+        int checked = trustworthy ? total : (threshold == 0 ? 0 : Math.min(total, first[threshold - 1] + 1));
+
+        listener.onStart(ip, total, () -> checked);
+        for (int i = 0; i < first.length; i++) {
+            listener.onMatch(ip, first[i], i + 1);
+        }
+        return complete(ip, trustworthy, false, Lookup.INDEXED, ServerIndexList.of(first, first.length), checked,
+                total, threads, data.epoch(), start);
+    }
 
-        if (trustworthy) {
-            facade.reportAsTrustworthy(ip);
+    /**
+     * Resolves the verdict of an IP that no server lists, as the source's negative filter
+     * proved. The result matches a full scan without matches.
+     *
+     * @param data The pinned data that ruled the IP out.
+     * @param ip The IP address to verify.
+     * @param total The number of registered servers.
+     * @param threads The requested parallelism, reported unchanged.
+     * @param start The start timestamp from {@link System#nanoTime()}.
+     * @param listener The listener notified of the scan start.
+     * @return Verification result with timing information.
+     */
+    private MatchResult checkFiltered(BlacklistSource data, String ip, int total, int threads, long start,
+            ScanListener listener) {
+        listener.onStart(ip, total, () -> total);
+        return complete(ip, true, false, Lookup.FILTER, ServerIndexList.of(), total, total, threads, data.epoch(),
+                start);
+    }
+
+    /**
+     * Reports the verdict and records the check metrics, then builds the result.
+     * Partial verdicts are not reported to the source.
+     *
+     * @param ip The IP address verified.
+     * @param trustworthy The verdict.
+     * @param partial Whether the check was cut short before reaching a verdict.
+     * @param lookup How the verdict was reached.
+     * @param matches The matching server indices.
+     * @param checked The number of servers checked.
+     * @param total The number of registered servers.
+     * @param threads The parallelism used.
+     * @param epoch The epoch of the data queried.
+     * @param start The start timestamp from {@link System#nanoTime()}.
+     * @return Verification result with timing information.
+     */
+    private MatchResult complete(String ip, boolean trustworthy, boolean partial, Lookup lookup,
+            ServerIndexList matches, int checked, int total, int threads, long epoch, long start) {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Checked blacklists: {0} of {1}", new Object[]{checked, total});
+        }
+
+        long elapsedNanos;
+        if (partial) {
+            elapsedNanos = System.nanoTime() - start;
+            metrics.recordPartial(checked, threads, elapsedNanos);
         } else {
-            facade.reportAsNotTrustworthy(ip);
+            if (trustworthy) {
+                source.reportAsTrustworthy(ip);
+            } else {
+                source.reportAsNotTrustworthy(ip);
+            }
+            elapsedNanos = System.nanoTime() - start;
+            if (lookup == Lookup.FILTER) {
+                metrics.recordFiltered(total, threads, elapsedNanos);
+            } else if (lookup == Lookup.BATCH) {
+                metrics.recordBatchCheck(trustworthy, checked, total, threads, elapsedNanos);
+            } else {
+                metrics.recordCheck(trustworthy, lookup == Lookup.INDEXED, checked, total, threads, elapsedNanos);
+            }
         }
+        return new MatchResult(ip, trustworthy, matches, checked, total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                threads, partial, epoch, lookup);
+    }
 
-        long elapsed = System.currentTimeMillis() - start;
-        return new MatchResult(ip, trustworthy, List.copyOf(matches), checked.get(), total, elapsed, threads);
+    /**
+     * Cache-line padding placed before the fields of a {@link BlacklistWorker}. The JVM lays out
+     * superclass fields first, so the counters one worker writes while scanning never share a
+     * cache line with those of the worker allocated just before it.
+     */
+    @SuppressWarnings("unused")
+    private abstract static class WorkerPadding {
+        private long p01, p02, p03, p04, p05, p06, p07, p08;
     }
 
     /**
-     * Worker thread that processes a specific segment of blacklist servers.
+     * Worker task that scans the chunks of servers it claims from a cursor. With static
+     * scheduling the cursor is private and yields one segment; with dynamic scheduling it is
+     * shared, so workers that finish early keep taking work from the rest of the range.
+     *
+     * <p>Each worker records its matches in a buffer of its own, which is never resized: every
+     * match of a worker raises the shared count, so a worker stops by the threshold-th of its
+     * own. The scan loop allocates nothing, and the buffers are merged once at the end.
+     *
+     * <p>Nothing shared is written per server either. The servers checked are counted in a
+     * local and published to the worker's own {@code checked} every
+     * {@link #PUBLISH_STRIDE} servers, when cancellation is also polled; the shared match count
+     * and stop flag are only written on a match, so the stop flag read before every server
+     * stays in each core's cache and the threshold still stops every worker at its next server.
      */
-    private static class BlacklistWorkerThread extends Thread {
-        
+    private static class BlacklistWorker extends WorkerPadding implements Runnable {
+
+        /** The servers checked between two publications of the count and polls of cancellation */
+        static final int PUBLISH_STRIDE = 64;
+
         private final String ip;
-        private final int startIdx;
+        private final AtomicInteger cursor;
+        private final int chunkSize;
         private final int endIdx;
-        private final HostBlackListsDataSourceFacade facade;
-        private final List<Integer> matches;
-        private final AtomicInteger found;
-        private final AtomicInteger checked;
+        private final IntPredicate listed;
+        private final int[] found;
+        private volatile int count;
+        private volatile int checked;
+        private final AtomicInteger foundTotal;
         private final AtomicBoolean stop;
         private final int threshold;
+        private final CountDownLatch done;
+        private final AtomicReference<RuntimeException> failure;
+        private final ScanListener listener;
+        private final CheckMetrics metrics;
+        private final ScanControl control;
 
         /**
-         * Constructor of the BlacklistWorkerThread class.
+         * Constructor of the BlacklistWorker class.
          *
          * @param ip The target IP address to verify.
-         * @param startIdx The initial server index.
-         * @param endIdx The final server index.
-         * @param facade The blacklist data source facade.
-         * @param matches The shared list to collect matches.
-         * @param found The shared counter for total matches.
-         * @param checked The shared counter for verified servers.
+         * @param cursor The cursor chunks are claimed from.
+         * @param chunkSize The number of servers claimed at a time.
+         * @param endIdx The server index, exclusive, where claiming stops.
+         * @param listed The probe of the IP address on the pinned source.
+         * @param foundTotal The shared counter for total matches.
          * @param stop The shared stop flag.
          * @param threshold The alarm threshold for early stopping.
+         * @param done The latch counted down when the segment finishes.
+         * @param failure The holder for the first error raised by any segment.
+         * @param listener The listener notified of each match.
+         * @param metrics The meters recording the segment.
+         * @param control The control whose cancellation stops the worker.
          */
-        public BlacklistWorkerThread(String ip, int startIdx, int endIdx,
-                HostBlackListsDataSourceFacade facade,
-                List<Integer> matches, AtomicInteger found,
-                AtomicInteger checked, AtomicBoolean stop, int threshold) {
+        BlacklistWorker(String ip, AtomicInteger cursor, int chunkSize, int endIdx,
+                IntPredicate listed, AtomicInteger foundTotal, AtomicBoolean stop, int threshold,
+                CountDownLatch done, AtomicReference<RuntimeException> failure,
+                ScanListener listener, CheckMetrics metrics, ScanControl control) {
             this.ip = ip;
-            this.startIdx = startIdx;
+            this.cursor = cursor;
+            this.chunkSize = chunkSize;
             this.endIdx = endIdx;
-            this.facade = facade;
-            this.matches = matches;
-            this.found = found;
-            this.checked = checked;
+            this.listed = listed;
+            this.found = new int[Math.max(1, threshold)];
+            this.foundTotal = foundTotal;
             this.stop = stop;
             this.threshold = threshold;
+            this.done = done;
+            this.failure = failure;
+            this.listener = listener;
+            this.metrics = metrics;
+            this.control = control;
         }
 
         /**
-         * Executes blacklist verification for the assigned server segment.
+         * Executes blacklist verification for every chunk claimed until the range is exhausted.
          */
         @Override
         public void run() {
-            for (int s = startIdx; s < endIdx && !stop.get(); s++) {
-                if (stop.get()) {
-                    break;
-                }
-
-                if (facade.isInBlackListServer(s, ip)) {
-                    matches.add(s);
-                    if (found.incrementAndGet() >= threshold) {
-                        stop.set(true);
+            long segmentStart = metrics.segmentStarted();
+            int pending = 0;
+            try {
+                scan:
+                for (int from = cursor.getAndAdd(chunkSize); from < endIdx && !stopped();
+                        from = cursor.getAndAdd(chunkSize)) {
+                    int to = (int) Math.min((long) from + chunkSize, endIdx);
+                    for (int s = from; s < to; s++) {
+                        if (stop.get()) {
+                            break scan;
+                        }
+                        if (listed.test(s)) {
+                            // Publish the index before the count a deadline-cut merge reads
+                            found[count] = s;
+                            count++;
+                            int foundSoFar = foundTotal.incrementAndGet();
+                            if (foundSoFar >= threshold) {
+                                stop.set(true);
+                            }
+                            listener.onMatch(ip, s, foundSoFar);
+                        }
+                        if (++pending == PUBLISH_STRIDE) {
+                            checked += pending;
+                            pending = 0;
+                            if (control.isCancelled()) {
+                                break scan;
+                            }
+                        }
                     }
                 }
-                checked.incrementAndGet();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                stop.set(true);
+            } finally {
+                // A server whose probe or listener failed is not counted
+                checked += pending;
+                metrics.segmentFinished(segmentStart);
+                done.countDown();
             }
         }
+
+        private boolean stopped() {
+            return stop.get() || control.isCancelled();
+        }
     }
 }
@@ -7,11 +7,17 @@ import java.util.List;
  *
  * @param ip             The IP address that was checked.
  * @param trustworthy    True if the IP is considered trustworthy.
- * @param matches        List of server indices where the IP was found.
+ * @param matches        List of server indices where the IP was found, held as an
+ *                       int[]-backed {@link ServerIndexList}.
  * @param checkedServers The actual number of servers checked.
  * @param totalServers   The total number of servers available for checking.
  * @param elapsedMs      The total execution time in milliseconds.
  * @param threads        The number of threads used for parallel processing.
+ * @param partial        True if the check was cut short by its deadline or a cancellation
+ *                       before reaching a verdict, so the servers left unchecked may still
+ *                       hold matches.
+ * @param epoch          The version of the blacklist data the check was computed against.
+ * @param lookup         How the verdict was reached.
  *
  * @author ARSW-PANDILLA-2025
  * @version 1.0
@@ -23,7 +29,25 @@ public record MatchResult(
                 int checkedServers,
                 int totalServers,
                 long elapsedMs,
-                int threads) {
+                int threads,
+                boolean partial,
+                long epoch,
+                Lookup lookup) {
+
+        /**
+         * How a verdict was reached.
+         */
+        public enum Lookup {
+                /** Server by server. */
+                SCAN,
+                /** With a bulk lookup on the source's index. */
+                INDEXED,
+                /** From the source's negative filter, without any lookup. */
+                FILTER,
+                /** Together with other IPs, in one pass over the servers. */
+                BATCH
+        }
+
         /**
          * Constructor that validates parameters.
          */
@@ -49,8 +73,59 @@ public record MatchResult(
                 if (threads <= 0) {
                         throw new IllegalArgumentException("Thread count must be positive");
                 }
+                if (epoch < 0) {
+                        throw new IllegalArgumentException("Epoch cannot be negative");
+                }
+                if (lookup == null) {
+                        throw new IllegalArgumentException("Lookup cannot be null");
+                }
+
+                matches = ServerIndexList.copyOf(matches);
+        }
+
+        /**
+         * Constructor of a complete result against unversioned data.
+         *
+         * @param ip             The IP address that was checked.
+         * @param trustworthy    True if the IP is considered trustworthy.
+         * @param matches        List of server indices where the IP was found, held as an
+         *                       int[]-backed {@link ServerIndexList}.
+         * @param checkedServers The actual number of servers checked.
+         * @param totalServers   The total number of servers available for checking.
+         * @param elapsedMs      The total execution time in milliseconds.
+         * @param threads        The number of threads used for parallel processing.
+         */
+        public MatchResult(String ip, boolean trustworthy, List<Integer> matches, int checkedServers,
+                        int totalServers, long elapsedMs, int threads) {
+                this(ip, trustworthy, matches, checkedServers, totalServers, elapsedMs, threads, false, 0L);
+        }
 
-                matches = List.copyOf(matches);
+        /**
+         * Constructor of a result reached by scanning.
+         *
+         * @param ip             The IP address that was checked.
+         * @param trustworthy    True if the IP is considered trustworthy.
+         * @param matches        List of server indices where the IP was found.
+         * @param checkedServers The actual number of servers checked.
+         * @param totalServers   The total number of servers available for checking.
+         * @param elapsedMs      The total execution time in milliseconds.
+         * @param threads        The number of threads used for parallel processing.
+         * @param partial        True if the check was cut short before reaching a verdict.
+         * @param epoch          The version of the blacklist data the check was computed against.
+         */
+        public MatchResult(String ip, boolean trustworthy, List<Integer> matches, int checkedServers,
+                        int totalServers, long elapsedMs, int threads, boolean partial, long epoch) {
+                this(ip, trustworthy, matches, checkedServers, totalServers, elapsedMs, threads, partial, epoch,
+                                Lookup.SCAN);
+        }
+
+        /**
+         * Returns the matching server indices as primitives, without boxing them.
+         *
+         * @return The int[]-backed view of {@link #matches()}.
+         */
+        public ServerIndexList matchIndices() {
+                return (ServerIndexList) matches;
         }
 
         /**
@@ -1,5 +1,7 @@
 package co.eci.blacklist.domain;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,13 +12,54 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "blacklist")
 public class Policies {
-    
+
+    /**
+     * How the servers of a scan are distributed among its workers.
+     */
+    public enum Scheduling {
+        /** One contiguous segment per worker, fixed before the scan starts. */
+        STATIC,
+        /** Workers repeatedly claim the next chunk of servers from a shared cursor. */
+        DYNAMIC
+    }
+
     /**
      * The minimum number of blacklist matches required to classify an IP address
      * as NOT trustworthy. Default value is 5.
      */
     private int alarmCount = 5;
 
+    /**
+     * Whether verdicts are resolved with a single bulk lookup on the facade's per-IP index
+     * instead of scanning every server in parallel segments. Default value is false, which
+     * keeps the segmented scan used by the threading laboratory.
+     */
+    private boolean indexedLookup = false;
+
+    /**
+     * Whether an IP the source's negative filter rules out is trustworthy without any lookup.
+     * Default value is false, which keeps the worst-case scan of clean IPs studied in the
+     * threading laboratory.
+     */
+    private boolean negativeLookup = false;
+
+    /**
+     * How the scan distributes servers among workers. Default value is STATIC, the
+     * contiguous partition used by the threading laboratory.
+     */
+    private Scheduling scheduling = Scheduling.STATIC;
+
+    /**
+     * Number of servers a worker claims at a time with DYNAMIC scheduling. Default value is 64.
+     */
+    private int chunkSize = 64;
+
+    /**
+     * Default time budget of a check, measured from the start of the scan; when it expires
+     * the check returns a partial result. Default value is zero, meaning no limit.
+     */
+    private Duration timeout = Duration.ZERO;
+
     /**
      * Returns the current alarm count threshold.
      *
@@ -37,4 +80,103 @@ public class Policies {
         }
         this.alarmCount = alarmCount;
     }
+
+    /**
+     * Indicates whether verdicts are resolved through the facade's per-IP index.
+     *
+     * @return True if indexed lookup is enabled, false to scan server by server.
+     */
+    public boolean isIndexedLookup() {
+        return indexedLookup;
+    }
+
+    /**
+     * Enables or disables indexed lookup.
+     *
+     * @param indexedLookup True to resolve verdicts through the per-IP index.
+     */
+    public void setIndexedLookup(boolean indexedLookup) {
+        this.indexedLookup = indexedLookup;
+    }
+
+    /**
+     * Indicates whether clean IPs are resolved from the source's negative filter.
+     *
+     * @return True if the filter is consulted before any lookup, false otherwise.
+     */
+    public boolean isNegativeLookup() {
+        return negativeLookup;
+    }
+
+    /**
+     * Enables or disables resolving clean IPs from the source's negative filter.
+     *
+     * @param negativeLookup True to consult the filter before any lookup.
+     */
+    public void setNegativeLookup(boolean negativeLookup) {
+        this.negativeLookup = negativeLookup;
+    }
+
+    /**
+     * Returns the scan scheduling mode.
+     *
+     * @return The configured scheduling mode.
+     */
+    public Scheduling getScheduling() {
+        return scheduling;
+    }
+
+    /**
+     * Sets the scan scheduling mode.
+     *
+     * @param scheduling The scheduling mode.
+     */
+    public void setScheduling(Scheduling scheduling) {
+        if (scheduling == null) {
+            throw new IllegalArgumentException("Scheduling cannot be null");
+        }
+        this.scheduling = scheduling;
+    }
+
+    /**
+     * Returns the number of servers claimed at a time with DYNAMIC scheduling.
+     *
+     * @return The chunk size.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of servers claimed at a time with DYNAMIC scheduling.
+     *
+     * @param chunkSize The chunk size, at least 1.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the default time budget of a check.
+     *
+     * @return The timeout, or {@link Duration#ZERO} for no limit.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the default time budget of a check.
+     *
+     * @param timeout The timeout, or {@link Duration#ZERO} for no limit.
+     */
+    public void setTimeout(Duration timeout) {
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        this.timeout = timeout;
+    }
 }
@@ -0,0 +1,63 @@
+package co.eci.blacklist.domain;
+
+import java.time.Duration;
+
+/**
+ * Limits of one blacklist check: an optional time budget and a cancellation flag that the
+ * caller may raise from any thread, for instance when the client disconnects. Both are
+ * cooperative: workers stop before their next server lookup, and the checker returns a
+ * partial result instead of waiting for the rest of the scan.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class ScanControl {
+
+    private final Duration timeout;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor of the ScanControl class using the checker's default timeout.
+     */
+    public ScanControl() {
+        this(null);
+    }
+
+    /**
+     * Constructor of the ScanControl class.
+     *
+     * @param timeout The time budget measured from the start of the scan, {@link Duration#ZERO}
+     *                for none, or null to use the checker's default timeout.
+     */
+    public ScanControl(Duration timeout) {
+        if (timeout != null && timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the requested time budget.
+     *
+     * @return The timeout, or null to use the checker's default.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Asks the check to stop as soon as possible.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Indicates whether the check was cancelled.
+     *
+     * @return True if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
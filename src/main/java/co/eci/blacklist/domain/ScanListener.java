@@ -0,0 +1,37 @@
+package co.eci.blacklist.domain;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Callback notified while a blacklist check is running.
+ * Methods may be invoked concurrently from several worker threads.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public interface ScanListener {
+
+    /** Listener that ignores every notification. */
+    ScanListener NONE = new ScanListener() {
+    };
+
+    /**
+     * Called once before any server is checked.
+     *
+     * @param ip The IP address being checked.
+     * @param totalServers The total number of servers to check.
+     * @param checkedServers Live view of the number of servers checked so far.
+     */
+    default void onStart(String ip, int totalServers, IntSupplier checkedServers) {
+    }
+
+    /**
+     * Called each time the IP address is found on a server.
+     *
+     * @param ip The IP address being checked.
+     * @param serverIndex The index of the server that lists the IP.
+     * @param found The number of matches found so far, including this one.
+     */
+    default void onMatch(String ip, int serverIndex, int found) {
+    }
+}
@@ -0,0 +1,125 @@
+package co.eci.blacklist.domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of server indices backed by an {@code int[]}. It is a {@code List<Integer>}
+ * for callers that expect one, equal to any list of the same values, and offers primitive
+ * access through {@link #getInt(int)} and {@link #toIntArray()}, so reading the indices of a
+ * {@link MatchResult} never boxes them.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class ServerIndexList extends AbstractList<Integer> implements RandomAccess {
+
+    private static final ServerIndexList EMPTY = new ServerIndexList(new int[0]);
+
+    private final int[] indices;
+
+    private ServerIndexList(int[] indices) {
+        this.indices = indices;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @return A shared empty list.
+     */
+    public static ServerIndexList of() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list of the first {@code count} indices of an array, copied.
+     *
+     * @param indices The server indices.
+     * @param count The number of indices to take from the start of the array.
+     * @return The list.
+     */
+    public static ServerIndexList of(int[] indices, int count) {
+        return count == 0 ? EMPTY : new ServerIndexList(Arrays.copyOf(indices, count));
+    }
+
+    /**
+     * Returns a list holding the given indices, the same list if it already is a ServerIndexList.
+     *
+     * @param indices The server indices, none of them null.
+     * @return The list.
+     * @throws NullPointerException If an index is null.
+     */
+    public static ServerIndexList copyOf(Collection<Integer> indices) {
+        if (indices instanceof ServerIndexList list) {
+            return list;
+        }
+        if (indices.isEmpty()) {
+            return EMPTY;
+        }
+        int[] values = new int[indices.size()];
+        int i = 0;
+        for (Integer index : indices) {
+            values[i++] = index;
+        }
+        return new ServerIndexList(values);
+    }
+
+    /**
+     * Returns a list over an array the caller hands over and no longer writes.
+     *
+     * @param indices The server indices.
+     * @return The list, backed by the array.
+     */
+    static ServerIndexList wrap(int[] indices) {
+        return indices.length == 0 ? EMPTY : new ServerIndexList(indices);
+    }
+
+    /**
+     * Returns the index at the given position without boxing it.
+     *
+     * @param position The position in the list.
+     * @return The server index.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    public int getInt(int position) {
+        return indices[position];
+    }
+
+    /**
+     * Returns a copy of the indices.
+     *
+     * @return A new array of the server indices.
+     */
+    public int[] toIntArray() {
+        return indices.clone();
+    }
+
+    @Override
+    public Integer get(int position) {
+        return indices[position];
+    }
+
+    @Override
+    public int size() {
+        return indices.length;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof Integer index) {
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] == index) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package co.eci.blacklist.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only {@link CharSequence} view of a byte array holding Latin-1 text, so the address
+ * parsers can read feed bytes through the same code that reads request strings. Bytes map to
+ * the characters with the same unsigned value; nothing is copied.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class AsciiBytes implements CharSequence {
+
+    /** The bytes being viewed */
+    private final byte[] bytes;
+
+    /**
+     * Constructor of the AsciiBytes class.
+     *
+     * @param bytes The bytes to view; later changes to them are visible through the view.
+     */
+    AsciiBytes(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public int length() {
+        return bytes.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes[index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
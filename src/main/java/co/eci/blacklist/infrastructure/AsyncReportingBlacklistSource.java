@@ -0,0 +1,281 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Blacklist source that takes verdict reporting off the request thread. Lookups go straight
+ * to the delegate; reports are put on a bounded queue and published to a {@link VerdictSink}
+ * by a single background thread in batches, closed when they reach the batch size or when
+ * the oldest verdict has waited the flush interval.
+ *
+ * <p>A verdict equal to the last one queued for the same IP within the dedup window is
+ * suppressed. When the queue is full the request waits at most the offer timeout and then
+ * drops the verdict, so a slow reporting system never stalls checks. {@link #close()} stops
+ * accepting verdicts and publishes the ones still queued.
+ *
+ * <p>Meters: {@code blacklist.reporting.verdicts} tagged by outcome (queued, suppressed,
+ * dropped), {@code blacklist.reporting.published}, {@code blacklist.reporting.failures},
+ * {@code blacklist.reporting.batch.size} and the gauge {@code blacklist.reporting.queue}.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public class AsyncReportingBlacklistSource implements BlacklistSource, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(AsyncReportingBlacklistSource.class.getName());
+
+    private final BlacklistSource delegate;
+    private final VerdictSink sink;
+    private final BlockingQueue<VerdictSink.Verdict> queue;
+    private final Cache<String, Boolean> lastQueued;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+    private final Thread publisher;
+    private volatile boolean closed;
+
+    private final Counter queued;
+    private final Counter suppressed;
+    private final Counter dropped;
+    private final Counter published;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Constructor of the AsyncReportingBlacklistSource class. Starts the publisher thread.
+     *
+     * @param delegate The source that answers the lookups.
+     * @param sink The destination of the published verdicts.
+     * @param properties The pipeline configuration.
+     * @param registry The registry where the pipeline metrics are published.
+     */
+    public AsyncReportingBlacklistSource(BlacklistSource delegate, VerdictSink sink, ReportingProperties properties,
+            MeterRegistry registry) {
+        this.delegate = delegate;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.lastQueued = properties.getDedupWindow().isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(properties.getDedupWindow())
+                .maximumSize(properties.getDedupMaxEntries())
+                .build();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.offerTimeoutNanos = properties.getOfferTimeout().toNanos();
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+
+        this.queued = outcome(registry, "queued");
+        this.suppressed = outcome(registry, "suppressed");
+        this.dropped = outcome(registry, "dropped");
+        this.published = Counter.builder("blacklist.reporting.published")
+                .description("Verdicts delivered to the reporting sink")
+                .register(registry);
+        this.failures = Counter.builder("blacklist.reporting.failures")
+                .description("Batches the reporting sink failed to publish")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("blacklist.reporting.batch.size")
+                .description("Verdicts per published batch")
+                .baseUnit("verdicts")
+                .register(registry);
+        Gauge.builder("blacklist.reporting.queue", queue, BlockingQueue::size)
+                .description("Verdicts waiting to be published")
+                .register(registry);
+
+        this.publisher = new Thread(this::publishLoop, "blacklist-reporter");
+        this.publisher.setDaemon(true);
+        this.publisher.start();
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("blacklist.reporting.verdicts")
+                .description("Verdicts submitted for reporting, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public int getRegisteredServersCount() {
+        return delegate.getRegisteredServersCount();
+    }
+
+    @Override
+    public boolean isInBlackListServer(int serverIndex, String ip) {
+        return delegate.isInBlackListServer(serverIndex, ip);
+    }
+
+    @Override
+    public boolean supportsBulkLookup() {
+        return delegate.supportsBulkLookup();
+    }
+
+    @Override
+    public int[] getMatches(String ip) {
+        return delegate.getMatches(ip);
+    }
+
+    @Override
+    public int[] getFirstMatches(String ip, int limit) {
+        return delegate.getFirstMatches(ip, limit);
+    }
+
+    @Override
+    public int[][] getFirstMatches(List<String> ips, int limit) {
+        return delegate.getFirstMatches(ips, limit);
+    }
+
+    @Override
+    public int countMatches(String ip, int fromServer, int toServer) {
+        return delegate.countMatches(ip, fromServer, toServer);
+    }
+
+    @Override
+    public void reportAsTrustworthy(String ip) {
+        submit(ip, true);
+    }
+
+    @Override
+    public void reportAsNotTrustworthy(String ip) {
+        submit(ip, false);
+    }
+
+    @Override
+    public boolean mightBeListed(String ip) {
+        return delegate.mightBeListed(ip);
+    }
+
+    /**
+     * Returns the delegate's pinned view; it is meant for lookups, verdicts are still reported here.
+     *
+     * @return A consistent read-only view of the delegate's data.
+     */
+    @Override
+    public BlacklistSource pinned() {
+        return delegate.pinned();
+    }
+
+    @Override
+    public long epoch() {
+        return delegate.epoch();
+    }
+
+    @Override
+    public void addChangeListener(Consumer<String> listener) {
+        delegate.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(Consumer<String> listener) {
+        delegate.removeChangeListener(listener);
+    }
+
+    /**
+     * Queues a verdict unless it repeats the last one queued for the IP or the queue stays full.
+     *
+     * @param ip The IP address checked.
+     * @param trustworthy The verdict.
+     */
+    private void submit(String ip, boolean trustworthy) {
+        if (lastQueued != null && Boolean.valueOf(trustworthy).equals(lastQueued.getIfPresent(ip))) {
+            suppressed.increment();
+            return;
+        }
+        VerdictSink.Verdict verdict = new VerdictSink.Verdict(ip, trustworthy);
+        boolean accepted;
+        try {
+            accepted = !closed && (offerTimeoutNanos == 0
+                    ? queue.offer(verdict)
+                    : queue.offer(verdict, offerTimeoutNanos, TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            dropped.increment();
+            return;
+        }
+        queued.increment();
+        if (lastQueued != null) {
+            lastQueued.put(ip, trustworthy);
+        }
+    }
+
+    /**
+     * Publisher thread: collects batches until closed and the queue is empty.
+     */
+    private void publishLoop() {
+        List<VerdictSink.Verdict> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                VerdictSink.Verdict first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    // Take whatever is already queued before waiting for more
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    VerdictSink.Verdict next = remaining > 0 && !closed
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                publish(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Interrupted while waiting for the final flush to finish: give up on the rest
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(List<VerdictSink.Verdict> batch) {
+        try {
+            sink.publish(List.copyOf(batch));
+            published.increment(batch.size());
+            batchSizes.record(batch.size());
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.log(Level.WARNING, "Failed to publish " + batch.size() + " verdicts", e);
+        }
+    }
+
+    /**
+     * Stops accepting verdicts and waits up to the shutdown timeout for the queued ones
+     * to be published.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            publisher.join(Math.max(1, shutdownTimeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (publisher.isAlive()) {
+            publisher.interrupt();
+            logger.log(Level.WARNING, "{0} verdicts were not published before shutdown", queue.size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * Per-address counters of a batch evaluated in one pass over the servers: the matching servers
+ * of each address are collected in the order the pass visits them, up to a limit, after which
+ * the address is closed and later matches are ignored. The pass may stop as soon as every
+ * address is closed. Used by a single thread.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class BatchMatches {
+
+    private final int limit;
+    private final int[][] found;
+    private final int[] counts;
+    private final boolean[] closed;
+    private int open;
+
+    /**
+     * Creates the counters of a batch, every address open unless the limit is 0.
+     *
+     * @param size The number of addresses in the batch.
+     * @param limit The number of matches after which an address is closed.
+     */
+    BatchMatches(int size, int limit) {
+        this.limit = Math.max(0, limit);
+        this.found = new int[size][];
+        this.counts = new int[size];
+        this.closed = new boolean[size];
+        if (this.limit == 0) {
+            Arrays.fill(closed, true);
+        } else {
+            this.open = size;
+        }
+    }
+
+    /**
+     * Indicates whether the address still collects matches.
+     *
+     * @param position The position of the address in the batch.
+     * @return True if the address is open.
+     */
+    boolean isOpen(int position) {
+        return !closed[position];
+    }
+
+    /**
+     * Records a match of an open address, closing it once it reaches the limit.
+     *
+     * @param position The position of the address in the batch.
+     * @param server The matching server index.
+     */
+    void add(int position, int server) {
+        int[] servers = found[position];
+        int n = counts[position];
+        if (servers == null || n == servers.length) {
+            servers = Arrays.copyOf(servers == null ? ServerSets.EMPTY : servers, Math.min(limit, Math.max(4, n * 2)));
+            found[position] = servers;
+        }
+        servers[n] = server;
+        counts[position] = n + 1;
+        if (n + 1 == limit) {
+            close(position);
+        }
+    }
+
+    /**
+     * Closes the address, keeping the matches it has, for example because no server can list it.
+     *
+     * @param position The position of the address in the batch.
+     */
+    void close(int position) {
+        if (!closed[position]) {
+            closed[position] = true;
+            open--;
+        }
+    }
+
+    /**
+     * Indicates whether every address is closed, so the pass may stop.
+     *
+     * @return True if no address collects matches any more.
+     */
+    boolean isDone() {
+        return open == 0;
+    }
+
+    /**
+     * Returns the matches collected for each address.
+     *
+     * @return For each address of the batch, its matching server indices in the order found.
+     */
+    int[][] toArrays() {
+        int[][] out = new int[found.length][];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = found[i] == null ? ServerSets.EMPTY : Arrays.copyOf(found[i], counts[i]);
+        }
+        return out;
+    }
+}
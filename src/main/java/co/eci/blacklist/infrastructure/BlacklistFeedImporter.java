@@ -0,0 +1,508 @@
+package co.eci.blacklist.infrastructure;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming importer of line-oriented blacklist feeds into the facade. Two formats are read:
+ * <ul>
+ *   <li>{@code ip,serverIndex} pairs, one per line;</li>
+ *   <li>a per-server list, one IP address per line, all for the same server.</li>
+ * </ul>
+ * In both, an address is IPv4 or IPv6 in any textual form, and an IPv4 CIDR prefix such as
+ * {@code 203.0.113.0/24} may stand for it.
+ * Blank lines and lines starting with {@code #} are skipped; malformed lines, and lines naming
+ * a server past the registered server count, are counted as rejected. Files are gzip-decompressed when they start with the gzip magic number.
+ *
+ * <p>The file is read through a channel in large chunks cut at line boundaries. Worker threads
+ * parse each chunk straight from its bytes, so address lines never become Strings, then sort the
+ * chunk's IPv4 (address, server) pairs, group them per address and add every group to the store
+ * under one write lock; IPv6 rows are added in batches as they are parsed. Chunk buffers are
+ * recycled through a bounded pool, which also caps the memory in flight when parsing falls behind
+ * reading. The feed is loaded into a new epoch of the facade, merged with the current data or
+ * replacing it, which is published only once the whole file has been read; listeners are then
+ * notified once with a bulk change.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class BlacklistFeedImporter {
+
+    private static final Logger logger = Logger.getLogger(BlacklistFeedImporter.class.getName());
+
+    private static final int CHUNK_BYTES = 4 << 20;
+    private static final int STORE_BATCH = 4096;
+
+    /**
+     * Snapshot of a running import.
+     *
+     * @param rows The rows parsed so far, rejected ones included.
+     * @param bytesRead The bytes of the file read so far (compressed bytes for gzip feeds).
+     * @param totalBytes The size of the file.
+     * @param elapsedNanos The time since the import started.
+     */
+    public record Progress(long rows, long bytesRead, long totalBytes, long elapsedNanos) {
+
+        /**
+         * Returns the parsing rate.
+         *
+         * @return Rows parsed per second.
+         */
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     *
+     * @param rows The rows read, rejected ones included.
+     * @param rejected The malformed rows that were skipped.
+     * @param elapsedNanos The duration of the import.
+     * @param epoch The data epoch published by the import.
+     */
+    public record Result(long rows, long rejected, long elapsedNanos, long epoch) {
+
+        /**
+         * Returns the import rate.
+         *
+         * @return Rows imported per second.
+         */
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1e9 / elapsedNanos;
+        }
+    }
+
+    private final HostBlackListsDataSourceFacade facade;
+    private final int parallelism;
+    private final Consumer<Progress> progressListener;
+    private final long progressIntervalNanos;
+
+    /**
+     * Constructor of the BlacklistFeedImporter class.
+     *
+     * @param facade The facade that receives the imported data.
+     * @param parallelism The number of parsing threads.
+     * @param progressListener Notified periodically while importing and once at the end.
+     * @param progressInterval The minimum time between progress notifications.
+     */
+    public BlacklistFeedImporter(HostBlackListsDataSourceFacade facade, int parallelism,
+            Consumer<Progress> progressListener, Duration progressInterval) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.facade = facade;
+        this.parallelism = parallelism;
+        this.progressListener = progressListener;
+        this.progressIntervalNanos = progressInterval.toNanos();
+    }
+
+    /**
+     * Imports a feed of {@code ip,serverIndex} lines.
+     *
+     * @param feed The feed file, optionally gzip-compressed.
+     * @return The outcome of the import.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result importPairs(Path feed) throws IOException {
+        return importFeed(feed, -1, false);
+    }
+
+    /**
+     * Replaces all the blacklist data with a feed of {@code ip,serverIndex} lines.
+     *
+     * @param feed The feed file, optionally gzip-compressed.
+     * @return The outcome of the reload.
+     * @throws IOException If the file cannot be read, in which case the data is unchanged.
+     */
+    public Result reloadPairs(Path feed) throws IOException {
+        return importFeed(feed, -1, true);
+    }
+
+    /**
+     * Imports a feed listing one IP address per line, all blacklisted on the same server.
+     *
+     * @param feed The feed file, optionally gzip-compressed.
+     * @param serverIndex The server that lists every address of the feed.
+     * @return The outcome of the import.
+     * @throws IllegalArgumentException If the server index is negative or not below the server count.
+     * @throws IOException If the file cannot be read.
+     */
+    public Result importServerList(Path feed, int serverIndex) throws IOException {
+        return importFeed(feed, requireServer(serverIndex), false);
+    }
+
+    /**
+     * Replaces all the blacklist data with a feed listing one IP address per line, all
+     * blacklisted on the same server.
+     *
+     * @param feed The feed file, optionally gzip-compressed.
+     * @param serverIndex The server that lists every address of the feed.
+     * @return The outcome of the reload.
+     * @throws IllegalArgumentException If the server index is negative or not below the server count.
+     * @throws IOException If the file cannot be read, in which case the data is unchanged.
+     */
+    public Result reloadServerList(Path feed, int serverIndex) throws IOException {
+        return importFeed(feed, requireServer(serverIndex), true);
+    }
+
+    private int requireServer(int serverIndex) {
+        if (serverIndex < 0) {
+            throw new IllegalArgumentException("Server index cannot be negative: " + serverIndex);
+        }
+        if (serverIndex >= facade.getRegisteredServersCount()) {
+            throw new IllegalArgumentException("Server index " + serverIndex + " is not below the server count "
+                    + facade.getRegisteredServersCount());
+        }
+        return serverIndex;
+    }
+
+    /**
+     * Loads the feed into a new epoch of the facade, either on top of the current data or
+     * from empty, and publishes it only if the whole file was read.
+     */
+    private Result importFeed(Path feed, int fixedServer, boolean replace) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        Consumer<HostBlackListsDataSourceFacade.Editor> load = editor -> {
+            try {
+                read(feed, fixedServer, editor, rows, rejected, start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        long epoch;
+        try {
+            epoch = replace ? facade.reload(load) : facade.update(load);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Result result = new Result(rows.get(), rejected.get(), System.nanoTime() - start, epoch);
+        logger.log(Level.INFO, "Imported {0} as epoch {1}: {2} rows ({3} rejected) at {4} rows/s",
+                new Object[]{feed, epoch, result.rows(), result.rejected(), Math.round(result.rowsPerSecond())});
+        return result;
+    }
+
+    private void read(Path feed, int fixedServer, HostBlackListsDataSourceFacade.Editor editor, AtomicLong rows,
+            AtomicLong rejected, long start) throws IOException {
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(parallelism * 2);
+        for (int i = 0; i < parallelism * 2; i++) {
+            buffers.add(new byte[CHUNK_BYTES]);
+        }
+        ExecutorService workers = ScanExecutors.newPlatformPool("blacklist-import-", parallelism, parallelism * 2);
+        List<Future<?>> pending = new ArrayList<>();
+
+        try (FileChannel file = FileChannel.open(feed, StandardOpenOption.READ);
+                ReadableByteChannel in = open(file)) {
+            long totalBytes = file.size();
+            long lastProgress = start;
+            int servers = facade.getRegisteredServersCount();
+            byte[] chunk = buffers.take();
+            int filled = 0;
+            boolean eof = false;
+            while (!eof) {
+                int read = in.read(ByteBuffer.wrap(chunk, filled, chunk.length - filled));
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    filled += read;
+                    if (filled < chunk.length) {
+                        continue;
+                    }
+                }
+
+                int end = eof ? filled : lastNewline(chunk, filled) + 1;
+                if (end == 0 && !eof) {
+                    throw new IOException("Line longer than " + CHUNK_BYTES + " bytes in " + feed);
+                }
+                byte[] next = buffers.take();
+                System.arraycopy(chunk, end, next, 0, filled - end);
+                byte[] full = chunk;
+                int length = end;
+                pending.add(workers.submit(() -> {
+                    try {
+                        parse(full, length, fixedServer, servers, editor, rows, rejected);
+                    } finally {
+                        buffers.add(full);
+                    }
+                }));
+                // Surface a failed chunk now rather than publishing the feed without it
+                for (Iterator<Future<?>> tasks = pending.iterator(); tasks.hasNext(); ) {
+                    Future<?> task = tasks.next();
+                    if (task.isDone()) {
+                        task.get();
+                        tasks.remove();
+                    }
+                }
+                filled -= end;
+                chunk = next;
+
+                long now = System.nanoTime();
+                if (now - lastProgress >= progressIntervalNanos) {
+                    lastProgress = now;
+                    progressListener.accept(new Progress(rows.get(), file.position(), totalBytes, now - start));
+                }
+            }
+            for (Future<?> task : pending) {
+                task.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            progressListener.accept(new Progress(rows.get(), totalBytes, totalBytes, elapsed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing " + feed, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Failed to import " + feed, e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static ReadableByteChannel open(FileChannel file) throws IOException {
+        InputStream raw = new BufferedInputStream(Channels.newInputStream(file), 1 << 16);
+        raw.mark(2);
+        int first = raw.read();
+        int second = raw.read();
+        raw.reset();
+        if (first == 0x1F && second == 0x8B) {
+            return Channels.newChannel(new GZIPInputStream(raw, 1 << 16));
+        }
+        return Channels.newChannel(raw);
+    }
+
+    private static int lastNewline(byte[] chunk, int filled) {
+        for (int i = filled - 1; i >= 0; i--) {
+            if (chunk[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the complete lines of a chunk and adds them to the facade.
+     */
+    private static void parse(byte[] chunk, int length, int fixedServer, int servers,
+            HostBlackListsDataSourceFacade.Editor editor, AtomicLong rows, AtomicLong rejected) {
+        long[] pairs = new long[Math.max(16, length / 16)];
+        int n = 0;
+        long[] prefixes = new long[16];
+        int[] prefixServers = new int[16];
+        int p = 0;
+        Ipv6Batch ipv6Rows = new Ipv6Batch(chunk, editor);
+        long lineCount = 0;
+        long bad = 0;
+        int pos = 0;
+        while (pos < length) {
+            int eol = pos;
+            while (eol < length && chunk[eol] != '\n') {
+                eol++;
+            }
+            int from = pos;
+            int to = eol;
+            pos = eol + 1;
+            while (from < to && isBlank(chunk[from])) {
+                from++;
+            }
+            while (to > from && isBlank(chunk[to - 1])) {
+                to--;
+            }
+            if (from == to || chunk[from] == '#') {
+                continue;
+            }
+            lineCount++;
+
+            int ipEnd = to;
+            int server = fixedServer;
+            if (fixedServer < 0) {
+                ipEnd = indexOf(chunk, from, to, (byte) ',');
+                server = ipEnd < 0 ? -1 : parseServer(chunk, ipEnd + 1, to, servers);
+                if (server < 0) {
+                    bad++;
+                    continue;
+                }
+                while (ipEnd > from && isBlank(chunk[ipEnd - 1])) {
+                    ipEnd--;
+                }
+            }
+
+            long ipv4 = Ipv4Addresses.parse(chunk, from, ipEnd);
+            if (ipv4 != Ipv4Addresses.INVALID) {
+                if (n == pairs.length) {
+                    pairs = Arrays.copyOf(pairs, n * 2);
+                }
+                pairs[n++] = ipv4 << 32 | server;
+            } else if (indexOf(chunk, from, ipEnd, (byte) '/') >= 0) {
+                long prefix = Ipv4Addresses.parsePrefix(chunk, from, ipEnd);
+                if (prefix == Ipv4Addresses.INVALID) {
+                    bad++;
+                    continue;
+                }
+                if (p == prefixes.length) {
+                    prefixes = Arrays.copyOf(prefixes, p * 2);
+                    prefixServers = Arrays.copyOf(prefixServers, p * 2);
+                }
+                prefixes[p] = prefix;
+                prefixServers[p++] = server;
+            } else if (!ipv6Rows.add(from, ipEnd, server)) {
+                bad++;
+            }
+        }
+        store(pairs, n, editor);
+        ipv6Rows.flush();
+        if (p > 0) {
+            editor.addIpv4Prefixes(prefixes, prefixServers, p);
+        }
+        rows.addAndGet(lineCount);
+        rejected.addAndGet(bad);
+    }
+
+    /**
+     * Groups the packed (address, server) pairs per address and adds them in batches.
+     */
+    private static void store(long[] pairs, int n, HostBlackListsDataSourceFacade.Editor editor) {
+        Arrays.sort(pairs, 0, n);
+        int[] ips = new int[Math.min(n, STORE_BATCH)];
+        int[][] sets = new int[ips.length][];
+        int batched = 0;
+        int i = 0;
+        while (i < n) {
+            int ip = (int) (pairs[i] >>> 32);
+            int j = i;
+            while (j < n && (int) (pairs[j] >>> 32) == ip) {
+                j++;
+            }
+            int[] servers = new int[j - i];
+            int distinct = 0;
+            for (int k = i; k < j; k++) {
+                int server = (int) pairs[k];
+                if (distinct == 0 || servers[distinct - 1] != server) {
+                    servers[distinct++] = server;
+                }
+            }
+            ips[batched] = ip;
+            sets[batched++] = distinct == servers.length ? servers : Arrays.copyOf(servers, distinct);
+            if (batched == ips.length) {
+                editor.addIpv4All(ips, sets, batched);
+                batched = 0;
+            }
+            i = j;
+        }
+        if (batched > 0) {
+            editor.addIpv4All(ips, sets, batched);
+        }
+    }
+
+    /**
+     * Parses the IPv6 rows of a chunk in place and adds them to the editor in batches. Repeated
+     * addresses are merged by the store, so rows are not grouped first.
+     */
+    private static final class Ipv6Batch {
+
+        private final byte[] chunk;
+        private final HostBlackListsDataSourceFacade.Editor editor;
+        private final long[] address = new long[2];
+        private long[] his = new long[0];
+        private long[] los = new long[0];
+        private int[][] sets = new int[0][];
+        private int n;
+
+        Ipv6Batch(byte[] chunk, HostBlackListsDataSourceFacade.Editor editor) {
+            this.chunk = chunk;
+            this.editor = editor;
+        }
+
+        /**
+         * Parses the address in the given range of the chunk and queues it with its server.
+         *
+         * @return True if the range is an IPv6 address, false otherwise.
+         */
+        boolean add(int from, int to, int server) {
+            if (!Ipv6Addresses.parse(chunk, from, to, address)) {
+                return false;
+            }
+            if (n == his.length) {
+                int capacity = Math.min(STORE_BATCH, Math.max(16, n * 2));
+                his = Arrays.copyOf(his, capacity);
+                los = Arrays.copyOf(los, capacity);
+                sets = Arrays.copyOf(sets, capacity);
+            }
+            his[n] = address[0];
+            los[n] = address[1];
+            sets[n++] = new int[]{server};
+            if (n == STORE_BATCH) {
+                flush();
+            }
+            return true;
+        }
+
+        void flush() {
+            if (n > 0) {
+                editor.addIpv6All(his, los, sets, n);
+                n = 0;
+            }
+        }
+    }
+
+    /**
+     * Parses a server index, returning -1 unless it is a decimal number below {@code servers}.
+     */
+    private static int parseServer(byte[] chunk, int from, int to, int servers) {
+        while (from < to && isBlank(chunk[from])) {
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            byte c = chunk[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value >= servers ? -1 : (int) value;
+    }
+
+    private static int indexOf(byte[] chunk, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (chunk[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
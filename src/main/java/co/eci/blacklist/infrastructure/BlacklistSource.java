@@ -0,0 +1,200 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Service provider interface for the blacklist servers queried by the checker.
+ * Only the per-server lookup and the reports are mandatory; the bulk queries default to
+ * a sequential scan and should be overridden by sources that keep an index.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public interface BlacklistSource {
+
+    /**
+     * Returns the total number of registered servers.
+     *
+     * @return The count of registered servers.
+     */
+    int getRegisteredServersCount();
+
+    /**
+     * Checks if the given IP address is blacklisted on the specified server.
+     *
+     * @param serverIndex The index of the server to check.
+     * @param ip The IP address to verify.
+     * @return True if the IP is blacklisted on the server, false otherwise.
+     */
+    boolean isInBlackListServer(int serverIndex, String ip);
+
+    /**
+     * Resolves the given IP address once for a scan that then asks server after server whether
+     * it lists the address. The default probe calls {@link #isInBlackListServer(int, String)} for
+     * every server; sources that parse or look up the address on each call override it, so the
+     * scan neither repeats that work nor allocates per server. A probe of a pinned view answers
+     * from that view.
+     *
+     * @param ip The IP address to verify.
+     * @return A predicate that is true for the server indices listing the address.
+     */
+    default IntPredicate probe(String ip) {
+        return serverIndex -> isInBlackListServer(serverIndex, ip);
+    }
+
+    /**
+     * Reports the given IP address as trustworthy.
+     *
+     * @param ip The IP address to report.
+     */
+    void reportAsTrustworthy(String ip);
+
+    /**
+     * Reports the given IP address as not trustworthy.
+     *
+     * @param ip The IP address to report.
+     */
+    void reportAsNotTrustworthy(String ip);
+
+    /**
+     * Indicates whether the bulk queries are answered from an index rather than by scanning,
+     * so the checker may resolve a verdict with a single call.
+     *
+     * @return True if bulk queries are cheap, false otherwise.
+     */
+    default boolean supportsBulkLookup() {
+        return false;
+    }
+
+    /**
+     * Indicates whether {@link #getFirstMatches(List, int)} is answered from a server-major index
+     * rather than by asking server after server, so a whole batch may be resolved in one call.
+     *
+     * @return True if batch queries are cheap, false otherwise.
+     */
+    default boolean supportsServerMajorLookup() {
+        return false;
+    }
+
+    /**
+     * Returns every server index where the given IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @return The server indices in ascending order, or an empty array if not found.
+     */
+    default int[] getMatches(String ip) {
+        return getFirstMatches(ip, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the lowest server indices where the given IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @param limit The maximum number of indices to return.
+     * @return Up to {@code limit} server indices in ascending order.
+     */
+    default int[] getFirstMatches(String ip, int limit) {
+        int[] found = new int[Math.min(Math.max(limit, 0), 16)];
+        int n = 0;
+        for (int s = 0, total = getRegisteredServersCount(); s < total && n < limit; s++) {
+            if (isInBlackListServer(s, ip)) {
+                if (n == found.length) {
+                    found = Arrays.copyOf(found, n * 2);
+                }
+                found[n++] = s;
+            }
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    /**
+     * Returns the lowest server indices where each IP address of a batch is blacklisted, found in
+     * one pass over the servers that asks each server about every address still below the limit,
+     * rather than one scan per address. Sources with a server-major index should override it.
+     *
+     * @param ips The IP addresses to check.
+     * @param limit The maximum number of indices to return per address.
+     * @return For each address, in the order given, up to {@code limit} server indices in ascending order.
+     */
+    default int[][] getFirstMatches(List<String> ips, int limit) {
+        BatchMatches matches = new BatchMatches(ips.size(), limit);
+        for (int s = 0, total = getRegisteredServersCount(); s < total && !matches.isDone(); s++) {
+            for (int i = 0; i < ips.size(); i++) {
+                if (matches.isOpen(i) && isInBlackListServer(s, ips.get(i))) {
+                    matches.add(i, s);
+                }
+            }
+        }
+        return matches.toArrays();
+    }
+
+    /**
+     * Counts the servers in the range {@code [fromServer, toServer)} where the IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @param fromServer The first server index, inclusive.
+     * @param toServer The last server index, exclusive.
+     * @return The number of matching servers in the range.
+     */
+    default int countMatches(String ip, int fromServer, int toServer) {
+        int count = 0;
+        for (int s = Math.max(0, fromServer), end = Math.min(toServer, getRegisteredServersCount()); s < end; s++) {
+            if (isInBlackListServer(s, ip)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Indicates whether the IP address may be listed on any server. A false answer is definite,
+     * so the caller may conclude that the address is clean without querying a single server;
+     * a true answer may be a false positive. It must be cheap compared with a server query.
+     *
+     * @param ip The IP address to check.
+     * @return False if no server lists the address, true if some server might.
+     */
+    default boolean mightBeListed(String ip) {
+        return true;
+    }
+
+    /**
+     * Returns a view of the data as it is now, unaffected by later updates, so that all the
+     * lookups of one check see the same version. Sources whose data is immutable, or that
+     * cannot offer such a view, return themselves.
+     *
+     * @return A consistent read-only view of the current data.
+     */
+    default BlacklistSource pinned() {
+        return this;
+    }
+
+    /**
+     * Returns the version of the data answered by this source, increased on every update.
+     *
+     * @return The data epoch, or 0 for sources that are never updated.
+     */
+    default long epoch() {
+        return 0L;
+    }
+
+    /**
+     * Registers a listener notified with the IP address after its data changes, or with null
+     * after a bulk change that may affect any address. Sources whose data never changes may ignore it.
+     *
+     * @param listener The listener to notify.
+     */
+    default void addChangeListener(Consumer<String> listener) {
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     *
+     * @param listener The listener to remove.
+     */
+    default void removeChangeListener(Consumer<String> listener) {
+    }
+}
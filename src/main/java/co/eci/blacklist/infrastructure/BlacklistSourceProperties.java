@@ -0,0 +1,217 @@
+package co.eci.blacklist.infrastructure;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the blacklist source used by the checker.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.source")
+public class BlacklistSourceProperties {
+
+    /**
+     * Kind of source behind the checker.
+     */
+    public enum Type {
+        /** The in-memory facade, answering every lookup from the heap. */
+        IN_MEMORY,
+        /** The in-memory facade behind simulated per-server network latency. */
+        SIMULATED_REMOTE,
+        /** A binary snapshot memory-mapped read-only from {@code snapshot-path}. */
+        SNAPSHOT
+    }
+
+    /**
+     * Shape of the simulated latency of one server lookup.
+     */
+    public enum Distribution {
+        /** Every lookup takes the mean. */
+        FIXED,
+        /** Gaussian around the mean with the configured standard deviation. */
+        NORMAL,
+        /** Pareto scaled to the configured mean: most lookups are fast, a few are very slow. */
+        LONG_TAIL
+    }
+
+    /** Source type. Default value is IN_MEMORY. */
+    private Type type = Type.IN_MEMORY;
+
+    /** Snapshot file mapped by the SNAPSHOT source. */
+    private Path snapshotPath;
+
+    /** Latency simulated by the SIMULATED_REMOTE source. */
+    private final Latency latency = new Latency();
+
+    /**
+     * Returns the source type.
+     *
+     * @return The configured source type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Sets the source type.
+     *
+     * @param type The source type.
+     */
+    public void setType(Type type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Source type cannot be null");
+        }
+        this.type = type;
+    }
+
+    /**
+     * Returns the snapshot file mapped by the SNAPSHOT source.
+     *
+     * @return The snapshot path, or null if not configured.
+     */
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets the snapshot file mapped by the SNAPSHOT source.
+     *
+     * @param snapshotPath The snapshot path.
+     */
+    public void setSnapshotPath(Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Returns the latency configuration.
+     *
+     * @return The latency configuration.
+     */
+    public Latency getLatency() {
+        return latency;
+    }
+
+    /**
+     * Latency simulated for each server lookup.
+     */
+    public static class Latency {
+
+        /** Distribution of the lookup latency. Default value is FIXED. */
+        private Distribution distribution = Distribution.FIXED;
+
+        /**
+         * Mean latency of every distribution; LONG_TAIL derives its Pareto scale from it as
+         * mean * (tailShape - 1) / tailShape. Default value is 100 microseconds.
+         */
+        private Duration mean = Duration.ofNanos(100_000);
+
+        /** Standard deviation for NORMAL. Default value is 30 microseconds. */
+        private Duration stdDev = Duration.ofNanos(30_000);
+
+        /** Pareto shape for LONG_TAIL; smaller values give heavier tails. Default value is 1.5. */
+        private double tailShape = 1.5;
+
+        /** Probability that a lookup stalls. Default value is 0. */
+        private double stallProbability = 0.0;
+
+        /** Extra latency of a stalled lookup. Default value is 50 milliseconds. */
+        private Duration stallDuration = Duration.ofMillis(50);
+
+        /** Fraction of servers that are consistently slower than the rest. Default value is 0. */
+        private double slowServerRatio = 0.0;
+
+        /** Latency multiplier of the slow servers. Default value is 10. */
+        private double slowServerFactor = 10.0;
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(Distribution distribution) {
+            if (distribution == null) {
+                throw new IllegalArgumentException("Latency distribution cannot be null");
+            }
+            this.distribution = distribution;
+        }
+
+        public Duration getMean() {
+            return mean;
+        }
+
+        public void setMean(Duration mean) {
+            this.mean = requireNonNegative(mean, "Mean latency");
+        }
+
+        public Duration getStdDev() {
+            return stdDev;
+        }
+
+        public void setStdDev(Duration stdDev) {
+            this.stdDev = requireNonNegative(stdDev, "Latency standard deviation");
+        }
+
+        public double getTailShape() {
+            return tailShape;
+        }
+
+        public void setTailShape(double tailShape) {
+            if (tailShape <= 1.0) {
+                throw new IllegalArgumentException("Tail shape must be greater than 1");
+            }
+            this.tailShape = tailShape;
+        }
+
+        public double getStallProbability() {
+            return stallProbability;
+        }
+
+        public void setStallProbability(double stallProbability) {
+            this.stallProbability = requireProbability(stallProbability, "Stall probability");
+        }
+
+        public Duration getStallDuration() {
+            return stallDuration;
+        }
+
+        public void setStallDuration(Duration stallDuration) {
+            this.stallDuration = requireNonNegative(stallDuration, "Stall duration");
+        }
+
+        public double getSlowServerRatio() {
+            return slowServerRatio;
+        }
+
+        public void setSlowServerRatio(double slowServerRatio) {
+            this.slowServerRatio = requireProbability(slowServerRatio, "Slow server ratio");
+        }
+
+        public double getSlowServerFactor() {
+            return slowServerFactor;
+        }
+
+        public void setSlowServerFactor(double slowServerFactor) {
+            if (slowServerFactor < 1.0) {
+                throw new IllegalArgumentException("Slow server factor cannot be less than 1");
+            }
+            this.slowServerFactor = slowServerFactor;
+        }
+
+        private static Duration requireNonNegative(Duration value, String name) {
+            if (value == null || value.isNegative()) {
+                throw new IllegalArgumentException(name + " cannot be negative");
+            }
+            return value;
+        }
+
+        private static double requireProbability(double value, String name) {
+            if (value < 0.0 || value > 1.0) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Micrometer meters of the blacklist checker. Meters are resolved once, so recording a check
+ * is a handful of field reads; workers only touch the segment timer and the active gauge,
+ * never the per-server loop.
+ *
+ * <ul>
+ *   <li>{@code blacklist.check.duration} - check latency with percentiles, tagged by verdict and lookup
+ *       ({@code scan}, {@code indexed}, {@code filter} for IPs ruled out by the negative filter,
+ *       or {@code batch} for IPs resolved together in one pass over the servers);
+ *       checks cut short by a deadline or cancellation use the verdict {@code partial}</li>
+ *   <li>{@code blacklist.check.servers.checked} - servers checked per request</li>
+ *   <li>{@code blacklist.check.early.stops} - checks that stopped before the last server;
+ *       divided by the duration count it gives the early-stop ratio</li>
+ *   <li>{@code blacklist.check.threads} - threads requested per check</li>
+ *   <li>{@code blacklist.workers.active} - segments currently being scanned</li>
+ *   <li>{@code blacklist.segment.duration} - time to scan one segment</li>
+ * </ul>
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public class CheckMetrics {
+
+    private final Timer trustworthyScan;
+    private final Timer untrustworthyScan;
+    private final Timer trustworthyIndexed;
+    private final Timer untrustworthyIndexed;
+    private final Timer trustworthyFiltered;
+    private final Timer trustworthyBatch;
+    private final Timer untrustworthyBatch;
+    private final Timer partialScan;
+    private final DistributionSummary serversChecked;
+    private final Counter earlyStops;
+    private final DistributionSummary threads;
+    private final Timer segmentDuration;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    /**
+     * Constructor of the CheckMetrics class.
+     *
+     * @param registry The registry where the meters are published.
+     */
+    public CheckMetrics(MeterRegistry registry) {
+        this.trustworthyScan = checkTimer(registry, "trustworthy", "scan");
+        this.untrustworthyScan = checkTimer(registry, "untrustworthy", "scan");
+        this.trustworthyIndexed = checkTimer(registry, "trustworthy", "indexed");
+        this.untrustworthyIndexed = checkTimer(registry, "untrustworthy", "indexed");
+        this.trustworthyFiltered = checkTimer(registry, "trustworthy", "filter");
+        this.trustworthyBatch = checkTimer(registry, "trustworthy", "batch");
+        this.untrustworthyBatch = checkTimer(registry, "untrustworthy", "batch");
+        this.partialScan = checkTimer(registry, "partial", "scan");
+        this.serversChecked = DistributionSummary.builder("blacklist.check.servers.checked")
+                .description("Servers checked per request")
+                .baseUnit("servers")
+                .publishPercentiles(0.5, 0.95)
+                .register(registry);
+        this.earlyStops = Counter.builder("blacklist.check.early.stops")
+                .description("Checks that reached the alarm threshold before the last server")
+                .register(registry);
+        this.threads = DistributionSummary.builder("blacklist.check.threads")
+                .description("Threads requested per check")
+                .baseUnit("threads")
+                .register(registry);
+        this.segmentDuration = Timer.builder("blacklist.segment.duration")
+                .description("Time to scan one segment of servers")
+                .register(registry);
+        Gauge.builder("blacklist.workers.active", activeWorkers, AtomicInteger::get)
+                .description("Segments currently being scanned")
+                .register(registry);
+    }
+
+    /**
+     * Returns metrics that record nothing, for checkers built outside the application context.
+     *
+     * @return Metrics bound to an empty composite registry.
+     */
+    public static CheckMetrics noop() {
+        return new CheckMetrics(new CompositeMeterRegistry());
+    }
+
+    private static Timer checkTimer(MeterRegistry registry, String verdict, String lookup) {
+        return Timer.builder("blacklist.check.duration")
+                .description("Latency of a blacklist check")
+                .tag("verdict", verdict)
+                .tag("lookup", lookup)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Records a finished check.
+     *
+     * @param trustworthy The verdict.
+     * @param indexed Whether the verdict came from the index rather than a scan.
+     * @param checkedServers The number of servers checked.
+     * @param totalServers The number of registered servers.
+     * @param threadCount The number of threads requested.
+     * @param elapsedNanos The duration of the check.
+     */
+    public void recordCheck(boolean trustworthy, boolean indexed, int checkedServers, int totalServers,
+            int threadCount, long elapsedNanos) {
+        Timer timer = indexed
+                ? (trustworthy ? trustworthyIndexed : untrustworthyIndexed)
+                : (trustworthy ? trustworthyScan : untrustworthyScan);
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        serversChecked.record(checkedServers);
+        threads.record(threadCount);
+        if (checkedServers < totalServers) {
+            earlyStops.increment();
+        }
+    }
+
+    /**
+     * Records the check of one IP of a batch resolved in a single pass over the servers.
+     *
+     * @param trustworthy The verdict.
+     * @param checkedServers The number of servers checked for the IP.
+     * @param totalServers The number of registered servers.
+     * @param threadCount The number of threads requested.
+     * @param elapsedNanos The duration of the pass.
+     */
+    public void recordBatchCheck(boolean trustworthy, int checkedServers, int totalServers, int threadCount,
+            long elapsedNanos) {
+        (trustworthy ? trustworthyBatch : untrustworthyBatch).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        serversChecked.record(checkedServers);
+        threads.record(threadCount);
+        if (checkedServers < totalServers) {
+            earlyStops.increment();
+        }
+    }
+
+    /**
+     * Records a check resolved as trustworthy by the negative filter, without any lookup.
+     *
+     * @param totalServers The number of registered servers, all ruled out.
+     * @param threadCount The number of threads requested.
+     * @param elapsedNanos The duration of the check.
+     */
+    public void recordFiltered(int totalServers, int threadCount, long elapsedNanos) {
+        trustworthyFiltered.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        serversChecked.record(totalServers);
+        threads.record(threadCount);
+    }
+
+    /**
+     * Records a check cut short by its deadline or a cancellation before reaching a verdict.
+     *
+     * @param checkedServers The number of servers checked.
+     * @param threadCount The number of threads requested.
+     * @param elapsedNanos The duration of the check.
+     */
+    public void recordPartial(int checkedServers, int threadCount, long elapsedNanos) {
+        partialScan.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        serversChecked.record(checkedServers);
+        threads.record(threadCount);
+    }
+
+    /**
+     * Marks a segment as started.
+     *
+     * @return The start timestamp to pass to {@link #segmentFinished(long)}.
+     */
+    public long segmentStarted() {
+        activeWorkers.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks a segment as finished and records its duration.
+     *
+     * @param startNanos The timestamp returned by {@link #segmentStarted()}.
+     */
+    public void segmentFinished(long startNanos) {
+        segmentDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        activeWorkers.decrementAndGet();
+    }
+}
@@ -0,0 +1,204 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable, compressed set of non-negative ints in the layout of a Roaring bitmap: values are
+ * grouped by their high 16 bits into containers, and each container holds the low 16 bits
+ * either as a sorted {@code char[]} (up to {@value #ARRAY_MAX} values, two bytes each) or as a
+ * 65536-bit bitmap, whichever is smaller. Sparse and dense ranges both stay compact, and an
+ * intersection only visits the containers the two sets share.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class CompressedBitmap {
+
+    /** Shared empty set. */
+    static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new char[0][], new long[0][], 0);
+
+    /** Largest container kept as a sorted array; past it a bitmap takes less space. */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private final char[] highs;
+    private final char[][] arrays;
+    private final long[][] bitmaps;
+    private final int cardinality;
+
+    private CompressedBitmap(char[] highs, char[][] arrays, long[][] bitmaps, int cardinality) {
+        this.highs = highs;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Builds the set of the first {@code n} values of a sorted array.
+     *
+     * @param sorted The values, non-negative, sorted and distinct.
+     * @param n The number of values to take.
+     * @return The set.
+     */
+    static CompressedBitmap of(int[] sorted, int n) {
+        if (n == 0) {
+            return EMPTY;
+        }
+        int containers = 1;
+        for (int i = 1; i < n; i++) {
+            if (sorted[i] >>> 16 != sorted[i - 1] >>> 16) {
+                containers++;
+            }
+        }
+        char[] highs = new char[containers];
+        char[][] arrays = new char[containers][];
+        long[][] bitmaps = new long[containers][];
+        int c = 0;
+        for (int from = 0; from < n; c++) {
+            int high = sorted[from] >>> 16;
+            int to = from + 1;
+            while (to < n && sorted[to] >>> 16 == high) {
+                to++;
+            }
+            highs[c] = (char) high;
+            if (to - from <= ARRAY_MAX) {
+                char[] lows = new char[to - from];
+                for (int i = from; i < to; i++) {
+                    lows[i - from] = (char) sorted[i];
+                }
+                arrays[c] = lows;
+            } else {
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = from; i < to; i++) {
+                    words[(sorted[i] & 0xFFFF) >>> 6] |= 1L << sorted[i];
+                }
+                bitmaps[c] = words;
+            }
+            from = to;
+        }
+        return new CompressedBitmap(highs, arrays, bitmaps, n);
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return The cardinality.
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Tests whether the value is in the set.
+     *
+     * @param value The value.
+     * @return True if the value is present, false otherwise.
+     */
+    boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int c = Arrays.binarySearch(highs, (char) (value >>> 16));
+        if (c < 0) {
+            return false;
+        }
+        char low = (char) value;
+        return arrays[c] != null
+                ? Arrays.binarySearch(arrays[c], low) >= 0
+                : (bitmaps[c][low >>> 6] & 1L << low) != 0;
+    }
+
+    /**
+     * Passes every value present in both sets to the action, in ascending order, without
+     * allocating. The containers of the set with fewer of them are looked up in the other.
+     *
+     * @param other The other set.
+     * @param action The action receiving each common value.
+     */
+    void forEachCommon(CompressedBitmap other, IntConsumer action) {
+        CompressedBitmap small = highs.length <= other.highs.length ? this : other;
+        CompressedBitmap large = small == this ? other : this;
+        int from = 0;
+        for (int i = 0; i < small.highs.length && from < large.highs.length; i++) {
+            int j = Arrays.binarySearch(large.highs, from, large.highs.length, small.highs[i]);
+            if (j < 0) {
+                from = -j - 1;
+                continue;
+            }
+            from = j + 1;
+            int base = small.highs[i] << 16;
+            char[] a = small.arrays[i];
+            char[] b = large.arrays[j];
+            if (a != null && b != null) {
+                intersect(a, b, base, action);
+            } else if (a != null) {
+                intersect(a, large.bitmaps[j], base, action);
+            } else if (b != null) {
+                intersect(b, small.bitmaps[i], base, action);
+            } else {
+                intersect(small.bitmaps[i], large.bitmaps[j], base, action);
+            }
+        }
+    }
+
+    /**
+     * Returns the approximate memory held by the containers.
+     *
+     * @return The size in bytes.
+     */
+    long sizeBytes() {
+        long bytes = (long) highs.length * (Character.BYTES + 2L * Integer.BYTES);
+        for (int c = 0; c < highs.length; c++) {
+            bytes += arrays[c] != null ? (long) arrays[c].length * Character.BYTES : (long) BITMAP_WORDS * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private static void intersect(char[] a, char[] b, int base, IntConsumer action) {
+        char[] small = a.length <= b.length ? a : b;
+        char[] large = small == a ? b : a;
+        if (small.length * 16 < large.length) {
+            // Far apart in size: search each value of the smaller array in the rest of the larger
+            int from = 0;
+            for (int i = 0; i < small.length && from < large.length; i++) {
+                int j = Arrays.binarySearch(large, from, large.length, small[i]);
+                if (j >= 0) {
+                    action.accept(base | small[i]);
+                    from = j + 1;
+                } else {
+                    from = -j - 1;
+                }
+            }
+            return;
+        }
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                action.accept(base | a[i]);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private static void intersect(char[] lows, long[] words, int base, IntConsumer action) {
+        for (char low : lows) {
+            if ((words[low >>> 6] & 1L << low) != 0) {
+                action.accept(base | low);
+            }
+        }
+    }
+
+    private static void intersect(long[] a, long[] b, int base, IntConsumer action) {
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            for (long word = a[w] & b[w]; word != 0; word &= word - 1) {
+                action.accept(base | w << 6 | Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package co.eci.blacklist.infrastructure;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import co.eci.blacklist.application.BatchProperties;
+import co.eci.blacklist.application.StreamProperties;
 import co.eci.blacklist.domain.BlacklistChecker;
 import co.eci.blacklist.domain.Policies;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * Spring Configuration class for infrastructure layer dependency injection.
@@ -15,24 +27,158 @@ import org.springframework.context.annotation.Configuration;
 public class DataSourceConfig {
 
     /**
-     * Provides the singleton instance of the blacklist data source facade.
+     * Provides the singleton instance of the blacklist data source facade. When the checker
+     * resolves clean IPs from the negative filter, the facade maintains it, published as gauges:
+     * <ul>
+     *   <li>{@code blacklist.filter.size} - size of the filter's bit array</li>
+     *   <li>{@code blacklist.filter.insertions} - addresses added since the filter was last built</li>
+     *   <li>{@code blacklist.filter.false.positive.rate} - rate estimated from the bits set</li>
+     *   <li>{@code blacklist.filter.false.positive.rate.target} - configured rate</li>
+     * </ul>
      *
+     * @param policies The checker policies, which tell whether the filter is used.
+     * @param filterProperties The negative filter configuration.
+     * @param registry The registry where the filter gauges are published.
      * @return The singleton HostBlackListsDataSourceFacade instance.
      */
     @Bean
-    public HostBlackListsDataSourceFacade hostBlackListsDataSourceFacade() {
-        return HostBlackListsDataSourceFacade.getInstance();
+    public HostBlackListsDataSourceFacade hostBlackListsDataSourceFacade(Policies policies,
+            NegativeFilterProperties filterProperties, MeterRegistry registry) {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        facade.setNegativeFilterRate(policies.isNegativeLookup() ? filterProperties.getFalsePositiveRate() : 0.0);
+        Gauge.builder("blacklist.filter.size", facade, HostBlackListsDataSourceFacade::negativeFilterSizeBytes)
+                .description("Size of the negative filter's bit array")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("blacklist.filter.insertions", facade, HostBlackListsDataSourceFacade::negativeFilterInsertions)
+                .description("Addresses added to the negative filter since it was last built")
+                .register(registry);
+        Gauge.builder("blacklist.filter.false.positive.rate", facade,
+                        HostBlackListsDataSourceFacade::negativeFilterEstimatedRate)
+                .description("False-positive rate of the negative filter, estimated from the bits set")
+                .register(registry);
+        Gauge.builder("blacklist.filter.false.positive.rate.target", facade,
+                        HostBlackListsDataSourceFacade::getNegativeFilterRate)
+                .description("Configured false-positive rate of the negative filter")
+                .register(registry);
+        return facade;
+    }
+
+    /**
+     * Provides the blacklist source queried by the checker: the in-memory facade itself,
+     * the facade behind simulated remote latency, or a memory-mapped snapshot, optionally
+     * with its verdicts reported asynchronously. The reporting pipeline is flushed when the
+     * context closes.
+     *
+     * @param facade The in-memory facade holding the blacklist data.
+     * @param properties The source configuration.
+     * @param reportingProperties The reporting pipeline configuration.
+     * @param registry The registry where the reporting metrics are published.
+     * @return The configured BlacklistSource.
+     */
+    @Bean
+    @Primary
+    public BlacklistSource blacklistSource(HostBlackListsDataSourceFacade facade, BlacklistSourceProperties properties,
+            ReportingProperties reportingProperties, MeterRegistry registry) {
+        BlacklistSource source = switch (properties.getType()) {
+            case IN_MEMORY -> facade;
+            case SIMULATED_REMOTE -> new SimulatedRemoteBlacklistSource(facade, properties.getLatency());
+            case SNAPSHOT -> openSnapshot(properties);
+        };
+        if (!reportingProperties.isAsync()) {
+            return source;
+        }
+        return new AsyncReportingBlacklistSource(source, VerdictSink.forwardingTo(source), reportingProperties,
+                registry);
+    }
+
+    private static BlacklistSource openSnapshot(BlacklistSourceProperties properties) {
+        if (properties.getSnapshotPath() == null) {
+            throw new IllegalStateException("blacklist.source.snapshot-path is required for the snapshot source");
+        }
+        try {
+            return MappedBlacklistSnapshot.open(properties.getSnapshotPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map blacklist snapshot " + properties.getSnapshotPath(), e);
+        }
+    }
+
+    /**
+     * Provides the shared executor that runs the segments of every blacklist scan.
+     *
+     * @param properties The executor configuration.
+     * @return The executor, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blacklistScanExecutor(ScanExecutorProperties properties) {
+        return ScanExecutors.create(properties);
+    }
+
+    /**
+     * Provides the executor that evaluates the IP addresses of a batch request concurrently.
+     * It is separate from the scan executor so that batch tasks never wait on segments
+     * queued behind them in the same pool.
+     *
+     * @param properties The batch configuration.
+     * @return The executor, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blacklistBatchExecutor(BatchProperties properties) {
+        return ScanExecutors.newPlatformPool("blacklist-batch-", properties.getEffectiveParallelism(),
+                properties.getMaxSize());
+    }
+
+    /**
+     * Provides the executor that runs streaming checks. Streams stay open for the whole scan,
+     * so they get their own bounded pool rather than the batch one; a stream that finds the
+     * pool and its queue full is refused instead of running on the request thread.
+     *
+     * @param properties The streaming configuration.
+     * @return The executor, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blacklistStreamExecutor(StreamProperties properties) {
+        return ScanExecutors.newRejectingPool("blacklist-stream-", properties.getMaxConcurrent(),
+                properties.getQueueCapacity());
+    }
+
+    /**
+     * Provides the scheduler that emits periodic progress events of streaming checks.
+     *
+     * @return The scheduler, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService blacklistStreamScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "blacklist-stream-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Provides the meters of the blacklist checker.
+     *
+     * @param registry The registry exposed at /actuator/prometheus.
+     * @return The checker metrics.
+     */
+    @Bean
+    public CheckMetrics checkMetrics(MeterRegistry registry) {
+        return new CheckMetrics(registry);
     }
 
     /**
      * Creates and configures the main blacklist checking service.
      *
-     * @param facade The data source facade providing access to blacklist servers.
+     * @param source The source providing access to blacklist servers.
      * @param policies The configuration policies including alarm count threshold.
+     * @param blacklistScanExecutor The executor that runs the scan segments.
+     * @param checkMetrics The meters recording every check.
      * @return A fully configured BlacklistChecker instance.
      */
     @Bean
-    public BlacklistChecker blacklistChecker(HostBlackListsDataSourceFacade facade, Policies policies) {
-        return new BlacklistChecker(facade, policies);
+    public BlacklistChecker blacklistChecker(BlacklistSource source, Policies policies,
+            @Qualifier("blacklistScanExecutor") ExecutorService blacklistScanExecutor, CheckMetrics checkMetrics) {
+        return new BlacklistChecker(source, policies, blacklistScanExecutor, checkMetrics);
     }
 }
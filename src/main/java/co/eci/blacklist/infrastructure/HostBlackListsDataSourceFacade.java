@@ -1,9 +1,11 @@
 package co.eci.blacklist.infrastructure;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -11,20 +13,45 @@ import java.util.logging.Logger;
  * Simplified, thread-safe facade inspired by the ARSW lab.
  * In the original lab this class is provided and should not be modified.
  * Here we provide a minimal in-memory implementation suitable for the REST service and tests.
+ * Each IP maps to a compact set of the servers that list it, so all matches of an IP can be
+ * resolved with a single lookup instead of one query per server. IPv4 addresses are keyed
+ * by their packed {@code int} value in a primitive store; the String API is a thin adapter.
+ * Whole IPv4 networks are listed as CIDR prefixes ({@code 203.0.113.0/24}) in a compressed
+ * trie, and an address is listed on a server if its exact entry or any covering prefix is.
+ * IPv6 addresses are canonicalized and keyed by their two 64-bit halves in a second primitive
+ * store, so every textual form of an address finds the same entry. Optionally, a Bloom filter
+ * over every listed address rules clean addresses out before any lookup (see
+ * {@link #setNegativeFilterRate(double)}). Batches are answered from a server-major index of
+ * the same data, a compressed bitmap of address ids per server, built on the first batch
+ * against an epoch.
+ *
+ * <p>The data is published as immutable, numbered epochs. Updates copy the current epoch,
+ * apply their changes to the copy off the read path and swap it in atomically, so readers
+ * never take a lock and a check that {@linkplain #pinned() pins} an epoch sees every
+ * server of one version. Each update copies the whole table; callers changing many
+ * addresses should group them in one {@link #update(Consumer)}.
  */
-public final class HostBlackListsDataSourceFacade {
+public final class HostBlackListsDataSourceFacade implements BlacklistSource {
 
     private static final Logger logger = Logger.getLogger(HostBlackListsDataSourceFacade.class.getName());
     private static final HostBlackListsDataSourceFacade INSTANCE = new HostBlackListsDataSourceFacade();
 
+    /** Smallest number of addresses a negative filter is sized for. */
+    private static final int MIN_FILTER_CAPACITY = 1024;
+
     private final int registeredServersCount;
-    private final ConcurrentMap<String, Set<Integer>> blacklistedByIp = new ConcurrentHashMap<>();
+    private final Object updateLock = new Object();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile Epoch current;
+    private volatile double negativeFilterRate;
 
     private HostBlackListsDataSourceFacade() {
         this.registeredServersCount = 10_000;
+        this.current = new Epoch(0L, new Ipv4BlacklistStore(), Ipv4PrefixTrie.EMPTY, new Ipv6BlacklistStore(), null);
         // Seed some deterministic data for demo purposes
-        seed("200.24.34.55", List.of(0,1,2,3,4,5,6,7,8,9)); // concentrated early
-        seed("202.24.34.55", List.of(5,111,999,2048,4096,8191)); // dispersed
+        update(editor -> editor
+                .seed("200.24.34.55", List.of(0,1,2,3,4,5,6,7,8,9)) // concentrated early
+                .seed("202.24.34.55", List.of(5,111,999,2048,4096,8191))); // dispersed
         // 212.24.24.55 intentionally not seeded - no matches (worst case scenario)
     }
 
@@ -42,6 +69,7 @@ public final class HostBlackListsDataSourceFacade {
      *
      * @return The count of registered servers.
      */
+    @Override
     public int getRegisteredServersCount() {
         return registeredServersCount;
     }
@@ -53,17 +81,207 @@ public final class HostBlackListsDataSourceFacade {
      * @param ip The IP address to verify.
      * @return True if the IP is blacklisted on the server, false otherwise.
      */
+    @Override
     public boolean isInBlackListServer(int serverIndex, String ip) {
-        Set<Integer> set = blacklistedByIp.get(ip);
-        return set != null && set.contains(serverIndex);
+        return current.isInBlackListServer(serverIndex, ip);
+    }
+
+    /**
+     * Resolves the address once against the current epoch, whose lookups the probe then answers.
+     *
+     * @param ip The IP address to verify.
+     * @return A predicate that is true for the server indices listing the address.
+     */
+    @Override
+    public IntPredicate probe(String ip) {
+        return current.probe(ip);
+    }
+
+    /**
+     * The in-memory index answers bulk queries with a single lookup.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean supportsBulkLookup() {
+        return true;
+    }
+
+    /**
+     * The in-memory data answers batch queries from a server-major index built per epoch.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean supportsServerMajorLookup() {
+        return true;
+    }
+
+    /**
+     * Returns every server index where the given IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @return The server indices in ascending order, or an empty array if not found.
+     */
+    @Override
+    public int[] getMatches(String ip) {
+        return current.getMatches(ip);
+    }
+
+    /**
+     * Returns the lowest server indices where the given IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @param limit The maximum number of indices to return.
+     * @return Up to {@code limit} server indices in ascending order.
+     */
+    @Override
+    public int[] getFirstMatches(String ip, int limit) {
+        return current.getFirstMatches(ip, limit);
+    }
+
+    /**
+     * Returns the lowest server indices where each IP address of a batch is blacklisted, in one
+     * pass over the server-major index of the current epoch.
+     *
+     * @param ips The IP addresses to check.
+     * @param limit The maximum number of indices to return per address.
+     * @return For each address, up to {@code limit} server indices in ascending order.
+     */
+    @Override
+    public int[][] getFirstMatches(List<String> ips, int limit) {
+        return current.getFirstMatches(ips, limit);
+    }
+
+    /**
+     * Counts the servers in the range {@code [fromServer, toServer)} where the IP address is blacklisted.
+     *
+     * @param ip The IP address to check.
+     * @param fromServer The first server index, inclusive.
+     * @param toServer The last server index, exclusive.
+     * @return The number of matching servers in the range.
+     */
+    @Override
+    public int countMatches(String ip, int fromServer, int toServer) {
+        return current.countMatches(ip, fromServer, toServer);
     }
 
     /**
-     * Returns the set of server indices where the given IP address is blacklisted.
+     * Indicates whether the IP address may be listed, from the negative filter and the CIDR
+     * prefixes, without looking it up. Always true while the filter is disabled.
      *
      * @param ip The IP address to check.
-     * @return A set of server indices where the IP is blacklisted, or an empty set if not found.
+     * @return False if no server lists the address, true if some server might.
+     */
+    @Override
+    public boolean mightBeListed(String ip) {
+        return current.mightBeListed(ip);
+    }
+
+    /**
+     * Returns the current epoch, whose data never changes.
+     *
+     * @return The current epoch.
+     */
+    @Override
+    public BlacklistSource pinned() {
+        return current;
+    }
+
+    /**
+     * Returns the number of the current epoch.
+     *
+     * @return The data epoch.
+     */
+    @Override
+    public long epoch() {
+        return current.number;
+    }
+
+    /**
+     * Returns the current epoch, whose data never changes, so that an export reads every
+     * address and server set from the same version.
+     *
+     * @return The current epoch.
+     */
+    Epoch currentEpoch() {
+        return current;
+    }
+
+    /**
+     * Returns the number of IPv6 addresses currently stored.
+     *
+     * @return The number of IPv6 addresses.
+     */
+    int ipv6AddressCount() {
+        return current.ipv6AddressCount();
+    }
+
+    /**
+     * Returns the target false-positive rate of the negative filter.
+     *
+     * @return The rate, or 0 if the filter is disabled.
+     */
+    public double getNegativeFilterRate() {
+        return negativeFilterRate;
+    }
+
+    /**
+     * Maintains a Bloom filter over every listed address with the given false-positive rate, so
+     * that clean addresses are ruled out before any lookup, or removes it. The filter is built
+     * into a new epoch, then kept up to date by every update and rebuilt, larger and without
+     * the bits of cleared addresses, once insertions exceed what it was sized for.
+     *
+     * @param falsePositiveRate The target rate, from 0 exclusive to 0.5 inclusive, or 0 to
+     *        disable the filter.
+     * @throws IllegalArgumentException If the rate is out of range.
+     */
+    public void setNegativeFilterRate(double falsePositiveRate) {
+        if (!(falsePositiveRate >= 0 && falsePositiveRate <= 0.5)) {
+            throw new IllegalArgumentException("Negative filter false-positive rate must be between 0 and 0.5");
+        }
+        synchronized (updateLock) {
+            negativeFilterRate = falsePositiveRate;
+            update(editor -> { });
+        }
+    }
+
+    /**
+     * Returns the size of the current negative filter.
+     *
+     * @return The size in bytes, or 0 if the filter is disabled.
+     */
+    long negativeFilterSizeBytes() {
+        BlacklistBloomFilter filter = current.filter;
+        return filter != null ? filter.sizeBytes() : 0L;
+    }
+
+    /**
+     * Returns the number of insertions into the current negative filter.
+     *
+     * @return The insertions, or 0 if the filter is disabled.
      */
+    int negativeFilterInsertions() {
+        BlacklistBloomFilter filter = current.filter;
+        return filter != null ? filter.insertions() : 0;
+    }
+
+    /**
+     * Estimates the false-positive rate of the current negative filter from its fill.
+     *
+     * @return The estimated rate, or 0 if the filter is disabled.
+     */
+    double negativeFilterEstimatedRate() {
+        BlacklistBloomFilter filter = current.filter;
+        return filter != null ? filter.estimatedFalsePositiveRate() : 0.0;
+    }
+
+    /**
+     * Reports the given IP address as trustworthy.
+     *
+     * @param ip The IP address to report.
+     */
+    @Override
     public void reportAsTrustworthy(String ip) {
         logger.log(Level.INFO, "HOST {0} Reported as trustworthy", ip);
     }
@@ -73,26 +291,503 @@ public final class HostBlackListsDataSourceFacade {
      *
      * @param ip The IP address to report.
      */
+    @Override
     public void reportAsNotTrustworthy(String ip) {
         logger.log(Level.INFO, "HOST {0} Reported as NOT trustworthy", ip);
     }
 
+    /**
+     * Registers a listener notified with the IP address after its data is seeded or cleared,
+     * or with null after a reload or bulk load that may have changed any address.
+     *
+     * @param listener The listener to notify.
+     */
+    @Override
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     *
+     * @param listener The listener to remove.
+     */
+    @Override
+    public void removeChangeListener(Consumer<String> listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChanged(String ip) {
+        for (Consumer<String> listener : changeListeners) {
+            listener.accept(ip);
+        }
+    }
+
     /**
      * Seeds the facade with initial data for testing purposes.
      *
-     * @param ip The IP address to seed.
+     * @param ip The IP address or IPv4 CIDR prefix to seed.
      * @param indices The server indices where the IP is blacklisted.
      */
     public void seed(String ip, List<Integer> indices) {
-        blacklistedByIp.computeIfAbsent(ip, k -> ConcurrentHashMap.newKeySet()).addAll(indices);
+        update(editor -> editor.seed(ip, indices));
     }
 
     /**
-     * Clears the blacklist data for the given IP address.
+     * Clears the blacklist data for the given IP address or IPv4 CIDR prefix.
      *
-     * @param ip The IP address to clear.
+     * @param ip The IP address or prefix to clear.
      */
     public void clear(String ip) {
-        blacklistedByIp.remove(ip);
+        update(editor -> editor.clear(ip));
+    }
+
+    /**
+     * Applies a set of changes to a copy of the current data and publishes it as the next
+     * epoch. If the changes throw, nothing is published. Updates are serialized; readers are
+     * never blocked.
+     *
+     * @param changes The changes, applied to the editor of the new epoch.
+     * @return The number of the published epoch.
+     */
+    public long update(Consumer<Editor> changes) {
+        return publish(changes, false);
+    }
+
+    /**
+     * Replaces all the data with the given contents, built from empty and published as the
+     * next epoch. If building throws, the current data is kept.
+     *
+     * @param contents The contents, added to the editor of the new epoch.
+     * @return The number of the published epoch.
+     */
+    public long reload(Consumer<Editor> contents) {
+        return publish(contents, true);
+    }
+
+    private long publish(Consumer<Editor> changes, boolean fromEmpty) {
+        Editor editor;
+        long number;
+        synchronized (updateLock) {
+            Epoch base = current;
+            double filterRate = negativeFilterRate;
+            editor = fromEmpty
+                    ? new Editor(new Ipv4BlacklistStore(), Ipv4PrefixTrie.EMPTY, new Ipv6BlacklistStore(), null,
+                            registeredServersCount)
+                    : new Editor(base.ipv4.copy(), base.prefixes, base.ipv6.copy(),
+                            base.filter != null && base.filter.falsePositiveRate() == filterRate ? base.filter.copy() : null,
+                            registeredServersCount);
+            changes.accept(editor);
+            BlacklistBloomFilter filter = null;
+            if (filterRate > 0) {
+                filter = editor.filter != null && !editor.filter.isSaturated()
+                        ? editor.filter
+                        : buildFilter(editor.ipv4, editor.ipv6, filterRate);
+            }
+            number = base.number + 1;
+            current = new Epoch(number, editor.ipv4, editor.prefixes, editor.ipv6, filter);
+        }
+        logger.log(Level.FINE, "Published blacklist epoch {0}", number);
+        if (fromEmpty || editor.bulk) {
+            fireChanged(null);
+        } else {
+            editor.changed.forEach(this::fireChanged);
+        }
+        return number;
+    }
+
+    /**
+     * Builds a negative filter over every address of the stores, sized for twice their entries
+     * so that the updates that follow rarely force a rebuild.
+     */
+    private static BlacklistBloomFilter buildFilter(Ipv4BlacklistStore ipv4, Ipv6BlacklistStore ipv6,
+            double falsePositiveRate) {
+        int[] ipv4Keys = ipv4.keys();
+        long[] ipv6Keys = ipv6.keys();
+        long entries = ipv4Keys.length + ipv6Keys.length / 2;
+        BlacklistBloomFilter filter = BlacklistBloomFilter.create(
+                (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_FILTER_CAPACITY, entries * 2)), falsePositiveRate);
+        for (int ip : ipv4Keys) {
+            filter.addIpv4(ip);
+        }
+        for (int i = 0; i < ipv6Keys.length; i += 2) {
+            filter.add(ipv6Keys[i], ipv6Keys[i + 1]);
+        }
+        return filter;
+    }
+
+    /**
+     * Mutable copy of the data that becomes the next epoch once its update returns.
+     * It must not be kept or used after that.
+     */
+    public static final class Editor {
+
+        private final Ipv4BlacklistStore ipv4;
+        private final Ipv6BlacklistStore ipv6;
+        private final Set<String> changed = new LinkedHashSet<>();
+        private final long[] ipv6Address = new long[2];
+        private final int serverCount;
+        private Ipv4PrefixTrie prefixes;
+        private volatile boolean bulk;
+
+        /** Copy of the current negative filter, or null when it is rebuilt at publication. */
+        private volatile BlacklistBloomFilter filter;
+
+        private Editor(Ipv4BlacklistStore ipv4, Ipv4PrefixTrie prefixes, Ipv6BlacklistStore ipv6,
+                BlacklistBloomFilter filter, int serverCount) {
+            this.ipv4 = ipv4;
+            this.prefixes = prefixes;
+            this.ipv6 = ipv6;
+            this.filter = filter;
+            this.serverCount = serverCount;
+        }
+
+        /**
+         * Adds server indices to the set of the given IP address or IPv4 CIDR prefix.
+         * A prefix may change the verdict of many addresses, so listeners are then notified with null;
+         * an IPv6 address is reported to them in its canonical form.
+         *
+         * @param ip The IP address, or a prefix such as {@code 203.0.113.0/24}, to seed.
+         * @param indices The server indices where the IP is blacklisted.
+         * @return This editor.
+         * @throws IllegalArgumentException If an index is negative or not below the registered
+         *         server count, or the text is neither an IP address nor a well-formed IPv4 prefix.
+         */
+        public synchronized Editor seed(String ip, List<Integer> indices) {
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address != Ipv4Addresses.INVALID) {
+                ipv4.add((int) ipv4Address, toIndices(indices));
+                if (filter != null) {
+                    filter.addIpv4((int) ipv4Address);
+                }
+                changed.add(ip);
+            } else if (ip.indexOf('/') >= 0) {
+                long prefix = requirePrefix(ip);
+                prefixes = prefixes.with(Ipv4Addresses.prefixAddress(prefix), Ipv4Addresses.prefixLength(prefix),
+                        toIndices(indices));
+                bulk = true;
+            } else if (Ipv6Addresses.parse(ip, ipv6Address)) {
+                ipv6.add(ipv6Address[0], ipv6Address[1], toIndices(indices));
+                if (filter != null) {
+                    filter.add(ipv6Address[0], ipv6Address[1]);
+                }
+                changed.add(Ipv6Addresses.format(ipv6Address[0], ipv6Address[1]));
+            } else {
+                throw new IllegalArgumentException("Invalid IP address: " + ip);
+            }
+            return this;
+        }
+
+        /**
+         * Removes the given IP address or IPv4 CIDR prefix. Text that is not an address
+         * matches nothing and is ignored.
+         *
+         * @param ip The IP address to clear.
+         * @return This editor.
+         * @throws IllegalArgumentException If the prefix is malformed.
+         */
+        public synchronized Editor clear(String ip) {
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address != Ipv4Addresses.INVALID) {
+                ipv4.remove((int) ipv4Address);
+                changed.add(ip);
+            } else if (ip.indexOf('/') >= 0) {
+                long prefix = requirePrefix(ip);
+                prefixes = prefixes.without(Ipv4Addresses.prefixAddress(prefix), Ipv4Addresses.prefixLength(prefix));
+                bulk = true;
+            } else if (Ipv6Addresses.parse(ip, ipv6Address)) {
+                ipv6.remove(ipv6Address[0], ipv6Address[1]);
+                changed.add(Ipv6Addresses.format(ipv6Address[0], ipv6Address[1]));
+            }
+            return this;
+        }
+
+        /**
+         * Adds server indices to the sets of many IPv4 addresses at once. May be called from
+         * several threads; listeners are notified of the whole update with null, and the
+         * negative filter is rebuilt once rather than updated per address.
+         *
+         * @param ips The IPv4 addresses packed as ints.
+         * @param indices For each address, its sorted, distinct server indices, each below the server count.
+         * @param n The number of addresses to take from the arrays.
+         */
+        void addIpv4All(int[] ips, int[][] indices, int n) {
+            ipv4.addAll(ips, indices, n);
+            filter = null;
+            bulk = true;
+        }
+
+        /**
+         * Adds server indices to the sets of many IPv6 addresses at once. May be called from
+         * several threads; listeners are notified of the whole update with null.
+         *
+         * @param hi The high 64 bits of the addresses.
+         * @param lo The low 64 bits of the addresses.
+         * @param indices For each address, its sorted, distinct server indices, each below the server count.
+         * @param n The number of addresses to take from the arrays.
+         */
+        void addIpv6All(long[] hi, long[] lo, int[][] indices, int n) {
+            ipv6.addAll(hi, lo, indices, n);
+            filter = null;
+            bulk = true;
+        }
+
+        /**
+         * Adds one server to each of many IPv4 CIDR prefixes. May be called from several threads.
+         *
+         * @param packed The prefixes as returned by {@link Ipv4Addresses#parsePrefix(String)}.
+         * @param servers For each prefix, the server index to add, below the server count.
+         * @param n The number of prefixes to take from the arrays.
+         */
+        synchronized void addIpv4Prefixes(long[] packed, int[] servers, int n) {
+            for (int i = 0; i < n; i++) {
+                prefixes = prefixes.with(Ipv4Addresses.prefixAddress(packed[i]), Ipv4Addresses.prefixLength(packed[i]),
+                        new int[]{servers[i]});
+            }
+            bulk = true;
+        }
+
+        private int[] toIndices(List<Integer> indices) {
+            int[] added = new int[indices.size()];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = indices.get(i);
+                if (added[i] < 0) {
+                    throw new IllegalArgumentException("Server index cannot be negative: " + added[i]);
+                }
+                if (added[i] >= serverCount) {
+                    throw new IllegalArgumentException("Server index " + added[i] + " is not below the server count "
+                            + serverCount);
+                }
+            }
+            return added;
+        }
+
+        private static long requirePrefix(String cidr) {
+            long prefix = Ipv4Addresses.parsePrefix(cidr);
+            if (prefix == Ipv4Addresses.INVALID) {
+                throw new IllegalArgumentException("Invalid IPv4 CIDR prefix: " + cidr);
+            }
+            return prefix;
+        }
+    }
+
+    /**
+     * One published version of the data. Nothing in it is written after publication, except
+     * the server-major index, derived from the rest on first use.
+     */
+    final class Epoch implements BlacklistSource {
+
+        private final long number;
+        private final Ipv4BlacklistStore ipv4;
+        private final Ipv4PrefixTrie prefixes;
+        private final Ipv6BlacklistStore ipv6;
+        private final BlacklistBloomFilter filter;
+        private volatile ServerMajorIndex serverMajor;
+
+        Epoch(long number, Ipv4BlacklistStore ipv4, Ipv4PrefixTrie prefixes, Ipv6BlacklistStore ipv6,
+                BlacklistBloomFilter filter) {
+            this.number = number;
+            this.ipv4 = ipv4;
+            this.prefixes = prefixes;
+            this.ipv6 = ipv6;
+            this.filter = filter;
+        }
+
+        @Override
+        public int getRegisteredServersCount() {
+            return registeredServersCount;
+        }
+
+        /**
+         * Returns the IPv4 addresses of this epoch, packed as ints, in no particular order.
+         *
+         * @return The stored IPv4 addresses.
+         */
+        int[] ipv4Addresses() {
+            return ipv4.keys();
+        }
+
+        /**
+         * Returns the server set of an IPv4 address packed as an int.
+         *
+         * @param ip The IPv4 address.
+         * @return The server set, or an empty set if not found.
+         */
+        int[] ipv4Servers(int ip) {
+            int[] servers = ipv4.get(ip);
+            return servers != null ? servers : ServerSets.EMPTY;
+        }
+
+        /**
+         * Returns the number of CIDR prefixes of this epoch.
+         *
+         * @return The number of prefixes.
+         */
+        int ipv4PrefixCount() {
+            return prefixes.size();
+        }
+
+        /**
+         * Returns the number of IPv6 addresses of this epoch.
+         *
+         * @return The number of IPv6 addresses.
+         */
+        int ipv6AddressCount() {
+            return ipv6.size();
+        }
+
+        @Override
+        public boolean isInBlackListServer(int serverIndex, String ip) {
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address == Ipv4Addresses.INVALID) {
+                int[] servers = ipv6Servers(ip);
+                return servers != null && ServerSets.contains(servers, serverIndex);
+            }
+            int[] exact = ipv4.get((int) ipv4Address);
+            return exact != null && ServerSets.contains(exact, serverIndex)
+                    || prefixes.contains((int) ipv4Address, serverIndex);
+        }
+
+        @Override
+        public IntPredicate probe(String ip) {
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address == Ipv4Addresses.INVALID) {
+                int[] servers = ipv6Servers(ip);
+                return servers == null ? serverIndex -> false : serverIndex -> ServerSets.contains(servers, serverIndex);
+            }
+            int address = (int) ipv4Address;
+            int[] exact = ipv4.get(address);
+            return serverIndex -> exact != null && ServerSets.contains(exact, serverIndex)
+                    || prefixes.contains(address, serverIndex);
+        }
+
+        @Override
+        public boolean supportsBulkLookup() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsServerMajorLookup() {
+            return true;
+        }
+
+        @Override
+        public int[] getMatches(String ip) {
+            return getFirstMatches(ip, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int[] getFirstMatches(String ip, int limit) {
+            return ServerSets.first(serversOf(ip), limit);
+        }
+
+        @Override
+        public int[][] getFirstMatches(List<String> ips, int limit) {
+            ServerMajorIndex index = serverMajorIndex();
+            int[] ids = new int[ips.size()];
+            int[][] extras = new int[ips.size()][];
+            long[] address = new long[2];
+            for (int i = 0; i < ids.length; i++) {
+                String ip = ips.get(i);
+                long ipv4Address = Ipv4Addresses.parse(ip);
+                int position;
+                if (ipv4Address != Ipv4Addresses.INVALID) {
+                    position = ipv4.positionOf((int) ipv4Address);
+                    ids[i] = position < 0 ? -1 : index.ipv4Id(position);
+                    if (prefixes.covers((int) ipv4Address)) {
+                        extras[i] = prefixes.serversOf((int) ipv4Address, ServerSets.EMPTY);
+                    }
+                } else if (Ipv6Addresses.parse(ip, address)) {
+                    position = ipv6.positionOf(address[0], address[1]);
+                    ids[i] = position < 0 ? -1 : index.ipv6Id(position);
+                } else {
+                    ids[i] = -1;
+                }
+            }
+            return index.firstMatches(ids, extras, limit);
+        }
+
+        @Override
+        public int countMatches(String ip, int fromServer, int toServer) {
+            return ServerSets.count(serversOf(ip), fromServer, toServer);
+        }
+
+        @Override
+        public boolean mightBeListed(String ip) {
+            if (filter == null) {
+                return true;
+            }
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address != Ipv4Addresses.INVALID) {
+                // The filter holds exact addresses; a covering prefix lists the address as well
+                return filter.mightContainIpv4((int) ipv4Address) || prefixes.covers((int) ipv4Address);
+            }
+            long[] address = new long[2];
+            return Ipv6Addresses.parse(ip, address) && filter.mightContain(address[0], address[1]);
+        }
+
+        @Override
+        public long epoch() {
+            return number;
+        }
+
+        @Override
+        public void reportAsTrustworthy(String ip) {
+            HostBlackListsDataSourceFacade.this.reportAsTrustworthy(ip);
+        }
+
+        @Override
+        public void reportAsNotTrustworthy(String ip) {
+            HostBlackListsDataSourceFacade.this.reportAsNotTrustworthy(ip);
+        }
+
+        /**
+         * Returns the server-major index of this epoch, building it on first use.
+         *
+         * @return The index.
+         */
+        private ServerMajorIndex serverMajorIndex() {
+            ServerMajorIndex index = serverMajor;
+            if (index == null) {
+                synchronized (this) {
+                    index = serverMajor;
+                    if (index == null) {
+                        long start = System.nanoTime();
+                        index = ServerMajorIndex.build(ipv4, ipv6, registeredServersCount);
+                        serverMajor = index;
+                        logger.log(Level.FINE, "Built the server-major index of epoch {0} in {1} ms",
+                                new Object[]{number, (System.nanoTime() - start) / 1_000_000});
+                    }
+                }
+            }
+            return index;
+        }
+
+        /**
+         * Returns the servers listing the given IP address, directly or through a prefix.
+         *
+         * @param ip The IP address to look up.
+         * @return The server set, or an empty set if not found.
+         */
+        private int[] serversOf(String ip) {
+            long ipv4Address = Ipv4Addresses.parse(ip);
+            if (ipv4Address == Ipv4Addresses.INVALID) {
+                int[] servers = ipv6Servers(ip);
+                return servers != null ? servers : ServerSets.EMPTY;
+            }
+            int[] exact = ipv4.get((int) ipv4Address);
+            return prefixes.serversOf((int) ipv4Address, exact != null ? exact : ServerSets.EMPTY);
+        }
+
+        /**
+         * Returns the servers listing the given IPv6 address, in any of its textual forms.
+         *
+         * @param ip The text of the address.
+         * @return The server set, or null if not found or not an IPv6 address.
+         */
+        private int[] ipv6Servers(String ip) {
+            long[] address = new long[2];
+            return Ipv6Addresses.parse(ip, address) ? ipv6.get(address[0], address[1]) : null;
+        }
     }
 }
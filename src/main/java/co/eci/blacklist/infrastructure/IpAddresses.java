@@ -0,0 +1,43 @@
+package co.eci.blacklist.infrastructure;
+
+/**
+ * Public entry point to the address codecs of the blacklist store, for callers outside this
+ * package that need the same view of an address as the store. Every method works on the text
+ * alone: nothing is ever resolved through DNS, and validation allocates nothing. Callers pass
+ * the canonical text on, and the store parses it again into its primitive key when it looks
+ * the address up.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class IpAddresses {
+
+    private IpAddresses() {
+    }
+
+    /**
+     * Tells whether a text is a canonical dotted-quad IPv4 address (four decimal octets, no
+     * leading zeros) or an IPv6 address in any textual form, without allocating.
+     *
+     * @param ip The text of the address.
+     * @return True if the address is valid, false otherwise.
+     */
+    public static boolean isValid(String ip) {
+        return Ipv4Addresses.parse(ip) != Ipv4Addresses.INVALID || Ipv6Addresses.parse(ip, null);
+    }
+
+    /**
+     * Returns the canonical form of an IP address: a dotted-quad IPv4 address is returned as
+     * is, and an IPv6 address in the RFC 5952 form, so that all its textual forms compare equal.
+     *
+     * @param ip The text of the address.
+     * @return The canonical text, or null if the text is neither a canonical IPv4 address nor
+     *         an IPv6 address.
+     */
+    public static String canonical(String ip) {
+        if (Ipv4Addresses.parse(ip) != Ipv4Addresses.INVALID) {
+            return ip;
+        }
+        return Ipv6Addresses.canonical(ip);
+    }
+}
@@ -0,0 +1,180 @@
+package co.eci.blacklist.infrastructure;
+
+/**
+ * Conversions between canonical dotted-quad IPv4 text and its packed {@code int} form.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class Ipv4Addresses {
+
+    /** Returned by {@link #parse(String)} when the text is not a canonical IPv4 address. */
+    static final long INVALID = -1L;
+
+    private Ipv4Addresses() {
+    }
+
+    /**
+     * Parses a canonical dotted-quad IPv4 address (four decimal octets, no leading zeros)
+     * without allocating.
+     *
+     * @param ip The text to parse.
+     * @return The address as an unsigned 32-bit value, or {@link #INVALID}.
+     */
+    static long parse(String ip) {
+        return parse(ip, 0, ip.length());
+    }
+
+    /**
+     * Parses a canonical dotted-quad IPv4 address from a range of characters without allocating.
+     *
+     * @param text The characters holding the text.
+     * @param from The first character, inclusive.
+     * @param to The last character, exclusive.
+     * @return The address as an unsigned 32-bit value, or {@link #INVALID}.
+     */
+    static long parse(CharSequence text, int from, int to) {
+        int length = to - from;
+        if (length < 7 || length > 15) {
+            return INVALID;
+        }
+        long address = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 1 && octet == 0) {
+                    return INVALID;
+                }
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return INVALID;
+                }
+            } else if (c == '.' && digits > 0 && ++dots <= 3) {
+                address = address << 8 | octet;
+                octet = 0;
+                digits = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return INVALID;
+        }
+        return address << 8 | octet;
+    }
+
+    /**
+     * Parses a canonical dotted-quad IPv4 address from a range of ASCII bytes, read through
+     * an {@link AsciiBytes} view.
+     *
+     * @param text The bytes holding the text.
+     * @param from The first byte, inclusive.
+     * @param to The last byte, exclusive.
+     * @return The address as an unsigned 32-bit value, or {@link #INVALID}.
+     */
+    static long parse(byte[] text, int from, int to) {
+        return parse(new AsciiBytes(text), from, to);
+    }
+
+    /**
+     * Parses a CIDR prefix such as {@code 203.0.113.0/24}: a canonical dotted-quad network
+     * address with no bits set past the prefix, a slash and a decimal length from 0 to 32.
+     *
+     * @param cidr The text to parse.
+     * @return The network address shifted left by 8 bits with the length in the low byte,
+     *         as read by {@link #prefixAddress(long)} and {@link #prefixLength(long)}, or {@link #INVALID}.
+     */
+    static long parsePrefix(String cidr) {
+        return parsePrefix(cidr, 0, cidr.length());
+    }
+
+    /**
+     * Parses a CIDR prefix from a range of characters without allocating.
+     *
+     * @param text The characters holding the text.
+     * @param from The first character, inclusive.
+     * @param to The last character, exclusive.
+     * @return The packed prefix as returned by {@link #parsePrefix(String)}, or {@link #INVALID}.
+     */
+    static long parsePrefix(CharSequence text, int from, int to) {
+        int slash = from;
+        while (slash < to && text.charAt(slash) != '/') {
+            slash++;
+        }
+        long address = slash < to ? parse(text, from, slash) : INVALID;
+        if (address == INVALID || to - slash < 2 || to - slash > 3 || (to - slash == 3 && text.charAt(slash + 1) == '0')) {
+            return INVALID;
+        }
+        int length = 0;
+        for (int i = slash + 1; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            length = length * 10 + (c - '0');
+        }
+        return toPrefix(address, length);
+    }
+
+    /**
+     * Parses a CIDR prefix from a range of ASCII bytes, read through an {@link AsciiBytes} view.
+     *
+     * @param text The bytes holding the text.
+     * @param from The first byte, inclusive.
+     * @param to The last byte, exclusive.
+     * @return The packed prefix as returned by {@link #parsePrefix(String)}, or {@link #INVALID}.
+     */
+    static long parsePrefix(byte[] text, int from, int to) {
+        return parsePrefix(new AsciiBytes(text), from, to);
+    }
+
+    private static long toPrefix(long address, int length) {
+        if (length > 32 || (address & ~networkMask(length) & 0xFFFFFFFFL) != 0) {
+            return INVALID;
+        }
+        return address << 8 | length;
+    }
+
+    /**
+     * Returns the network address of a packed prefix.
+     *
+     * @param prefix The prefix returned by {@link #parsePrefix(String)}.
+     * @return The network address as an int.
+     */
+    static int prefixAddress(long prefix) {
+        return (int) (prefix >>> 8);
+    }
+
+    /**
+     * Returns the length of a packed prefix.
+     *
+     * @param prefix The prefix returned by {@link #parsePrefix(String)}.
+     * @return The number of network bits, from 0 to 32.
+     */
+    static int prefixLength(long prefix) {
+        return (int) (prefix & 0xFF);
+    }
+
+    /**
+     * Returns the mask selecting the first {@code length} bits of an address.
+     *
+     * @param length The number of network bits, from 0 to 32.
+     * @return The mask as an int.
+     */
+    static int networkMask(int length) {
+        return length == 0 ? 0 : -1 << (32 - length);
+    }
+
+    /**
+     * Formats a packed IPv4 address as dotted-quad text.
+     *
+     * @param address The address as an int.
+     * @return The canonical text form.
+     */
+    static String format(int address) {
+        return (address >>> 24) + "." + (address >>> 16 & 0xFF) + "." + (address >>> 8 & 0xFF) + "." + (address & 0xFF);
+    }
+}
@@ -0,0 +1,361 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing hash table keyed by an IPv4 address packed into an {@code int},
+ * with each value being a compact server set (see {@link ServerSets}).
+ * Keys and values live in two parallel primitive arrays, so an entry costs one
+ * {@code int} slot plus its server set instead of a String, a map node and a boxed Set.
+ *
+ * <p>Collisions are resolved with linear probing and removals use backward-shift deletion,
+ * so no tombstones accumulate. Writers are serialized by a {@link StampedLock}; readers use
+ * optimistic reads and only fall back to the read lock when a write overlapped them. The facade
+ * never writes a store once it is published, so there its optimistic reads always validate.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class Ipv4BlacklistStore {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final StampedLock lock = new StampedLock();
+
+    private int[] keys;
+    private int[][] values;
+    private int size;
+    private int resizeAt;
+
+    /** Value of the key {@code 0} (0.0.0.0), kept apart because 0 marks an empty slot. */
+    private int[] zeroValue;
+
+    /**
+     * Creates an empty store.
+     */
+    Ipv4BlacklistStore() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store sized for the given number of entries.
+     *
+     * @param expectedEntries The number of entries expected.
+     */
+    Ipv4BlacklistStore(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    /**
+     * Returns the server set stored for the given address.
+     *
+     * @param ip The IPv4 address as an int.
+     * @return The server set, or null if the address is not stored.
+     */
+    int[] get(int ip) {
+        long stamp = lock.tryOptimisticRead();
+        int[] value = find(ip);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(ip);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds server indices to the set stored for the given address.
+     *
+     * @param ip The IPv4 address as an int.
+     * @param indices The non-negative server indices to add.
+     */
+    void add(int ip, int[] indices) {
+        long stamp = lock.writeLock();
+        try {
+            int[] current = find(ip);
+            put(ip, ServerSets.with(current == null ? ServerSets.EMPTY : current, indices));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds server indices to the sets of many addresses under a single write lock.
+     *
+     * @param ips The IPv4 addresses as ints.
+     * @param indices For each address, its sorted, distinct, non-negative server indices.
+     * @param n The number of addresses to take from the arrays.
+     */
+    void addAll(int[] ips, int[][] indices, int n) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < n; i++) {
+                int[] current = find(ips[i]);
+                put(ips[i], current == null
+                        ? ServerSets.encode(indices[i], indices[i].length)
+                        : ServerSets.with(current, indices[i]));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the given address.
+     *
+     * @param ip The IPv4 address as an int.
+     * @return True if the address was stored, false otherwise.
+     */
+    boolean remove(int ip) {
+        long stamp = lock.writeLock();
+        try {
+            if (ip == 0) {
+                boolean present = zeroValue != null;
+                if (present) {
+                    zeroValue = null;
+                    size--;
+                }
+                return present;
+            }
+            int mask = keys.length - 1;
+            int slot = slotOf(ip, mask);
+            while (keys[slot] != 0) {
+                if (keys[slot] == ip) {
+                    shiftBack(slot, mask);
+                    size--;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of stored addresses.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the stored addresses, in no particular order.
+     *
+     * @return A new array with one element per entry.
+     */
+    int[] keys() {
+        long stamp = lock.readLock();
+        try {
+            int[] out = new int[size];
+            int n = 0;
+            if (zeroValue != null) {
+                out[n++] = 0;
+            }
+            for (int key : keys) {
+                if (key != 0) {
+                    out[n++] = key;
+                }
+            }
+            return out;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the position of the given address's entry, between 0 and {@link #positions()},
+     * which stays the same until the store is next written.
+     *
+     * @param ip The IPv4 address as an int.
+     * @return The position, or -1 if the address is not stored.
+     */
+    int positionOf(int ip) {
+        long stamp = lock.readLock();
+        try {
+            if (ip == 0) {
+                return zeroValue != null ? keys.length : -1;
+            }
+            int mask = keys.length - 1;
+            for (int slot = slotOf(ip, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == ip) {
+                    return slot;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of positions an entry may occupy: one per slot, plus one for 0.0.0.0.
+     *
+     * @return The exclusive upper bound of {@link #positionOf(int)}.
+     */
+    int positions() {
+        long stamp = lock.readLock();
+        try {
+            return keys.length + 1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Passes the server set and position of every entry to the action, in ascending position.
+     *
+     * @param action The action receiving each server set and its position.
+     */
+    void forEachEntry(ObjIntConsumer<int[]> action) {
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    action.accept(values[slot], slot);
+                }
+            }
+            if (zeroValue != null) {
+                action.accept(zeroValue, keys.length);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an independent copy of the store. Server sets are immutable, so only the
+     * tables are copied.
+     *
+     * @return A new store with the same entries.
+     */
+    Ipv4BlacklistStore copy() {
+        long stamp = lock.readLock();
+        try {
+            Ipv4BlacklistStore copy = new Ipv4BlacklistStore();
+            copy.keys = keys.clone();
+            copy.values = values.clone();
+            copy.size = size;
+            copy.resizeAt = resizeAt;
+            copy.zeroValue = zeroValue;
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int[] find(int ip) {
+        if (ip == 0) {
+            return zeroValue;
+        }
+        int[] k = keys;
+        int[][] v = values;
+        int mask = k.length - 1;
+        int slot = slotOf(ip, mask);
+        // Bounded so that an optimistic read racing a writer always terminates
+        for (int probes = 0; probes < k.length; probes++) {
+            int key = k[slot];
+            if (key == ip) {
+                return slot < v.length ? v[slot] : null;
+            }
+            if (key == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void put(int ip, int[] value) {
+        if (ip == 0) {
+            if (zeroValue == null) {
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(ip, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == ip) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[slot] = value;
+        keys[slot] = ip;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void shiftBack(int slot, int mask) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != 0) {
+            int home = slotOf(keys[next], mask);
+            // Move the entry into the gap unless its home lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[][] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = slotOf(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity][];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int slotOf(int ip, int mask) {
+        // Fibonacci hashing spreads sequential addresses across the table
+        int h = ip * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedEntries) {
+        long needed = (long) Math.ceil(Math.max(expectedEntries, 1) / (double) LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
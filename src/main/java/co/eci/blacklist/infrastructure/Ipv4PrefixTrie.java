@@ -0,0 +1,252 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, path-compressed binary (Patricia) trie of IPv4 CIDR prefixes, each mapped to a
+ * compact server set (see {@link ServerSets}). A node stores the full prefix it stands for, so
+ * chains of single-child nodes collapse into one and the trie has fewer than two nodes per
+ * prefix whatever the prefix lengths.
+ *
+ * <p>Updates return a new trie that shares every node off the path they changed, which makes
+ * them cheap to apply to a copy-on-write epoch. A lookup walks down from the root toward the
+ * longest matching prefix; every prefix met on the way covers the address, so an address is
+ * listed on a server if any of them lists it.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class Ipv4PrefixTrie {
+
+    /** The trie without prefixes. */
+    static final Ipv4PrefixTrie EMPTY = new Ipv4PrefixTrie(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private Ipv4PrefixTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of prefixes stored.
+     *
+     * @return The number of prefixes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether the trie holds no prefix.
+     *
+     * @return True if empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the server set stored for exactly the given prefix.
+     *
+     * @param network The network address, with no bits set past the prefix.
+     * @param length The prefix length, from 0 to 32.
+     * @return The server set, or null if the prefix is not stored.
+     */
+    int[] get(int network, int length) {
+        Node node = root;
+        while (node != null && node.length <= length && covers(node, network)) {
+            if (node.length == length) {
+                return node.servers;
+            }
+            node = node.child(network);
+        }
+        return null;
+    }
+
+    /**
+     * Indicates whether any prefix covering the address lists the server.
+     *
+     * @param ip The IPv4 address as an int.
+     * @param serverIndex The server index.
+     * @return True if the address is listed on the server through a prefix.
+     */
+    boolean contains(int ip, int serverIndex) {
+        for (Node node = root; node != null && covers(node, ip); node = node.child(ip)) {
+            if (node.servers != null && ServerSets.contains(node.servers, serverIndex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicates whether any stored prefix covers the address.
+     *
+     * @param ip The IPv4 address as an int.
+     * @return True if the address lies in a stored prefix.
+     */
+    boolean covers(int ip) {
+        for (Node node = root; node != null && covers(node, ip); node = node.child(ip)) {
+            if (node.servers != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the given set merged with the sets of every prefix covering the address.
+     * Nothing is allocated unless more than one of them is non-empty.
+     *
+     * @param ip The IPv4 address as an int.
+     * @param base The set the address already has, for example from an exact entry.
+     * @return The merged server set.
+     */
+    int[] serversOf(int ip, int[] base) {
+        int[] single = base;
+        int sets = base.length > 0 ? 1 : 0;
+        for (Node node = root; node != null && covers(node, ip); node = node.child(ip)) {
+            if (node.servers != null && node.servers.length > 0) {
+                single = node.servers;
+                sets++;
+            }
+        }
+        if (sets <= 1) {
+            return sets == 0 ? ServerSets.EMPTY : single;
+        }
+
+        // Concatenate every covering set and sort once, rather than merging them pairwise
+        int[] merged = ServerSets.first(base, Integer.MAX_VALUE);
+        int n = merged.length;
+        for (Node node = root; node != null && covers(node, ip); node = node.child(ip)) {
+            if (node.servers != null && node.servers.length > 0) {
+                int[] indices = ServerSets.first(node.servers, Integer.MAX_VALUE);
+                if (n + indices.length > merged.length) {
+                    merged = Arrays.copyOf(merged, Math.max(merged.length * 2, n + indices.length));
+                }
+                System.arraycopy(indices, 0, merged, n, indices.length);
+                n += indices.length;
+            }
+        }
+        return ServerSets.with(ServerSets.EMPTY, Arrays.copyOf(merged, n));
+    }
+
+    /**
+     * Returns a trie where the given prefix also lists the given servers.
+     *
+     * @param network The network address, with no bits set past the prefix.
+     * @param length The prefix length, from 0 to 32.
+     * @param indices The non-negative server indices to add.
+     * @return The updated trie.
+     */
+    Ipv4PrefixTrie with(int network, int length, int[] indices) {
+        boolean added = get(network, length) == null;
+        return new Ipv4PrefixTrie(insert(root, network, length, indices), added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a trie without the given prefix.
+     *
+     * @param network The network address, with no bits set past the prefix.
+     * @param length The prefix length, from 0 to 32.
+     * @return The updated trie, or this trie if the prefix is not stored.
+     */
+    Ipv4PrefixTrie without(int network, int length) {
+        if (get(network, length) == null) {
+            return this;
+        }
+        return new Ipv4PrefixTrie(remove(root, network, length), size - 1);
+    }
+
+    private static Node insert(Node node, int network, int length, int[] indices) {
+        if (node == null) {
+            return new Node(network, length, null, null, ServerSets.with(ServerSets.EMPTY, indices));
+        }
+        int common = Math.min(commonLength(node.network, network), Math.min(node.length, length));
+        if (common == node.length && common == length) {
+            int[] current = node.servers != null ? node.servers : ServerSets.EMPTY;
+            return new Node(node.network, node.length, node.zero, node.one, ServerSets.with(current, indices));
+        }
+        if (common == node.length) {
+            // The new prefix lies below this node
+            return bitAt(network, node.length) == 0
+                    ? new Node(node.network, node.length, insert(node.zero, network, length, indices), node.one, node.servers)
+                    : new Node(node.network, node.length, node.zero, insert(node.one, network, length, indices), node.servers);
+        }
+        Node leaf = new Node(network, length, null, null, ServerSets.with(ServerSets.EMPTY, indices));
+        if (common == length) {
+            // The new prefix lies above this node
+            return bitAt(node.network, length) == 0
+                    ? new Node(network, length, node, null, leaf.servers)
+                    : new Node(network, length, null, node, leaf.servers);
+        }
+        // The prefixes diverge: branch at their common part
+        int branch = network & Ipv4Addresses.networkMask(common);
+        return bitAt(network, common) == 0
+                ? new Node(branch, common, leaf, node, null)
+                : new Node(branch, common, node, leaf, null);
+    }
+
+    private static Node remove(Node node, int network, int length) {
+        if (node.length == length) {
+            return collapse(node.network, node.length, node.zero, node.one, null);
+        }
+        return bitAt(network, node.length) == 0
+                ? collapse(node.network, node.length, remove(node.zero, network, length), node.one, node.servers)
+                : collapse(node.network, node.length, node.zero, remove(node.one, network, length), node.servers);
+    }
+
+    /**
+     * Builds a node, dropping it when it no longer holds a prefix and has fewer than two children.
+     */
+    private static Node collapse(int network, int length, Node zero, Node one, int[] servers) {
+        if (servers == null && (zero == null || one == null)) {
+            return zero != null ? zero : one;
+        }
+        return new Node(network, length, zero, one, servers);
+    }
+
+    private static boolean covers(Node node, int ip) {
+        return ((ip ^ node.network) & Ipv4Addresses.networkMask(node.length)) == 0;
+    }
+
+    private static int commonLength(int a, int b) {
+        return Integer.numberOfLeadingZeros(a ^ b);
+    }
+
+    private static int bitAt(int address, int position) {
+        return (address >>> (31 - position)) & 1;
+    }
+
+    /**
+     * A prefix of the trie, either stored (with a server set) or a branching point (without).
+     */
+    private static final class Node {
+
+        final int network;
+        final int length;
+        final Node zero;
+        final Node one;
+        final int[] servers;
+
+        Node(int network, int length, Node zero, Node one, int[] servers) {
+            this.network = network;
+            this.length = length;
+            this.zero = zero;
+            this.one = one;
+            this.servers = servers;
+        }
+
+        /**
+         * Returns the child on the side of the address, or null at a /32.
+         */
+        Node child(int ip) {
+            if (length == 32) {
+                return null;
+            }
+            return bitAt(ip, length) == 0 ? zero : one;
+        }
+    }
+}
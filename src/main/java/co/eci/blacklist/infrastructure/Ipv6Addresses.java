@@ -0,0 +1,228 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free parsing and canonical formatting of IPv6 addresses held as two {@code long}s,
+ * the high and low 64 bits. Every textual form of an address (upper or lower case, leading
+ * zeros, {@code ::} anywhere, an embedded dotted-quad tail) parses to the same pair, and
+ * {@link #format(long, long)} renders it back in the RFC 5952 form.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class Ipv6Addresses {
+
+    /** Longest textual form: eight groups and seven colons, or six groups and a dotted quad. */
+    private static final int MAX_LENGTH = 45;
+
+    /** Value of each ASCII hex digit, -1 for other characters; a table lookup avoids mispredicted branches. */
+    private static final byte[] HEX_DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(HEX_DIGITS, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DIGITS["0123456789abcdef".charAt(i)] = (byte) i;
+            HEX_DIGITS["0123456789ABCDEF".charAt(i)] = (byte) i;
+        }
+    }
+
+    private Ipv6Addresses() {
+    }
+
+    /**
+     * Parses an IPv6 address. Zone identifiers ({@code fe80::1%eth0}) and prefixes are rejected.
+     *
+     * @param ip The text to parse.
+     * @param out Receives the high 64 bits at index 0 and the low 64 bits at index 1, or null to
+     *            only validate the text.
+     * @return True if the text is a valid IPv6 address, false otherwise (then {@code out} is unchanged).
+     */
+    static boolean parse(String ip, long[] out) {
+        return parse(ip, 0, ip.length(), out);
+    }
+
+    /**
+     * Parses an IPv6 address from a range of characters without allocating.
+     *
+     * @param text The characters holding the text.
+     * @param from The first character, inclusive.
+     * @param to The last character, exclusive.
+     * @param out Receives the high 64 bits at index 0 and the low 64 bits at index 1, or null to
+     *            only validate the range.
+     * @return True if the range is a valid IPv6 address, false otherwise (then {@code out} is unchanged).
+     */
+    static boolean parse(CharSequence text, int from, int to, long[] out) {
+        int length = to - from;
+        if (length < 2 || length > MAX_LENGTH) {
+            return false;
+        }
+        // Groups before "::" accumulate in (headHi, headLo), those after it in (tailHi, tailLo)
+        long headHi = 0;
+        long headLo = 0;
+        long tailHi = 0;
+        long tailLo = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+        int i = from;
+        if (text.charAt(i) == ':') {
+            if (text.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+        while (i < to) {
+            int start = i;
+            int group = 0;
+            while (i < to && i - start <= 4) {
+                int digit = hexDigit(text.charAt(i));
+                if (digit < 0) {
+                    break;
+                }
+                group = group << 4 | digit;
+                i++;
+            }
+            if (i < to && text.charAt(i) == '.') {
+                // An embedded IPv4 address fills the last two groups
+                long ipv4 = Ipv4Addresses.parse(text, start, to);
+                if (ipv4 == Ipv4Addresses.INVALID || headGroups + tailGroups > 6) {
+                    return false;
+                }
+                if (compressed) {
+                    tailHi = tailHi << 32 | tailLo >>> 32;
+                    tailLo = tailLo << 32 | ipv4;
+                    tailGroups += 2;
+                } else {
+                    headHi = headHi << 32 | headLo >>> 32;
+                    headLo = headLo << 32 | ipv4;
+                    headGroups += 2;
+                }
+                break;
+            }
+            if (i == start || i - start > 4 || headGroups + tailGroups == 8) {
+                return false;
+            }
+            if (compressed) {
+                tailHi = tailHi << 16 | tailLo >>> 48;
+                tailLo = tailLo << 16 | group;
+                tailGroups++;
+            } else {
+                headHi = headHi << 16 | headLo >>> 48;
+                headLo = headLo << 16 | group;
+                headGroups++;
+            }
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == to) {
+                return false;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups > 7 : groups != 8) {
+            return false;
+        }
+        if (out == null) {
+            return true;
+        }
+        // The head groups are the most significant: shift them past the elided zeros and the tail
+        int shift = 16 * (8 - headGroups);
+        if (shift >= 128) {
+            headHi = 0;
+            headLo = 0;
+        } else if (shift >= 64) {
+            headHi = headLo << (shift - 64);
+            headLo = 0;
+        } else if (shift > 0) {
+            headHi = headHi << shift | headLo >>> (64 - shift);
+            headLo = headLo << shift;
+        }
+        out[0] = headHi | tailHi;
+        out[1] = headLo | tailLo;
+        return true;
+    }
+
+    /**
+     * Parses an IPv6 address from a range of ASCII bytes, read through an {@link AsciiBytes} view.
+     *
+     * @param text The bytes holding the text.
+     * @param from The first byte, inclusive.
+     * @param to The last byte, exclusive.
+     * @param out Receives the high 64 bits at index 0 and the low 64 bits at index 1, or null to
+     *            only validate the range.
+     * @return True if the range is a valid IPv6 address, false otherwise (then {@code out} is unchanged).
+     */
+    static boolean parse(byte[] text, int from, int to, long[] out) {
+        return parse(new AsciiBytes(text), from, to, out);
+    }
+
+    /**
+     * Formats an address in the RFC 5952 canonical form: lower-case hex without leading zeros,
+     * and the longest run of two or more zero groups (the first one on a tie) written as {@code ::}.
+     *
+     * @param hi The high 64 bits.
+     * @param lo The low 64 bits.
+     * @return The canonical text.
+     */
+    static String format(long hi, long lo) {
+        int runStart = -1;
+        int runLength = 1;
+        for (int i = 0; i < 8; ) {
+            if (group(hi, lo, i) != 0) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < 8 && group(hi, lo, end) == 0) {
+                end++;
+            }
+            if (end - i > runLength) {
+                runStart = i;
+                runLength = end - i;
+            }
+            i = end;
+        }
+        StringBuilder text = new StringBuilder(39);
+        for (int i = 0; i < 8; i++) {
+            if (i == runStart) {
+                text.append("::");
+                i += runLength - 1;
+                continue;
+            }
+            if (text.length() > 0 && text.charAt(text.length() - 1) != ':') {
+                text.append(':');
+            }
+            text.append(Integer.toHexString(group(hi, lo, i)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the canonical form of an IPv6 address.
+     *
+     * @param ip The text of the address.
+     * @return The canonical text, or null if the text is not a valid IPv6 address.
+     */
+    static String canonical(String ip) {
+        long[] address = new long[2];
+        return parse(ip, address) ? format(address[0], address[1]) : null;
+    }
+
+    private static int hexDigit(char c) {
+        return c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+    }
+
+    private static int group(long hi, long lo, int index) {
+        long half = index < 4 ? hi : lo;
+        return (int) (half >>> (48 - 16 * (index & 3))) & 0xFFFF;
+    }
+}
@@ -0,0 +1,344 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing hash table keyed by a 128-bit IPv6 address held as two {@code long}s,
+ * with each value being a compact server set (see {@link ServerSets}). Keys live in two
+ * parallel primitive arrays next to the values, so an entry costs two {@code long} slots plus
+ * its server set instead of a String, a map node and a boxed Set.
+ *
+ * <p>A slot is occupied when its value is non-null, so every address, {@code ::} included,
+ * is stored in the table. Collisions, removals and locking work as in {@link Ipv4BlacklistStore}.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class Ipv6BlacklistStore {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] his;
+    private long[] los;
+    private int[][] values;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Creates an empty store.
+     */
+    Ipv6BlacklistStore() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store sized for the given number of entries.
+     *
+     * @param expectedEntries The number of entries expected.
+     */
+    Ipv6BlacklistStore(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    /**
+     * Returns the server set stored for the given address.
+     *
+     * @param hi The high 64 bits of the address.
+     * @param lo The low 64 bits of the address.
+     * @return The server set, or null if the address is not stored.
+     */
+    int[] get(long hi, long lo) {
+        long stamp = lock.tryOptimisticRead();
+        int[] value = find(hi, lo);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(hi, lo);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds server indices to the set stored for the given address.
+     *
+     * @param hi The high 64 bits of the address.
+     * @param lo The low 64 bits of the address.
+     * @param indices The non-negative server indices to add.
+     */
+    void add(long hi, long lo, int[] indices) {
+        long stamp = lock.writeLock();
+        try {
+            int[] current = find(hi, lo);
+            put(hi, lo, ServerSets.with(current == null ? ServerSets.EMPTY : current, indices));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds server indices to the sets of many addresses under a single write lock.
+     *
+     * @param hi The high 64 bits of the addresses.
+     * @param lo The low 64 bits of the addresses.
+     * @param indices For each address, its sorted, distinct, non-negative server indices.
+     * @param n The number of addresses to take from the arrays.
+     */
+    void addAll(long[] hi, long[] lo, int[][] indices, int n) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < n; i++) {
+                int[] current = find(hi[i], lo[i]);
+                put(hi[i], lo[i], current == null
+                        ? ServerSets.encode(indices[i], indices[i].length)
+                        : ServerSets.with(current, indices[i]));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the given address.
+     *
+     * @param hi The high 64 bits of the address.
+     * @param lo The low 64 bits of the address.
+     * @return True if the address was stored, false otherwise.
+     */
+    boolean remove(long hi, long lo) {
+        long stamp = lock.writeLock();
+        try {
+            int mask = values.length - 1;
+            int slot = slotOf(hi, lo, mask);
+            while (values[slot] != null) {
+                if (his[slot] == hi && los[slot] == lo) {
+                    shiftBack(slot, mask);
+                    size--;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of stored addresses.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the stored addresses, in no particular order.
+     *
+     * @return A new array holding the high and low bits of each entry, two elements per entry.
+     */
+    long[] keys() {
+        long stamp = lock.readLock();
+        try {
+            long[] out = new long[size * 2];
+            int n = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    out[n++] = his[i];
+                    out[n++] = los[i];
+                }
+            }
+            return out;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the position of the given address's entry, between 0 and {@link #positions()},
+     * which stays the same until the store is next written.
+     *
+     * @param hi The high 64 bits of the address.
+     * @param lo The low 64 bits of the address.
+     * @return The position, or -1 if the address is not stored.
+     */
+    int positionOf(long hi, long lo) {
+        long stamp = lock.readLock();
+        try {
+            int mask = values.length - 1;
+            for (int slot = slotOf(hi, lo, mask); values[slot] != null; slot = (slot + 1) & mask) {
+                if (his[slot] == hi && los[slot] == lo) {
+                    return slot;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of positions an entry may occupy, one per slot.
+     *
+     * @return The exclusive upper bound of {@link #positionOf(long, long)}.
+     */
+    int positions() {
+        long stamp = lock.readLock();
+        try {
+            return values.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Passes the server set and position of every entry to the action, in ascending position.
+     *
+     * @param action The action receiving each server set and its position.
+     */
+    void forEachEntry(ObjIntConsumer<int[]> action) {
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < values.length; slot++) {
+                if (values[slot] != null) {
+                    action.accept(values[slot], slot);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an independent copy of the store. Server sets are immutable, so only the
+     * tables are copied.
+     *
+     * @return A new store with the same entries.
+     */
+    Ipv6BlacklistStore copy() {
+        long stamp = lock.readLock();
+        try {
+            Ipv6BlacklistStore copy = new Ipv6BlacklistStore();
+            copy.his = his.clone();
+            copy.los = los.clone();
+            copy.values = values.clone();
+            copy.size = size;
+            copy.resizeAt = resizeAt;
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int[] find(long hi, long lo) {
+        long[] h = his;
+        long[] l = los;
+        int[][] v = values;
+        int mask = v.length - 1;
+        int slot = slotOf(hi, lo, mask);
+        // Bounded so that an optimistic read racing a writer always terminates
+        for (int probes = 0; probes < v.length; probes++) {
+            int[] value = v[slot];
+            if (value == null) {
+                return null;
+            }
+            if (slot < h.length && h[slot] == hi && slot < l.length && l[slot] == lo) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void put(long hi, long lo, int[] value) {
+        int mask = values.length - 1;
+        int slot = slotOf(hi, lo, mask);
+        while (values[slot] != null) {
+            if (his[slot] == hi && los[slot] == lo) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        his[slot] = hi;
+        los[slot] = lo;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(values.length << 1);
+        }
+    }
+
+    private void shiftBack(int slot, int mask) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = slotOf(his[next], los[next], mask);
+            // Move the entry into the gap unless its home lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                his[gap] = his[next];
+                los[gap] = los[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        his[gap] = 0;
+        los[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHis = his;
+        long[] oldLos = los;
+        int[][] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldHis[i], oldLos[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                his[slot] = oldHis[i];
+                los[slot] = oldLos[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        his = new long[capacity];
+        los = new long[capacity];
+        values = new int[capacity][];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int slotOf(long hi, long lo, int mask) {
+        // Feeds often share the /64 and differ only in the interface identifier, so both halves
+        // are mixed, and the high bits folded down on each side of the multiply
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h = (h ^ (h >>> 32)) * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedEntries) {
+        long needed = (long) Math.ceil(Math.max(expectedEntries, 1) / (double) LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,319 @@
+package co.eci.blacklist.infrastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-only blacklist source served from a memory-mapped binary snapshot of the facade's
+ * IPv4 data. Opening a snapshot only maps the file, so startup does not depend on the
+ * number of entries, and lookups read the mapped pages directly instead of a heap copy.
+ *
+ * <p>Layout, all integers little-endian:
+ * <pre>
+ *   header   magic "BLS1", version, server count, entry count (4 ints), data words (long), reserved (long)
+ *   keys     entry count ints: the IPv4 addresses in ascending unsigned order
+ *   data     data words ints: the server set of every key, concatenated, encoded as in {@link ServerSets}
+ *   offsets  entry count + 1 ints: where each key's set starts in data, then the end of data
+ * </pre>
+ * A lookup is a binary search over the keys followed by a read of the key's set. IPv6
+ * addresses are not part of the snapshot. A snapshot is limited to 2 GB, the largest
+ * region a single mapping can address.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class MappedBlacklistSnapshot implements BlacklistSource {
+
+    private static final Logger logger = Logger.getLogger(MappedBlacklistSnapshot.class.getName());
+
+    private static final int MAGIC = 0x31534C42; // "BLS1" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final int registeredServersCount;
+    private final int entryCount;
+    private final IntBuffer keys;
+    private final IntBuffer data;
+    private final IntBuffer offsets;
+
+    private MappedBlacklistSnapshot(MappedByteBuffer mapped, int registeredServersCount, int entryCount,
+            int dataWords) {
+        this.registeredServersCount = registeredServersCount;
+        this.entryCount = entryCount;
+        int keysAt = HEADER_BYTES;
+        int dataAt = keysAt + entryCount * 4;
+        int offsetsAt = dataAt + dataWords * 4;
+        this.keys = view(mapped, keysAt, entryCount);
+        this.data = view(mapped, dataAt, dataWords);
+        this.offsets = view(mapped, offsetsAt, entryCount + 1);
+    }
+
+    private static IntBuffer view(ByteBuffer mapped, int at, int ints) {
+        return mapped.slice(at, ints * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Maps a snapshot file read-only.
+     *
+     * @param path The snapshot file.
+     * @return The source serving lookups from the mapped file.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static MappedBlacklistSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a blacklist snapshot (size " + size + "): " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer header = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int magic = header.getInt();
+            int version = header.getInt();
+            int servers = header.getInt();
+            int entries = header.getInt();
+            long dataWords = header.getLong();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Not a blacklist snapshot of version " + VERSION + ": " + path);
+            }
+            long expected = HEADER_BYTES + 4L * entries + 4L * dataWords + 4L * (entries + 1L);
+            if (servers < 0 || entries < 0 || dataWords < 0 || expected != size) {
+                throw new IOException("Truncated or corrupt blacklist snapshot: " + path);
+            }
+            logger.log(Level.INFO, "Mapped blacklist snapshot {0}: {1} addresses, {2} servers",
+                    new Object[]{path, entries, servers});
+            return new MappedBlacklistSnapshot(mapped, servers, entries, (int) dataWords);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the IPv4 data currently held by the facade. The current epoch is
+     * pinned first and every address and server set is read from it, so updates published
+     * while writing are left out entirely. The file is written next to the target and moved
+     * into place, so readers never map a partial snapshot. The format holds exact IPv4
+     * addresses only, so a facade with CIDR prefixes or IPv6 addresses is refused rather than
+     * written without them. The application never calls it; snapshots are produced by tools
+     * that load the facade and call this method.
+     *
+     * @param facade The facade to snapshot.
+     * @param path The snapshot file to create or replace.
+     * @return The number of addresses written.
+     * @throws IOException If the file cannot be written or would exceed 2 GB.
+     * @throws IllegalStateException If the facade holds CIDR prefixes or IPv6 addresses.
+     */
+    public static int write(HostBlackListsDataSourceFacade facade, Path path) throws IOException {
+        HostBlackListsDataSourceFacade.Epoch epoch = facade.currentEpoch();
+        if (epoch.ipv4PrefixCount() > 0) {
+            throw new IllegalStateException("Snapshots cannot hold the " + epoch.ipv4PrefixCount() + " CIDR prefixes");
+        }
+        if (epoch.ipv6AddressCount() > 0) {
+            throw new IllegalStateException("Snapshots cannot hold the " + epoch.ipv6AddressCount() + " IPv6 addresses");
+        }
+        int[] addresses = epoch.ipv4Addresses();
+        // Sort in unsigned order by flipping the sign bit around a signed sort
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+        Arrays.sort(addresses);
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] starts = new int[addresses.length + 1];
+        long dataWords = 0;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(HEADER_BYTES);
+            for (int address : addresses) {
+                putInt(channel, buffer, address);
+            }
+            for (int i = 0; i < addresses.length; i++) {
+                starts[i] = (int) dataWords;
+                int[] set = epoch.ipv4Servers(addresses[i]);
+                for (int word : set) {
+                    putInt(channel, buffer, word);
+                }
+                dataWords += set.length;
+                if (HEADER_BYTES + 4L * addresses.length + 4L * dataWords + 4L * (addresses.length + 1)
+                        > Integer.MAX_VALUE) {
+                    throw new IOException("Blacklist snapshot would exceed 2 GB");
+                }
+            }
+            starts[addresses.length] = (int) dataWords;
+            for (int start : starts) {
+                putInt(channel, buffer, start);
+            }
+            drain(channel, buffer);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(epoch.getRegisteredServersCount())
+                    .putInt(addresses.length).putLong(dataWords).putLong(0L).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, HEADER_BYTES - buffer.remaining());
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return addresses.length;
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the number of addresses in the snapshot.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    @Override
+    public int getRegisteredServersCount() {
+        return registeredServersCount;
+    }
+
+    @Override
+    public boolean isInBlackListServer(int serverIndex, String ip) {
+        int entry = entryOf(ip);
+        if (entry < 0 || serverIndex < 0) {
+            return false;
+        }
+        int start = offsets.get(entry);
+        int end = offsets.get(entry + 1);
+        if (start == end) {
+            return false;
+        }
+        if (data.get(start) != ServerSets.DENSE_MARKER) {
+            return binarySearch(data, start, end, serverIndex);
+        }
+        int word = start + (serverIndex >> 5) + 1;
+        return word < end && (data.get(word) & (1 << serverIndex)) != 0;
+    }
+
+    /**
+     * The sorted keys answer bulk queries with a single lookup.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean supportsBulkLookup() {
+        return true;
+    }
+
+    @Override
+    public int[] getMatches(String ip) {
+        return getFirstMatches(ip, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int[] getFirstMatches(String ip, int limit) {
+        return ServerSets.first(serversOf(ip), limit);
+    }
+
+    @Override
+    public int countMatches(String ip, int fromServer, int toServer) {
+        return ServerSets.count(serversOf(ip), fromServer, toServer);
+    }
+
+    @Override
+    public void reportAsTrustworthy(String ip) {
+        logger.log(Level.INFO, "HOST {0} Reported as trustworthy", ip);
+    }
+
+    @Override
+    public void reportAsNotTrustworthy(String ip) {
+        logger.log(Level.INFO, "HOST {0} Reported as NOT trustworthy", ip);
+    }
+
+    /**
+     * Copies the server set of the given address out of the mapping.
+     *
+     * @param ip The IP address to look up.
+     * @return The server set, or an empty set if not found.
+     */
+    private int[] serversOf(String ip) {
+        int entry = entryOf(ip);
+        if (entry < 0) {
+            return ServerSets.EMPTY;
+        }
+        int start = offsets.get(entry);
+        int[] set = new int[offsets.get(entry + 1) - start];
+        data.get(start, set);
+        return set;
+    }
+
+    /**
+     * Finds the entry of the given address.
+     *
+     * @param ip The IP address to look up.
+     * @return The entry index, or -1 if the address is not in the snapshot.
+     */
+    private int entryOf(String ip) {
+        long ipv4 = Ipv4Addresses.parse(ip);
+        if (ipv4 == Ipv4Addresses.INVALID) {
+            return -1;
+        }
+        int key = (int) ipv4;
+        int lo = 0;
+        int hi = entryCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = Integer.compareUnsigned(keys.get(mid), key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean binarySearch(IntBuffer buffer, int from, int to, int key) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int value = buffer.get(mid);
+            if (value < key) {
+                lo = mid + 1;
+            } else if (value > key) {
+                hi = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package co.eci.blacklist.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the Bloom filter that lets the checker rule out clean IPs without
+ * querying any server. The filter is maintained when {@code blacklist.negative-lookup} is on.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.negative-filter")
+public class NegativeFilterProperties {
+
+    /** Target fraction of clean IPs the filter fails to rule out. Default value is 0.01. */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Returns the target false-positive rate.
+     *
+     * @return The target rate.
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Sets the target false-positive rate. Lower rates take more memory: about 10 bits per
+     * address at 1% and 15 bits at 0.1%.
+     *
+     * @param falsePositiveRate The target rate, above 0 and at most 0.5.
+     */
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate <= 0.5)) {
+            throw new IllegalArgumentException("Negative filter false-positive rate must be above 0 and at most 0.5");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -0,0 +1,204 @@
+package co.eci.blacklist.infrastructure;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the asynchronous verdict reporting pipeline.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.reporting")
+public class ReportingProperties {
+
+    /** Whether verdicts are reported asynchronously; false reports them on the request thread. */
+    private boolean async = false;
+
+    /** Maximum number of verdicts waiting to be published. Default value is 10000. */
+    private int queueCapacity = 10_000;
+
+    /** Maximum number of verdicts published together. Default value is 100. */
+    private int batchSize = 100;
+
+    /** Maximum time a verdict waits for its batch to fill. Default value is 200 milliseconds. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Time an unchanged verdict for the same IP is not reported again. Default value is 60 seconds. */
+    private Duration dedupWindow = Duration.ofSeconds(60);
+
+    /** Maximum number of IP addresses remembered for deduplication. Default value is 100000. */
+    private long dedupMaxEntries = 100_000;
+
+    /** Time a request waits for room in a full queue before the verdict is dropped. Default value is zero. */
+    private Duration offerTimeout = Duration.ZERO;
+
+    /** Maximum time spent flushing pending verdicts on shutdown. Default value is 5 seconds. */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Indicates whether verdicts are reported asynchronously.
+     *
+     * @return True if verdicts go through the pipeline.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Enables or disables asynchronous reporting.
+     *
+     * @param async True to report verdicts through the pipeline.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Returns the queue capacity.
+     *
+     * @return The maximum number of pending verdicts.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the queue capacity.
+     *
+     * @param queueCapacity The maximum number of pending verdicts.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Reporting queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns the batch size.
+     *
+     * @return The maximum number of verdicts published together.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the batch size.
+     *
+     * @param batchSize The maximum number of verdicts published together.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Reporting batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the flush interval.
+     *
+     * @return The maximum time a verdict waits for its batch to fill.
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the flush interval.
+     *
+     * @param flushInterval The maximum time a verdict waits for its batch to fill.
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Reporting flush interval must be positive");
+        }
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Returns the deduplication window.
+     *
+     * @return The time an unchanged verdict is not reported again, zero to report every verdict.
+     */
+    public Duration getDedupWindow() {
+        return dedupWindow;
+    }
+
+    /**
+     * Sets the deduplication window.
+     *
+     * @param dedupWindow The time an unchanged verdict is not reported again, zero to report every verdict.
+     */
+    public void setDedupWindow(Duration dedupWindow) {
+        if (dedupWindow == null || dedupWindow.isNegative()) {
+            throw new IllegalArgumentException("Reporting dedup window cannot be negative");
+        }
+        this.dedupWindow = dedupWindow;
+    }
+
+    /**
+     * Returns the maximum number of IP addresses remembered for deduplication.
+     *
+     * @return The maximum number of entries.
+     */
+    public long getDedupMaxEntries() {
+        return dedupMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of IP addresses remembered for deduplication.
+     *
+     * @param dedupMaxEntries The maximum number of entries.
+     */
+    public void setDedupMaxEntries(long dedupMaxEntries) {
+        if (dedupMaxEntries <= 0) {
+            throw new IllegalArgumentException("Reporting dedup max entries must be positive");
+        }
+        this.dedupMaxEntries = dedupMaxEntries;
+    }
+
+    /**
+     * Returns the time a request waits for room in a full queue.
+     *
+     * @return The offer timeout, zero to drop immediately.
+     */
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    /**
+     * Sets the time a request waits for room in a full queue.
+     *
+     * @param offerTimeout The offer timeout, zero to drop immediately.
+     */
+    public void setOfferTimeout(Duration offerTimeout) {
+        if (offerTimeout == null || offerTimeout.isNegative()) {
+            throw new IllegalArgumentException("Reporting offer timeout cannot be negative");
+        }
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Returns the maximum time spent flushing pending verdicts on shutdown.
+     *
+     * @return The shutdown timeout.
+     */
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * Sets the maximum time spent flushing pending verdicts on shutdown.
+     *
+     * @param shutdownTimeout The shutdown timeout.
+     */
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+            throw new IllegalArgumentException("Reporting shutdown timeout cannot be negative");
+        }
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -0,0 +1,104 @@
+package co.eci.blacklist.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the execution engine that runs blacklist scan segments.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "blacklist.executor")
+public class ScanExecutorProperties {
+
+    /**
+     * Strategy used to run the segments of a scan.
+     */
+    public enum Mode {
+        /** Shared, fixed-size pool of platform threads reused across requests. */
+        PLATFORM,
+        /** One virtual thread per segment (requires a Java 21+ runtime). */
+        VIRTUAL
+    }
+
+    /** Execution mode. Default value is PLATFORM. */
+    private Mode mode = Mode.PLATFORM;
+
+    /** Number of pooled platform threads; 0 means one per available processor. */
+    private int poolSize = 0;
+
+    /** Maximum number of queued segments before the caller runs them itself. */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Returns the execution mode.
+     *
+     * @return The configured execution mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the execution mode.
+     *
+     * @param mode The execution mode to use.
+     */
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Executor mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the configured pool size.
+     *
+     * @return The number of pooled platform threads, or 0 for automatic sizing.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the pool size.
+     *
+     * @param poolSize The number of pooled platform threads, or 0 for automatic sizing.
+     */
+    public void setPoolSize(int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("Pool size cannot be negative");
+        }
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Returns the pool size actually used, resolving 0 to the available processors.
+     *
+     * @return The effective number of pooled platform threads.
+     */
+    public int getEffectivePoolSize() {
+        return poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the queue capacity of the platform pool.
+     *
+     * @return The maximum number of queued segments.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the queue capacity of the platform pool.
+     *
+     * @param queueCapacity The maximum number of queued segments.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,141 @@
+package co.eci.blacklist.infrastructure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Factory for the executors that run blacklist scan segments and other background work.
+ * The project compiles against Java 17, so virtual threads are looked up at runtime
+ * and the platform pool is used when they are not available.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public final class ScanExecutors {
+
+    private static final Logger logger = Logger.getLogger(ScanExecutors.class.getName());
+
+    private ScanExecutors() {
+    }
+
+    /**
+     * Creates a new executor according to the given properties.
+     *
+     * @param properties The executor configuration.
+     * @return A new executor; the caller is responsible for shutting it down.
+     */
+    public static ExecutorService create(ScanExecutorProperties properties) {
+        if (properties.getMode() == ScanExecutorProperties.Mode.VIRTUAL) {
+            ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+            logger.log(Level.WARNING, "Virtual threads are not available on Java {0}, using platform pool",
+                    Runtime.version().feature());
+        }
+        return newPlatformPool(properties.getEffectivePoolSize(), properties.getQueueCapacity());
+    }
+
+    /**
+     * Returns the process-wide default executor, used by checkers built without an explicit one.
+     *
+     * @return The shared default executor.
+     */
+    public static ExecutorService shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads. When the queue is full the submitting
+     * thread runs the segment itself, which bounds memory and slows producers down.
+     *
+     * @param poolSize The number of worker threads.
+     * @param queueCapacity The maximum number of queued segments.
+     * @return A new platform thread pool.
+     */
+    static ExecutorService newPlatformPool(int poolSize, int queueCapacity) {
+        return newPlatformPool("blacklist-scan-", poolSize, queueCapacity);
+    }
+
+    /**
+     * Creates a fixed pool of named daemon platform threads with a bounded, caller-runs queue.
+     *
+     * @param namePrefix The prefix of the worker thread names.
+     * @param poolSize The number of worker threads.
+     * @param queueCapacity The maximum number of queued tasks.
+     * @return A new platform thread pool.
+     */
+    public static ExecutorService newPlatformPool(String namePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new NamedThreadFactory(namePrefix),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.prestartAllCoreThreads();
+        return pool;
+    }
+
+    /**
+     * Creates a fixed pool of named daemon platform threads with a bounded queue that rejects
+     * tasks once it is full, throwing {@link java.util.concurrent.RejectedExecutionException}
+     * to the submitter instead of running the task on its thread.
+     *
+     * @param namePrefix The prefix of the worker thread names.
+     * @param poolSize The number of worker threads.
+     * @param queueCapacity The maximum number of queued tasks, 0 for none.
+     * @return A new platform thread pool.
+     */
+    public static ExecutorService newRejectingPool(String namePrefix, int poolSize, int queueCapacity) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new LinkedBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory(namePrefix), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Lazily created default pool sized to the available processors.
+     */
+    private static final class SharedHolder {
+        private static final ExecutorService INSTANCE = create(new ScanExecutorProperties());
+    }
+
+    /**
+     * Thread factory producing named daemon threads for the platform pools.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        NamedThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
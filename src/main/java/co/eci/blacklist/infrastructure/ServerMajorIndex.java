@@ -0,0 +1,224 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Server-major view of the exact-address stores: for every server, a {@link CompressedBitmap}
+ * of the ids of the addresses it lists. An address's id is its position in its store, the
+ * IPv6 positions following the IPv4 ones, so ids need no map of their own and stay valid as long
+ * as the stores are not written, which holds for a published epoch.
+ *
+ * <p>A batch is evaluated in one pass over the servers: the ids of the batch form a bitmap of
+ * their own, each server's bitmap is intersected with it, and every common id counts a match
+ * for the addresses that resolved to it. Addresses reach the alarm threshold together, and the
+ * pass stops once every address has reached it or cannot match any more.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class ServerMajorIndex {
+
+    private final CompressedBitmap[] servers;
+    private final int ipv6Offset;
+
+    private ServerMajorIndex(CompressedBitmap[] servers, int ipv6Offset) {
+        this.servers = servers;
+        this.ipv6Offset = ipv6Offset;
+    }
+
+    /**
+     * Builds the index of the given stores. Server indices past the registered servers are
+     * never scanned and are left out.
+     *
+     * @param ipv4 The IPv4 store, not written while the index is in use.
+     * @param ipv6 The IPv6 store, not written while the index is in use.
+     * @param serverCount The number of registered servers.
+     * @return The index.
+     */
+    static ServerMajorIndex build(Ipv4BlacklistStore ipv4, Ipv6BlacklistStore ipv6, int serverCount) {
+        int ipv6Offset = ipv4.positions();
+        int[] counts = new int[serverCount];
+        IntConsumer count = server -> {
+            if (server < serverCount) {
+                counts[server]++;
+            }
+        };
+        ipv4.forEachEntry((set, position) -> ServerSets.forEach(set, count));
+        ipv6.forEachEntry((set, position) -> ServerSets.forEach(set, count));
+
+        // Entries are visited in ascending position, so every server's ids come out sorted
+        int[][] ids = new int[serverCount][];
+        for (int s = 0; s < serverCount; s++) {
+            ids[s] = counts[s] == 0 ? ServerSets.EMPTY : new int[counts[s]];
+        }
+        int[] filled = new int[serverCount];
+        ipv4.forEachEntry((set, position) -> ServerSets.forEach(set, server -> {
+            if (server < serverCount) {
+                ids[server][filled[server]++] = position;
+            }
+        }));
+        ipv6.forEachEntry((set, position) -> ServerSets.forEach(set, server -> {
+            if (server < serverCount) {
+                ids[server][filled[server]++] = ipv6Offset + position;
+            }
+        }));
+
+        CompressedBitmap[] servers = new CompressedBitmap[serverCount];
+        for (int s = 0; s < serverCount; s++) {
+            servers[s] = CompressedBitmap.of(ids[s], ids[s].length);
+            ids[s] = null;
+        }
+        return new ServerMajorIndex(servers, ipv6Offset);
+    }
+
+    /**
+     * Returns the id of an IPv4 entry.
+     *
+     * @param position The position of the entry in the IPv4 store.
+     * @return The id.
+     */
+    int ipv4Id(int position) {
+        return position;
+    }
+
+    /**
+     * Returns the id of an IPv6 entry.
+     *
+     * @param position The position of the entry in the IPv6 store.
+     * @return The id.
+     */
+    int ipv6Id(int position) {
+        return ipv6Offset + position;
+    }
+
+    /**
+     * Returns the approximate memory held by the per-server bitmaps.
+     *
+     * @return The size in bytes.
+     */
+    long sizeBytes() {
+        long bytes = 0;
+        for (CompressedBitmap server : servers) {
+            bytes += server.sizeBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the lowest matching servers of every address of a batch in one pass over the servers.
+     *
+     * @param ids For each address, its id, or -1 if no entry of the stores lists it.
+     * @param extras For each address, the servers listing it apart from its entry (through a
+     *        CIDR prefix) as a server set, or null for none.
+     * @param limit The number of matches after which an address is no longer counted.
+     * @return For each address, up to {@code limit} matching server indices in ascending order.
+     */
+    int[][] firstMatches(int[] ids, int[][] extras, int limit) {
+        int n = ids.length;
+        BatchMatches matches = new BatchMatches(n, limit);
+
+        // Sort the (id, position) pairs: the distinct ids form the batch bitmap, and the
+        // positions sharing an id are chained behind it
+        long[] pairs = new long[n];
+        int listed = 0;
+        for (int i = 0; i < n; i++) {
+            if (ids[i] >= 0) {
+                pairs[listed++] = (long) ids[i] << 32 | i;
+            }
+        }
+        Arrays.sort(pairs, 0, listed);
+        int[] batchIds = new int[listed];
+        int[] firstPosition = new int[listed];
+        int[] nextPosition = new int[n];
+        int distinct = 0;
+        for (int i = 0; i < listed; i++) {
+            int id = (int) (pairs[i] >>> 32);
+            int position = (int) pairs[i];
+            if (distinct > 0 && batchIds[distinct - 1] == id) {
+                nextPosition[position] = firstPosition[distinct - 1];
+            } else {
+                batchIds[distinct++] = id;
+                nextPosition[position] = -1;
+            }
+            firstPosition[distinct - 1] = position;
+        }
+        CompressedBitmap batch = CompressedBitmap.of(batchIds, distinct);
+
+        // Servers listing an address through a prefix, as (server, position) pairs in server order
+        long[] extraPairs = new long[0];
+        int extraCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (extras[i] != null) {
+                int[] indices = ServerSets.first(extras[i], Integer.MAX_VALUE);
+                if (extraCount + indices.length > extraPairs.length) {
+                    extraPairs = Arrays.copyOf(extraPairs, Math.max(extraPairs.length * 2, extraCount + indices.length));
+                }
+                for (int server : indices) {
+                    extraPairs[extraCount++] = (long) server << 32 | i;
+                }
+            } else if (ids[i] < 0) {
+                // Nothing lists it, so its verdict is known before the pass
+                matches.close(i);
+            }
+        }
+        Arrays.sort(extraPairs, 0, extraCount);
+
+        Pass pass = new Pass(matches, batchIds, distinct, firstPosition, nextPosition, n);
+        int extra = 0;
+        for (int s = 0; s < servers.length && !matches.isDone(); s++) {
+            pass.server = s;
+            if (distinct > 0 && servers[s].cardinality() > 0) {
+                servers[s].forEachCommon(batch, pass);
+            }
+            while (extra < extraCount && (int) (extraPairs[extra] >>> 32) <= s) {
+                if ((int) (extraPairs[extra] >>> 32) == s) {
+                    pass.hit((int) extraPairs[extra], s);
+                }
+                extra++;
+            }
+        }
+        return matches.toArrays();
+    }
+
+    /**
+     * Receives the ids common to one server and the batch, and counts a match for each
+     * address that resolved to them, once per server.
+     */
+    private static final class Pass implements IntConsumer {
+
+        private final BatchMatches matches;
+        private final int[] batchIds;
+        private final int distinct;
+        private final int[] firstPosition;
+        private final int[] nextPosition;
+        private final int[] lastServer;
+        private int server;
+
+        Pass(BatchMatches matches, int[] batchIds, int distinct, int[] firstPosition, int[] nextPosition, int n) {
+            this.matches = matches;
+            this.batchIds = batchIds;
+            this.distinct = distinct;
+            this.firstPosition = firstPosition;
+            this.nextPosition = nextPosition;
+            this.lastServer = new int[n];
+            Arrays.fill(lastServer, -1);
+        }
+
+        @Override
+        public void accept(int id) {
+            int rank = Arrays.binarySearch(batchIds, 0, distinct, id);
+            for (int position = firstPosition[rank]; position >= 0; position = nextPosition[position]) {
+                hit(position, server);
+            }
+        }
+
+        void hit(int position, int server) {
+            // An address listed by its entry and by a prefix on one server matches it once
+            if (matches.isOpen(position) && lastServer[position] != server) {
+                lastServer[position] = server;
+                matches.add(position, server);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Static helpers over a compact, immutable set of server indices stored in a single {@code int[]}.
+ * Two encodings are used, whichever is smaller:
+ * <ul>
+ *   <li>sparse: the sorted server indices themselves;</li>
+ *   <li>dense: {@link #DENSE_MARKER} followed by a bitmap, bit {@code i} set when server {@code i} lists the IP.</li>
+ * </ul>
+ * Server indices are never negative, so the marker cannot be confused with a sparse entry.
+ * Every update returns a new array, so readers never observe a partially applied change.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+final class ServerSets {
+
+    /** Shared empty set. */
+    static final int[] EMPTY = new int[0];
+
+    /** First element of a dense (bitmap) set. */
+    static final int DENSE_MARKER = -1;
+
+    private ServerSets() {
+    }
+
+    /**
+     * Returns a set containing the indices of the given set plus the new ones.
+     *
+     * @param set The current set.
+     * @param indices The server indices to add.
+     * @return A new set in its most compact encoding.
+     */
+    static int[] with(int[] set, List<Integer> indices) {
+        int[] added = new int[indices.size()];
+        for (int i = 0; i < added.length; i++) {
+            int index = indices.get(i);
+            if (index < 0) {
+                throw new IllegalArgumentException("Server index cannot be negative: " + index);
+            }
+            added[i] = index;
+        }
+        return with(set, added);
+    }
+
+    /**
+     * Returns a set containing the indices of the given set plus the new ones.
+     *
+     * @param set The current set.
+     * @param added The non-negative server indices to add, in any order.
+     * @return A new set in its most compact encoding.
+     */
+    static int[] with(int[] set, int[] added) {
+        int[] current = first(set, Integer.MAX_VALUE);
+        int[] merged = Arrays.copyOf(current, current.length + added.length);
+        System.arraycopy(added, 0, merged, current.length, added.length);
+        Arrays.sort(merged);
+
+        int n = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (n == 0 || merged[i] != merged[n - 1]) {
+                merged[n++] = merged[i];
+            }
+        }
+        return encode(merged, n);
+    }
+
+    /**
+     * Encodes the first {@code n} sorted, distinct indices in the smaller representation.
+     *
+     * @param sorted The sorted distinct indices.
+     * @param n The number of indices to take.
+     * @return The encoded set.
+     */
+    static int[] encode(int[] sorted, int n) {
+        if (n == 0) {
+            return EMPTY;
+        }
+        int bitmapWords = (sorted[n - 1] >> 5) + 1;
+        if (n <= bitmapWords + 1) {
+            return sorted.length == n ? sorted : Arrays.copyOf(sorted, n);
+        }
+        int[] dense = new int[bitmapWords + 1];
+        dense[0] = DENSE_MARKER;
+        for (int i = 0; i < n; i++) {
+            dense[(sorted[i] >> 5) + 1] |= 1 << sorted[i];
+        }
+        return dense;
+    }
+
+    /**
+     * Tests whether the given server index is in the set.
+     *
+     * @param set The set.
+     * @param index The server index.
+     * @return True if the index is present, false otherwise.
+     */
+    static boolean contains(int[] set, int index) {
+        if (index < 0 || set.length == 0) {
+            return false;
+        }
+        if (set[0] != DENSE_MARKER) {
+            return Arrays.binarySearch(set, index) >= 0;
+        }
+        int word = (index >> 5) + 1;
+        return word < set.length && (set[word] & (1 << index)) != 0;
+    }
+
+    /**
+     * Returns the lowest server indices of the set, in ascending order, up to the given limit.
+     *
+     * @param set The set.
+     * @param limit The maximum number of indices to return.
+     * @return The first {@code limit} indices, or all of them if there are fewer.
+     */
+    static int[] first(int[] set, int limit) {
+        if (limit <= 0 || set.length == 0) {
+            return EMPTY;
+        }
+        if (set[0] != DENSE_MARKER) {
+            return limit >= set.length ? set.clone() : Arrays.copyOf(set, limit);
+        }
+        int[] out = new int[Math.min(limit, count(set))];
+        int n = 0;
+        for (int w = 1; w < set.length && n < out.length; w++) {
+            int word = set[w];
+            while (word != 0 && n < out.length) {
+                out[n++] = ((w - 1) << 5) + Integer.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Passes every index of the set to the action, in ascending order, without allocating.
+     *
+     * @param set The set.
+     * @param action The action receiving each server index.
+     */
+    static void forEach(int[] set, IntConsumer action) {
+        if (set.length == 0 || set[0] != DENSE_MARKER) {
+            for (int index : set) {
+                action.accept(index);
+            }
+            return;
+        }
+        for (int w = 1; w < set.length; w++) {
+            for (int word = set[w]; word != 0; word &= word - 1) {
+                action.accept(((w - 1) << 5) + Integer.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * Counts the indices in the set.
+     *
+     * @param set The set.
+     * @return The number of server indices.
+     */
+    static int count(int[] set) {
+        if (set.length == 0 || set[0] != DENSE_MARKER) {
+            return set.length;
+        }
+        int total = 0;
+        for (int w = 1; w < set.length; w++) {
+            total += Integer.bitCount(set[w]);
+        }
+        return total;
+    }
+
+    /**
+     * Counts the indices in the half-open range {@code [from, to)}.
+     *
+     * @param set The set.
+     * @param from The first server index, inclusive.
+     * @param to The last server index, exclusive.
+     * @return The number of indices in the range.
+     */
+    static int count(int[] set, int from, int to) {
+        from = Math.max(0, from);
+        if (from >= to || set.length == 0) {
+            return 0;
+        }
+        if (set[0] != DENSE_MARKER) {
+            return insertionPoint(set, to) - insertionPoint(set, from);
+        }
+        to = Math.min(to, (set.length - 1) << 5);
+        if (from >= to) {
+            return 0;
+        }
+        int firstWord = (from >> 5) + 1;
+        int lastWord = ((to - 1) >> 5) + 1;
+        int firstMask = -1 << from;
+        int lastMask = -1 >>> -to;
+        if (firstWord == lastWord) {
+            return Integer.bitCount(set[firstWord] & firstMask & lastMask);
+        }
+        int total = Integer.bitCount(set[firstWord] & firstMask);
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            total += Integer.bitCount(set[w]);
+        }
+        return total + Integer.bitCount(set[lastWord] & lastMask);
+    }
+
+    private static int insertionPoint(int[] sorted, int key) {
+        int pos = Arrays.binarySearch(sorted, key);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+}
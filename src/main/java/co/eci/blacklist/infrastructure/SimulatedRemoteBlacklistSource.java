@@ -0,0 +1,191 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Blacklist source that behaves like the remote servers of the original lab: every
+ * per-server lookup blocks for a latency drawn from the configured distribution before
+ * being answered by the delegate. Bulk queries are not offered, so the checker has to
+ * scan, which makes thread-count and scheduling experiments I/O-bound instead of
+ * measuring a hash lookup. A batch costs one round trip per server.
+ *
+ * <p>A configurable fraction of servers is consistently slower, chosen by a hash of the
+ * server index, and any lookup may stall with a configurable probability.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+public class SimulatedRemoteBlacklistSource implements BlacklistSource {
+
+    private final BlacklistSource delegate;
+    private final BlacklistSourceProperties.Distribution distribution;
+    private final long meanNanos;
+    private final long stdDevNanos;
+    private final double tailShape;
+    /** Pareto scale giving LONG_TAIL the configured mean: mean * (shape - 1) / shape. */
+    private final double tailScaleNanos;
+    private final double stallProbability;
+    private final long stallNanos;
+    private final int slowServerThreshold;
+    private final double slowServerFactor;
+
+    /**
+     * Constructor of the SimulatedRemoteBlacklistSource class.
+     *
+     * @param delegate The source that answers the lookups.
+     * @param latency The latency to simulate.
+     */
+    public SimulatedRemoteBlacklistSource(BlacklistSource delegate, BlacklistSourceProperties.Latency latency) {
+        this.delegate = delegate;
+        this.distribution = latency.getDistribution();
+        this.meanNanos = latency.getMean().toNanos();
+        this.stdDevNanos = latency.getStdDev().toNanos();
+        this.tailShape = latency.getTailShape();
+        this.tailScaleNanos = meanNanos * (tailShape - 1.0) / tailShape;
+        this.stallProbability = latency.getStallProbability();
+        this.stallNanos = latency.getStallDuration().toNanos();
+        this.slowServerThreshold = (int) Math.round(latency.getSlowServerRatio() * 1024);
+        this.slowServerFactor = latency.getSlowServerFactor();
+    }
+
+    /**
+     * Creates a source with the latency of another one over a different delegate.
+     *
+     * @param template The source whose latency is copied.
+     * @param delegate The source that answers the lookups.
+     */
+    private SimulatedRemoteBlacklistSource(SimulatedRemoteBlacklistSource template, BlacklistSource delegate) {
+        this.delegate = delegate;
+        this.distribution = template.distribution;
+        this.meanNanos = template.meanNanos;
+        this.stdDevNanos = template.stdDevNanos;
+        this.tailShape = template.tailShape;
+        this.tailScaleNanos = template.tailScaleNanos;
+        this.stallProbability = template.stallProbability;
+        this.stallNanos = template.stallNanos;
+        this.slowServerThreshold = template.slowServerThreshold;
+        this.slowServerFactor = template.slowServerFactor;
+    }
+
+    @Override
+    public int getRegisteredServersCount() {
+        return delegate.getRegisteredServersCount();
+    }
+
+    @Override
+    public boolean isInBlackListServer(int serverIndex, String ip) {
+        simulateLatency(serverIndex);
+        return delegate.isInBlackListServer(serverIndex, ip);
+    }
+
+    @Override
+    public void reportAsTrustworthy(String ip) {
+        delegate.reportAsTrustworthy(ip);
+    }
+
+    @Override
+    public void reportAsNotTrustworthy(String ip) {
+        delegate.reportAsNotTrustworthy(ip);
+    }
+
+    /**
+     * Asks each server about the whole batch in one round trip, so a pass over the servers
+     * costs one latency per server however many addresses the batch holds.
+     *
+     * @param ips The IP addresses to check.
+     * @param limit The maximum number of indices to return per address.
+     * @return For each address, up to {@code limit} server indices in ascending order.
+     */
+    @Override
+    public int[][] getFirstMatches(List<String> ips, int limit) {
+        BatchMatches matches = new BatchMatches(ips.size(), limit);
+        for (int s = 0, total = getRegisteredServersCount(); s < total && !matches.isDone(); s++) {
+            simulateLatency(s);
+            for (int i = 0; i < ips.size(); i++) {
+                if (matches.isOpen(i) && delegate.isInBlackListServer(s, ips.get(i))) {
+                    matches.add(i, s);
+                }
+            }
+        }
+        return matches.toArrays();
+    }
+
+    /**
+     * Answers from the delegate without simulated latency: the filter is a local structure
+     * consulted before any remote server.
+     *
+     * @param ip The IP address to check.
+     * @return False if no server lists the address, true if some server might.
+     */
+    @Override
+    public boolean mightBeListed(String ip) {
+        return delegate.mightBeListed(ip);
+    }
+
+    @Override
+    public BlacklistSource pinned() {
+        BlacklistSource view = delegate.pinned();
+        return view == delegate ? this : new SimulatedRemoteBlacklistSource(this, view);
+    }
+
+    @Override
+    public long epoch() {
+        return delegate.epoch();
+    }
+
+    @Override
+    public void addChangeListener(Consumer<String> listener) {
+        delegate.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(Consumer<String> listener) {
+        delegate.removeChangeListener(listener);
+    }
+
+    /**
+     * Indicates whether the given server is one of the consistently slow ones.
+     *
+     * @param serverIndex The server index.
+     * @return True if lookups on the server are multiplied by the slow server factor.
+     */
+    boolean isSlowServer(int serverIndex) {
+        int h = serverIndex * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & 1023) < slowServerThreshold;
+    }
+
+    /**
+     * Draws the latency of one lookup on the given server.
+     *
+     * @param serverIndex The server index.
+     * @return The latency in nanoseconds.
+     */
+    long sampleLatencyNanos(int serverIndex) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double nanos = switch (distribution) {
+            case FIXED -> meanNanos;
+            case NORMAL -> Math.max(0.0, meanNanos + random.nextGaussian() * stdDevNanos);
+            case LONG_TAIL -> tailScaleNanos / Math.pow(1.0 - random.nextDouble(), 1.0 / tailShape);
+        };
+        if (isSlowServer(serverIndex)) {
+            nanos *= slowServerFactor;
+        }
+        if (stallProbability > 0 && random.nextDouble() < stallProbability) {
+            nanos += stallNanos;
+        }
+        return (long) nanos;
+    }
+
+    private void simulateLatency(int serverIndex) {
+        long remaining = sampleLatencyNanos(serverIndex);
+        long deadline = System.nanoTime() + remaining;
+        // parkNanos may return early; keep blocking until the latency has elapsed or the thread is interrupted
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.List;
+
+/**
+ * Destination of the verdicts published by the asynchronous reporting pipeline,
+ * such as an external reporting system that accepts several verdicts per call.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface VerdictSink {
+
+    /**
+     * A verdict to report.
+     *
+     * @param ip The IP address checked.
+     * @param trustworthy The verdict.
+     */
+    record Verdict(String ip, boolean trustworthy) {
+    }
+
+    /**
+     * Publishes a batch of verdicts. Called from a single thread.
+     *
+     * @param verdicts The verdicts, in the order they were submitted.
+     */
+    void publish(List<Verdict> verdicts);
+
+    /**
+     * Returns a sink that forwards every verdict to the report methods of a source.
+     *
+     * @param source The source whose report methods are called.
+     * @return The forwarding sink.
+     */
+    static VerdictSink forwardingTo(BlacklistSource source) {
+        return verdicts -> {
+            for (Verdict verdict : verdicts) {
+                if (verdict.trustworthy()) {
+                    source.reportAsTrustworthy(verdict.ip());
+                } else {
+                    source.reportAsNotTrustworthy(verdict.ip());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,244 @@
+package co.eci.blacklist.api;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import co.eci.blacklist.BlacklistApiApplication;
+import co.eci.blacklist.application.AdminProperties;
+import co.eci.blacklist.application.BlacklistAdminService;
+import co.eci.blacklist.infrastructure.BlacklistSourceProperties;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+@SpringBootTest(classes = BlacklistApiApplication.class)
+@AutoConfigureMockMvc
+
+/**
+ * Test 15 - API tests for the AdminController endpoints.
+ * Tests the publication of deltas and reloads as new data epochs.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class AdminControllerTest {
+
+    private static final Path FEEDS = createFeedDirectory();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    BlacklistAdminService adminService;
+
+    @DynamicPropertySource
+    static void adminProperties(DynamicPropertyRegistry registry) {
+        registry.add("blacklist.admin.enabled", () -> "true");
+        registry.add("blacklist.admin.feed-directory", FEEDS::toString);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HostBlackListsDataSourceFacade.getInstance().update(editor -> editor
+                .clear("198.51.100.40").clear("198.51.100.41").clear("198.51.100.42")
+                .clear("198.51.100.43").clear("198.51.100.44").clear("198.51.100.45")
+                .clear("198.51.100.46").clear("198.51.100.47"));
+    }
+
+    /**
+     * Test 15.1: A delta is published as a new epoch that later checks report.
+     * Expects the epoch to advance and the seeded IP to become untrusted.
+     */
+    @Test
+    void test15_1_deltaShouldPublishANewEpoch() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/blacklist/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"seed": {"198.51.100.40": [1, 2, 3, 4, 5]}, "clear": ["198.51.100.41"]}
+                                """))
+                .andExpect(status().isOk());
+        long epoch = HostBlackListsDataSourceFacade.getInstance().epoch();
+
+        mockMvc.perform(get("/api/v1/admin/blacklist/epoch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.epoch").value(epoch));
+        mockMvc.perform(get("/api/v1/blacklist/check")
+                        .param("ip", "198.51.100.40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trustworthy").value(false))
+                .andExpect(jsonPath("$.dataEpoch").value(epoch));
+    }
+
+    /**
+     * Test 15.2: Invalid deltas are rejected without publishing anything.
+     * Expects a 400 Bad Request response.
+     */
+    @Test
+    void test15_2_invalidDeltaShouldReturn400() throws Exception {
+        long epoch = HostBlackListsDataSourceFacade.getInstance().epoch();
+        mockMvc.perform(post("/api/v1/admin/blacklist/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"seed": {"198.51.100.40": [1, -2]}}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/admin/blacklist/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clear": ["not-an-ip"]}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/admin/blacklist/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"seed": {"198.51.100.40": [50000]}}
+                                """))
+                .andExpect(status().isBadRequest());
+        assertEquals(epoch, HostBlackListsDataSourceFacade.getInstance().epoch());
+    }
+
+    /**
+     * Test 15.3: Reloads only read feeds inside the feed directory and report missing feeds.
+     * Expects 400 for a path escaping the directory and 404 for a missing feed.
+     */
+    @Test
+    void test15_3_reloadShouldStayInsideTheFeedDirectory() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/blacklist/reload")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"feed": "../outside.csv"}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/admin/blacklist/reload")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"feed": "missing.csv"}
+                                """))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test 15.4: A reload from a per-server feed replaces the data in one new epoch.
+     * Expects the import statistics and only the feed's addresses to remain.
+     */
+    @Test
+    void test15_4_reloadShouldReplaceTheData() throws Exception {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        int[] concentrated = facade.getMatches("200.24.34.55");
+        int[] dispersed = facade.getMatches("202.24.34.55");
+        long before = facade.epoch();
+        Files.writeString(FEEDS.resolve("server-7.txt"), "198.51.100.42\n# comment\nbogus\n");
+        try {
+            mockMvc.perform(post("/api/v1/admin/blacklist/reload")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"feed": "server-7.txt", "serverIndex": 7}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows").value(2))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.epoch").value(before + 1));
+
+            assertArrayEquals(new int[]{7}, facade.getMatches("198.51.100.42"));
+            assertEquals(0, facade.getMatches("200.24.34.55").length);
+        } finally {
+            facade.update(editor -> editor
+                    .seed("200.24.34.55", Arrays.stream(concentrated).boxed().toList())
+                    .seed("202.24.34.55", Arrays.stream(dispersed).boxed().toList()));
+        }
+    }
+
+    /**
+     * Test 15.5: Concurrent deltas are all published, sharing epochs when they queue up.
+     * Expects every seed to be visible and no more epochs than deltas.
+     */
+    @Test
+    void test15_5_concurrentDeltasShouldAllBePublished() throws Exception {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        long before = facade.epoch();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> epochs = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String ip = "198.51.100." + (40 + i);
+                int server = i + 1;
+                epochs.add(pool.submit(() -> adminService.applyDelta(Map.of(ip, List.of(server)), List.of())));
+            }
+            for (Future<Long> epoch : epochs) {
+                assertTrue(epoch.get() > before);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < 8; i++) {
+            assertArrayEquals(new int[]{i + 1}, facade.getMatches("198.51.100." + (40 + i)));
+        }
+        assertTrue(facade.epoch() - before <= 8);
+    }
+
+    /**
+     * Test 15.6: Updates are refused when checks are served from a snapshot, which they would
+     * never reach. Expects 409 Conflict and the facade left unchanged.
+     */
+    @Test
+    void test15_6_updatesShouldBeRejectedForASnapshotSource() throws Exception {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        BlacklistSourceProperties sourceProperties = new BlacklistSourceProperties();
+        sourceProperties.setType(BlacklistSourceProperties.Type.SNAPSHOT);
+        AdminProperties adminProperties = new AdminProperties();
+        adminProperties.setEnabled(true);
+        adminProperties.setFeedDirectory(FEEDS);
+        MockMvc snapshotMvc = MockMvcBuilders.standaloneSetup(new AdminController(
+                new BlacklistAdminService(facade, facade, sourceProperties, adminProperties), adminProperties))
+                .build();
+        long epoch = facade.epoch();
+
+        snapshotMvc.perform(post("/api/v1/admin/blacklist/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"seed": {"198.51.100.40": [1]}}
+                                """))
+                .andExpect(status().isConflict());
+        snapshotMvc.perform(post("/api/v1/admin/blacklist/reload")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"feed": "missing.csv"}
+                                """))
+                .andExpect(status().isConflict());
+        assertEquals(epoch, facade.epoch());
+    }
+
+    private static Path createFeedDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("blacklist-feeds");
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,10 +5,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import co.eci.blacklist.BlacklistApiApplication;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
 
 @SpringBootTest(classes = BlacklistApiApplication.class)
 @AutoConfigureMockMvc
@@ -47,4 +58,120 @@ class BlacklistControllerTest {
                         .param("ip", "999.999.999.999"))
                 .andExpect(status().isBadRequest());
     }
+
+    /**
+     * Test 5.3: Tests the batch endpoint with duplicates and an invalid entry.
+     * Expects one result per distinct valid IP, in order of first appearance.
+     */
+    @Test
+    void test5_3_batchShouldDeduplicateAndReportInvalid() throws Exception {
+        mockMvc.perform(post("/api/v1/blacklist/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ips": ["200.24.34.55", "212.24.24.55", "200.24.34.55", "not-an-ip"], "threads": 2}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(4))
+                .andExpect(jsonPath("$.unique").value(3))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].ip").value("200.24.34.55"))
+                .andExpect(jsonPath("$.results[0].trustworthy").value(false))
+                .andExpect(jsonPath("$.results[1].trustworthy").value(true))
+                .andExpect(jsonPath("$.invalid[0]").value("not-an-ip"))
+                .andExpect(jsonPath("$.untrusted").value(1));
+    }
+
+    /**
+     * Test 5.4: Tests the batch endpoint with an empty list.
+     * Expects a 400 Bad Request response.
+     */
+    @Test
+    void test5_4_batchShouldRejectEmptyList() throws Exception {
+        mockMvc.perform(post("/api/v1/blacklist/check-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ips\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test 5.5: Tests the streaming endpoint with a concentrated IP.
+     * Expects match events followed by a final verdict event.
+     */
+    @Test
+    void test5_5_streamShouldEmitMatchesAndVerdict() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/blacklist/check/stream")
+                        .param("ip", "200.24.34.55")
+                        .param("threads", "4"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // The scan may finish before the handler returns, in which case no async dispatch is needed
+        MvcResult finished = started.getRequest().isAsyncStarted()
+                ? mockMvc.perform(asyncDispatch(started)).andReturn()
+                : started;
+
+        String body = finished.getResponse().getContentAsString();
+        assertThat(body, containsString("event:match"));
+        assertThat(body, containsString("event:progress"));
+        assertThat(body, containsString("event:verdict"));
+        assertThat(body, containsString("\"trustworthy\":false"));
+    }
+
+    /**
+     * Test 5.6: Tests the timeout parameter: a complete verdict is not marked partial
+     * and a negative timeout is rejected.
+     */
+    @Test
+    void test5_6_checkShouldAcceptTimeoutAndRejectNegative() throws Exception {
+        mockMvc.perform(get("/api/v1/blacklist/check")
+                        .param("ip", "202.24.34.55")
+                        .param("timeoutMs", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trustworthy").value(false))
+                .andExpect(jsonPath("$.partial").value(false));
+
+        mockMvc.perform(get("/api/v1/blacklist/check")
+                        .param("ip", "202.24.34.55")
+                        .param("timeoutMs", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test 5.7: Tests IPv6 addresses in several textual forms: they are accepted, checked
+     * once in their canonical form, and find the data seeded under another form.
+     */
+    @Test
+    void test5_7_ipv6FormsShouldShareOneVerdict() throws Exception {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        facade.seed("2001:DB8:0:0:0:0:0:55", List.of(1, 2, 3, 4, 5));
+        try {
+            mockMvc.perform(get("/api/v1/blacklist/check")
+                            .param("ip", "2001:db8::55"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trustworthy").value(false));
+
+            mockMvc.perform(post("/api/v1/blacklist/check-batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"ips": ["2001:db8::55", "2001:0DB8:0:0::0055", "2001:db8::55::1"]}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results.length()").value(1))
+                    .andExpect(jsonPath("$.results[0].ip").value("2001:db8::55"))
+                    .andExpect(jsonPath("$.invalid[0]").value("2001:db8::55::1"))
+                    .andExpect(jsonPath("$.untrusted").value(1));
+        } finally {
+            facade.clear("2001:db8::55");
+        }
+    }
+
+    /**
+     * Test 5.8: Tests that a host name is refused as it is by the IP validation, not looked up.
+     */
+    @Test
+    void test5_8_hostNameShouldBeRejectedWithoutResolving() throws Exception {
+        mockMvc.perform(get("/api/v1/blacklist/check")
+                        .param("ip", "localhost"))
+                .andExpect(status().isBadRequest());
+    }
 }
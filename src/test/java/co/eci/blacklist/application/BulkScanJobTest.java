@@ -0,0 +1,198 @@
+package co.eci.blacklist.application;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 20 - Tests for the offline bulk scan.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class BulkScanJobTest {
+
+    private static final String LISTED_IP = "198.51.100.41";
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+    private final Policies policies = new Policies();
+    private final BulkScanProperties properties = new BulkScanProperties();
+    private final BatchProperties batchProperties = new BatchProperties();
+    private BlacklistChecker checker;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        facade.seed(LISTED_IP, List.of(2, 4, 6, 8, 10, 12));
+        policies.setIndexedLookup(true);
+        checker = new BlacklistChecker(facade, policies);
+        properties.setParallelism(2);
+        properties.setChunkSize(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        facade.clear(LISTED_IP);
+    }
+
+    private List<String> inventory(int clean) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# customer inventory");
+        for (int i = 0; i < clean; i++) {
+            lines.add("10.20." + i / 256 + "." + i % 256);
+            if (i % 10 == 3) {
+                lines.add(LISTED_IP);
+            }
+            if (i % 25 == 7) {
+                lines.add("");
+                lines.add("not-an-ip");
+                lines.add("2001:DB8:0:0::" + Integer.toHexString(i));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Test 20.1: Every address is reported in input order with the verdict of a single check,
+     * in CSV and NDJSON, and lines that are not addresses are counted as rejected.
+     */
+    @Test
+    void test20_1_reportShouldMatchSingleChecksInInputOrder() throws IOException {
+        List<String> lines = inventory(100);
+        Path input = Files.write(directory.resolve("inventory.txt"), lines);
+        List<String> addresses = lines.stream()
+                .filter(line -> !line.isEmpty() && !line.startsWith("#") && !line.equals("not-an-ip"))
+                .toList();
+
+        Path csv = directory.resolve("verdicts.csv");
+        BulkScanJob.Result result = new BulkScanJob(checker, properties, batchProperties).run(input, csv, progress -> { });
+        assertEquals(lines.size(), result.lines());
+        assertEquals(addresses.size(), result.checked());
+        assertEquals(10, result.listed());
+        assertEquals(4, result.rejected());
+        assertEquals(0, result.resumedLines());
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals("ip,trustworthy,matches,checked_servers,total_servers,data_epoch", rows.get(0));
+        assertEquals(addresses.size() + 1, rows.size());
+        for (int i = 0; i < addresses.size(); i++) {
+            MatchResult expected = checker.checkHost(addresses.get(i), 1);
+            String[] row = rows.get(i + 1).split(",", -1);
+            assertEquals(addresses.get(i), row[0]);
+            assertEquals(Boolean.toString(expected.trustworthy()), row[1]);
+            assertEquals(expected.matches().isEmpty() ? "" : "2 4 6 8 10", row[2]);
+            assertEquals(Integer.toString(expected.checkedServers()), row[3]);
+            assertEquals(Integer.toString(expected.totalServers()), row[4]);
+        }
+
+        properties.setFormat(BulkScanProperties.Format.NDJSON);
+        Path ndjson = directory.resolve("verdicts.ndjson");
+        new BulkScanJob(checker, properties, batchProperties).run(input, ndjson, progress -> { });
+        List<String> objects = Files.readAllLines(ndjson);
+        assertEquals(addresses.size(), objects.size());
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < addresses.size(); i++) {
+            JsonNode node = mapper.readTree(objects.get(i));
+            assertEquals(addresses.get(i), node.get("ip").asText());
+            assertEquals(addresses.get(i).equals(LISTED_IP), !node.get("trustworthy").asBoolean());
+            assertEquals(addresses.get(i).equals(LISTED_IP) ? 5 : 0, node.get("matches").size());
+        }
+
+        // A server-major pass per chunk reports the same verdicts as the index
+        policies.setIndexedLookup(false);
+        batchProperties.setServerMajor(true);
+        properties.setFormat(BulkScanProperties.Format.CSV);
+        Path pass = directory.resolve("pass.csv");
+        new BulkScanJob(checker, properties, batchProperties).run(input, pass, progress -> { });
+        assertEquals(rows, Files.readAllLines(pass));
+    }
+
+    /**
+     * Test 20.2: A run that crashes after writing part of the report resumes from its checkpoint,
+     * dropping the unacknowledged tail, and ends with the same report as an uninterrupted run.
+     */
+    @Test
+    void test20_2_crashedScanShouldResumeFromCheckpoint() throws IOException {
+        Path input = Files.write(directory.resolve("inventory.txt"), inventory(300));
+        Path complete = directory.resolve("complete.csv");
+        new BulkScanJob(checker, properties, batchProperties).run(input, complete, progress -> { });
+
+        properties.setProgressInterval(Duration.ofNanos(1));
+        Path output = directory.resolve("verdicts.csv");
+        AtomicInteger reports = new AtomicInteger();
+        RuntimeException crash = assertThrows(RuntimeException.class,
+                () -> new BulkScanJob(checker, properties, batchProperties).run(input, output, progress -> {
+                    if (reports.incrementAndGet() == 5) {
+                        throw new IllegalStateException("crash");
+                    }
+                }));
+        assertEquals("crash", crash.getMessage());
+        assertTrue(Files.exists(BulkScanJob.checkpointFile(output)));
+        assertTrue(Files.size(output) < Files.size(complete));
+        // Half a row written after the last checkpoint
+        Files.writeString(output, "10.20.0.", StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+
+        properties.setResume(true);
+        List<BulkScanJob.Progress> progress = new ArrayList<>();
+        BulkScanJob.Result result = new BulkScanJob(checker, properties, batchProperties)
+                .run(input, output, progress::add);
+        assertTrue(result.resumedLines() > 0);
+        assertEquals(Files.readAllLines(complete), Files.readAllLines(output));
+        assertEquals(result.lines(), progress.get(progress.size() - 1).lines());
+        assertEquals(Files.size(input), progress.get(progress.size() - 1).bytesRead());
+        assertEquals(Duration.ZERO, progress.get(progress.size() - 1).eta());
+
+        // A checkpoint of another input is refused rather than mixing two reports
+        Path other = Files.write(directory.resolve("other.txt"), List.of("10.0.0.1"));
+        assertThrows(IllegalStateException.class,
+                () -> new BulkScanJob(checker, properties, batchProperties).run(other, output, p -> { }));
+    }
+
+    /**
+     * Test 20.3: With CRLF line endings, every progress report counts the exact bytes of the
+     * lines reported, terminators included.
+     */
+    @Test
+    void test20_3_progressShouldCountCrlfTerminators() throws IOException {
+        List<String> lines = inventory(100);
+        Path input = Files.writeString(directory.resolve("inventory.txt"),
+                String.join("\r\n", lines) + "\r\n", StandardCharsets.US_ASCII);
+        long[] lineEnds = new long[lines.size() + 1];
+        for (int i = 0; i < lines.size(); i++) {
+            lineEnds[i + 1] = lineEnds[i] + lines.get(i).length() + 2;
+        }
+
+        properties.setProgressInterval(Duration.ofNanos(1));
+        List<BulkScanJob.Progress> progress = new ArrayList<>();
+        BulkScanJob.Result result = new BulkScanJob(checker, properties, batchProperties)
+                .run(input, directory.resolve("verdicts.csv"), progress::add);
+        assertEquals(lines.size(), result.lines());
+        assertTrue(progress.size() > 2);
+        for (BulkScanJob.Progress report : progress) {
+            assertEquals(lineEnds[(int) report.lines()], report.bytesRead(), "after line " + report.lines());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package co.eci.blacklist.application;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 9 - Tests for the coalescing of concurrent checks of the same IP.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class InFlightChecksTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InFlightChecks inFlight = new InFlightChecks(HostBlackListsDataSourceFacade.getInstance(), registry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        inFlight.close();
+        callers.shutdownNow();
+    }
+
+    /**
+     * Test 9.1: Callers arriving while a scan runs share its result and are counted as coalesced.
+     */
+    @Test
+    void test9_1_concurrentCallersShouldShareOneScan() throws Exception {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger scans = new AtomicInteger();
+        MatchResult expected = new MatchResult("200.24.34.55", false, List.of(0, 1, 2, 3, 4), 5, 10_000, 1, 4);
+
+        Future<MatchResult> leader = callers.submit(() -> inFlight.run("200.24.34.55", Duration.ZERO, budget -> {
+            scans.incrementAndGet();
+            scanStarted.countDown();
+            await(release);
+            return expected;
+        }));
+        assertTrue(scanStarted.await(5, TimeUnit.SECONDS));
+
+        List<Future<MatchResult>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(callers.submit(() -> inFlight.run("200.24.34.55", Duration.ZERO, budget -> {
+                scans.incrementAndGet();
+                return expected;
+            })));
+        }
+        while (registry.get("blacklist.check.coalesced").counter().count() < 5) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        for (Future<MatchResult> follower : followers) {
+            assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, scans.get());
+        assertEquals(0.0, registry.get("blacklist.check.inflight").gauge().value());
+    }
+
+    /**
+     * Test 9.2: A failing scan propagates its exception and does not stay in flight.
+     */
+    @Test
+    void test9_2_failedScanShouldNotStayInFlight() {
+        assertThrows(IllegalStateException.class, () -> inFlight.run("202.24.34.55", Duration.ZERO, budget -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        MatchResult result = new MatchResult("202.24.34.55", true, List.of(), 10_000, 10_000, 1, 1);
+        assertSame(result, inFlight.run("202.24.34.55", Duration.ZERO, budget -> result));
+    }
+
+    /**
+     * Test 9.3: A caller with a short budget that joins a scan without deadline returns its own
+     * partial result when its budget runs out, instead of waiting for the scan.
+     */
+    @Test
+    void test9_3_joinerShouldKeepItsOwnDeadline() throws Exception {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MatchResult expected = new MatchResult("200.24.34.55", false, List.of(0, 1, 2, 3, 4), 5, 10_000, 1, 4);
+
+        Future<MatchResult> leader = callers.submit(() -> inFlight.run("200.24.34.55", Duration.ZERO, budget -> {
+            scanStarted.countDown();
+            await(release);
+            return expected;
+        }));
+        assertTrue(scanStarted.await(5, TimeUnit.SECONDS));
+
+        MatchResult joined = callers.submit(() -> inFlight.run("200.24.34.55", Duration.ofMillis(50),
+                budget -> fail("The joiner should not scan"))).get(2, TimeUnit.SECONDS);
+        assertTrue(joined.partial());
+        assertTrue(joined.trustworthy());
+        assertEquals(0, joined.checkedServers());
+        assertFalse(leader.isDone());
+        assertEquals(1.0, registry.get("blacklist.check.coalesced").counter().count());
+
+        release.countDown();
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test 9.4: A caller without deadline that joins a scan cut short by its own budget scans
+     * again instead of returning the other request's partial verdict.
+     */
+    @Test
+    void test9_4_joinerWithoutDeadlineShouldRescanAfterPartialResult() throws Exception {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger scans = new AtomicInteger();
+        MatchResult partial = new MatchResult("212.24.24.55", true, List.of(), 3, 10_000, 1, 4, true, 0L);
+        MatchResult complete = new MatchResult("212.24.24.55", true, List.of(), 10_000, 10_000, 20, 4);
+
+        Future<MatchResult> leader = callers.submit(() -> inFlight.run("212.24.24.55", Duration.ofMillis(1), budget -> {
+            scans.incrementAndGet();
+            scanStarted.countDown();
+            await(release);
+            return partial;
+        }));
+        assertTrue(scanStarted.await(5, TimeUnit.SECONDS));
+
+        Future<MatchResult> joiner = callers.submit(() -> inFlight.run("212.24.24.55", Duration.ZERO, budget -> {
+            assertTrue(budget.isZero());
+            scans.incrementAndGet();
+            return complete;
+        }));
+        while (registry.get("blacklist.check.coalesced").counter().count() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(partial, leader.get(5, TimeUnit.SECONDS));
+        assertSame(complete, joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(2, scans.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package co.eci.blacklist.application;
+
+import java.util.function.IntToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 11 - Tests for the hill-climbing thread-count auto-tuner.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class ThreadAutoTunerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Test 11.1: The tuner climbs to the thread count with the best scan rate and follows
+     * the optimum when the source's behaviour changes.
+     */
+    @Test
+    void test11_1_tunerShouldFollowTheBestRate() {
+        ThreadTuningProperties properties = new ThreadTuningProperties();
+        properties.setEnabled(true);
+        properties.setWindow(5);
+        ThreadAutoTuner tuner = new ThreadAutoTuner(properties, registry);
+
+        runWindows(tuner, 60, peakAt(40));
+        assertTrue(near(tuner.threads(), 40), "tuned " + tuner.threads());
+
+        runWindows(tuner, 60, peakAt(3));
+        assertTrue(near(tuner.threads(), 3), "tuned " + tuner.threads());
+
+        assertEquals(tuner.threads(), registry.get("blacklist.tuning.threads").gauge().value());
+        assertTrue(registry.get("blacklist.tuning.adjustments").counter().count() > 0);
+        assertTrue(registry.get("blacklist.tuning.rate").gauge().value() > 0);
+    }
+
+    /**
+     * Test 11.2: The tuner stays within its bounds and ignores scans run at another thread count.
+     */
+    @Test
+    void test11_2_tunerShouldRespectBoundsAndIgnoreStaleScans() {
+        ThreadTuningProperties properties = new ThreadTuningProperties();
+        properties.setEnabled(true);
+        properties.setMinThreads(2);
+        properties.setMaxThreads(6);
+        properties.setWindow(1);
+        ThreadAutoTuner tuner = new ThreadAutoTuner(properties, registry);
+
+        for (int i = 0; i < 50; i++) {
+            runWindows(tuner, 1, peakAt(100));
+            assertTrue(tuner.threads() >= 2 && tuner.threads() <= 6, "tuned " + tuner.threads());
+        }
+
+        int before = tuner.threads();
+        tuner.record(before + 1, 1_000, 1_000);
+        tuner.record(before, 0, 1_000);
+        assertEquals(before, tuner.threads());
+
+        properties.setMinThreads(10);
+        assertThrows(IllegalArgumentException.class, () -> new ThreadAutoTuner(properties, registry));
+        assertThrows(IllegalArgumentException.class, () -> properties.setStep(1.0));
+    }
+
+    /**
+     * Test 11.3: A disabled tuner uses the available processors and learns nothing.
+     */
+    @Test
+    void test11_3_disabledTunerShouldUseAvailableProcessors() {
+        ThreadAutoTuner tuner = new ThreadAutoTuner(new ThreadTuningProperties(), registry);
+        int processors = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+        runWindows(tuner, 10, peakAt(processors + 20));
+        assertEquals(processors, tuner.threads());
+        assertEquals(0.0, registry.get("blacklist.tuning.adjustments").counter().count());
+    }
+
+    private static void runWindows(ThreadAutoTuner tuner, int windows, IntToDoubleFunction rate) {
+        for (int w = 0; w < windows; w++) {
+            int threads = tuner.threads();
+            for (int i = 0; i < 5; i++) {
+                tuner.record(threads, 1_000, (long) (1_000 * 1e9 / rate.applyAsDouble(threads)));
+            }
+        }
+    }
+
+    /**
+     * Scan rate that grows with the thread count up to the peak and then degrades.
+     */
+    private static IntToDoubleFunction peakAt(int peak) {
+        return threads -> threads <= peak ? 1e6 * threads : 1e6 * peak * peak / threads;
+    }
+
+    private static boolean near(int threads, int peak) {
+        return threads >= peak / 2 && threads <= peak * 2;
+    }
+}
@@ -0,0 +1,120 @@
+package co.eci.blacklist.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 8 - Tests for the verdict cache of the application service.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class VerdictCacheTest {
+
+    private static final String TEST_IP = "198.51.100.23";
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+    private final Policies policies = new Policies();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger computations = new AtomicInteger();
+    private VerdictCache cache;
+    private BlacklistChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        policies.setIndexedLookup(true);
+        cache = new VerdictCache(new VerdictCacheProperties(), policies, facade, registry);
+        checker = new BlacklistChecker(facade, policies);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+        facade.clear(TEST_IP);
+    }
+
+    private MatchResult check(String ip) {
+        return cache.get(ip, key -> {
+            computations.incrementAndGet();
+            return checker.checkHost(key, 2);
+        });
+    }
+
+    /**
+     * Test 8.1: Repeated checks are served from the cache and counted as hits.
+     */
+    @Test
+    void test8_1_repeatedChecksShouldHitCache() {
+        MatchResult first = check("200.24.34.55");
+        MatchResult second = check("200.24.34.55");
+
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", VerdictCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    /**
+     * Test 8.2: Seeding or clearing data for an IP invalidates its verdict.
+     */
+    @Test
+    void test8_2_dataChangesShouldInvalidateVerdict() {
+        assertTrue(check(TEST_IP).trustworthy());
+
+        facade.seed(TEST_IP, List.of(1, 2, 3, 4, 5));
+        assertFalse(check(TEST_IP).trustworthy());
+
+        facade.clear(TEST_IP);
+        assertTrue(check(TEST_IP).trustworthy());
+        assertEquals(3, computations.get());
+    }
+
+    /**
+     * Test 8.3: A verdict is not reused after the alarm threshold changes.
+     */
+    @Test
+    void test8_3_thresholdChangeShouldRecompute() {
+        assertFalse(check("202.24.34.55").trustworthy());
+
+        policies.setAlarmCount(10);
+        assertTrue(check("202.24.34.55").trustworthy());
+        assertEquals(2, computations.get());
+    }
+
+    /**
+     * Test 8.4: A batch is served from the cache where it can, and its missing verdicts are
+     * computed together in one call and cached.
+     */
+    @Test
+    void test8_4_batchShouldComputeOnlyMissingVerdictsTogether() {
+        MatchResult cached = check("200.24.34.55");
+        List<List<String>> calls = new ArrayList<>();
+        List<String> ips = List.of("202.24.34.55", "200.24.34.55", "212.24.24.55");
+
+        List<MatchResult> results = cache.getAll(ips, missing -> {
+            calls.add(missing);
+            return checker.checkHosts(missing);
+        });
+
+        assertEquals(List.of(List.of("202.24.34.55", "212.24.24.55")), calls);
+        assertSame(cached, results.get(1));
+        assertEquals(List.of("202.24.34.55", "200.24.34.55", "212.24.24.55"),
+                results.stream().map(MatchResult::ip).toList());
+        assertSame(results.get(0), check("202.24.34.55"));
+        assertSame(results.get(2), check("212.24.24.55"));
+        assertEquals(1, computations.get());
+    }
+}
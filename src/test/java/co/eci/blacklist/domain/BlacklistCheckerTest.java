@@ -1,8 +1,23 @@
 package co.eci.blacklist.domain;
 
+import co.eci.blacklist.infrastructure.CheckMetrics;
 import co.eci.blacklist.infrastructure.HostBlackListsDataSourceFacade;
+import co.eci.blacklist.infrastructure.ScanExecutorProperties;
+import co.eci.blacklist.infrastructure.ScanExecutors;
+import co.eci.blacklist.infrastructure.BlacklistSourceProperties;
+import co.eci.blacklist.infrastructure.SimulatedRemoteBlacklistSource;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -34,4 +49,326 @@ public class BlacklistCheckerTest {
         assertTrue(result.matches().size() >= policies.getAlarmCount());
         assertTrue(result.checkedServers() < result.totalServers(), "Should stop early and not scan all servers");
     }
+
+    /**
+     * Test 4.2: Verifies that a small shared pool serves many more segments than it has
+     * threads, across consecutive requests, in both execution modes.
+     */
+    @Test
+    void test4_2_sharedExecutorShouldServeRepeatedChecks() {
+        Policies policies = new Policies();
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+
+        for (ScanExecutorProperties.Mode mode : ScanExecutorProperties.Mode.values()) {
+            ScanExecutorProperties properties = new ScanExecutorProperties();
+            properties.setMode(mode);
+            properties.setPoolSize(2);
+            ExecutorService executor = ScanExecutors.create(properties);
+            try {
+                BlacklistChecker checker = new BlacklistChecker(facade, policies, executor);
+                for (int i = 0; i < 3; i++) {
+                    MatchResult clean = checker.checkHost("212.24.24.55", 64);
+                    assertTrue(clean.trustworthy());
+                    assertEquals(clean.totalServers(), clean.checkedServers());
+                    assertEquals(64, clean.threads());
+
+                    MatchResult dispersed = checker.checkHost("202.24.34.55", 64);
+                    assertFalse(dispersed.trustworthy());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Test 4.3: Verifies that indexed lookup gives the same verdicts as the segmented scan
+     * and resolves the clean IP without scanning.
+     */
+    @Test
+    void test4_3_indexedLookupShouldAgreeWithScan() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        Policies scanPolicies = new Policies();
+        Policies indexedPolicies = new Policies();
+        indexedPolicies.setIndexedLookup(true);
+
+        BlacklistChecker scan = new BlacklistChecker(facade, scanPolicies);
+        BlacklistChecker indexed = new BlacklistChecker(facade, indexedPolicies);
+
+        for (String ip : new String[]{"200.24.34.55", "202.24.34.55", "212.24.24.55"}) {
+            MatchResult expected = scan.checkHost(ip, 1);
+            MatchResult actual = indexed.checkHost(ip, 4);
+            assertEquals(expected.trustworthy(), actual.trustworthy(), ip);
+            assertEquals(expected.matches(), actual.matches(), ip);
+            assertEquals(expected.checkedServers(), actual.checkedServers(), ip);
+            assertEquals(4, actual.threads());
+            assertEquals(MatchResult.Lookup.INDEXED, actual.lookup());
+        }
+    }
+
+    /**
+     * Test 4.4: Verifies that checks and segments are recorded in the meter registry.
+     */
+    @Test
+    void test4_4_checksShouldBeRecordedAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlacklistChecker checker = new BlacklistChecker(HostBlackListsDataSourceFacade.getInstance(),
+                new Policies(), ScanExecutors.shared(), new CheckMetrics(registry));
+
+        checker.checkHost("200.24.34.55", 4);
+        checker.checkHost("212.24.24.55", 4);
+
+        assertEquals(1, registry.get("blacklist.check.duration").tag("verdict", "untrustworthy")
+                .tag("lookup", "scan").timer().count());
+        assertEquals(1, registry.get("blacklist.check.duration").tag("verdict", "trustworthy")
+                .tag("lookup", "scan").timer().count());
+        assertEquals(1.0, registry.get("blacklist.check.early.stops").counter().count());
+        assertEquals(2, registry.get("blacklist.check.threads").summary().count());
+        assertEquals(8, registry.get("blacklist.segment.duration").timer().count());
+        assertEquals(0.0, registry.get("blacklist.workers.active").gauge().value());
+    }
+
+    /**
+     * Test 4.5: Verifies that dynamic chunk scheduling reaches the same verdicts as the
+     * static partition, scans every server of a clean IP exactly once and rejects empty chunks.
+     */
+    @Test
+    void test4_5_dynamicSchedulingShouldAgreeWithStaticPartition() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        Policies staticPolicies = new Policies();
+        Policies dynamicPolicies = new Policies();
+        dynamicPolicies.setScheduling(Policies.Scheduling.DYNAMIC);
+        dynamicPolicies.setChunkSize(7);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlacklistChecker staticChecker = new BlacklistChecker(facade, staticPolicies);
+        BlacklistChecker dynamicChecker = new BlacklistChecker(facade, dynamicPolicies, ScanExecutors.shared(),
+                new CheckMetrics(registry));
+
+        for (String ip : new String[]{"200.24.34.55", "202.24.34.55", "212.24.24.55"}) {
+            MatchResult expected = staticChecker.checkHost(ip, 1);
+            assertEquals(expected.matches(), dynamicChecker.checkHost(ip, 1).matches(), ip);
+
+            MatchResult parallel = dynamicChecker.checkHost(ip, 16);
+            assertEquals(expected.trustworthy(), parallel.trustworthy(), ip);
+            assertEquals(16, parallel.threads());
+        }
+
+        MatchResult clean = dynamicChecker.checkHost("212.24.24.55", 3);
+        assertEquals(clean.totalServers(), clean.checkedServers());
+        assertEquals(3 * (1 + 16) + 3, registry.get("blacklist.segment.duration").timer().count());
+        assertThrows(IllegalArgumentException.class, () -> dynamicPolicies.setChunkSize(0));
+    }
+
+    /**
+     * Test 4.6: Verifies that a deadline or a cancellation cuts a slow scan short with a
+     * partial result, while a verdict reached in time is complete.
+     */
+    @Test
+    void test4_6_deadlineAndCancellationShouldReturnPartialResult() throws Exception {
+        BlacklistSourceProperties.Latency latency = new BlacklistSourceProperties.Latency();
+        latency.setMean(Duration.ofMillis(1));
+        SimulatedRemoteBlacklistSource slow = new SimulatedRemoteBlacklistSource(
+                HostBlackListsDataSourceFacade.getInstance(), latency);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlacklistChecker checker = new BlacklistChecker(slow, new Policies(), ScanExecutors.shared(),
+                new CheckMetrics(registry));
+
+        MatchResult timedOut = checker.checkHost("212.24.24.55", 2, ScanListener.NONE,
+                new ScanControl(Duration.ofMillis(50)));
+        assertTrue(timedOut.partial());
+        assertTrue(timedOut.trustworthy());
+        assertTrue(timedOut.checkedServers() < timedOut.totalServers());
+        assertTrue(timedOut.elapsedMs() < 2_000, "elapsed " + timedOut.elapsedMs());
+
+        ScanControl control = new ScanControl(Duration.ZERO);
+        CompletableFuture<MatchResult> running = CompletableFuture.supplyAsync(
+                () -> checker.checkHost("212.24.24.55", 2, ScanListener.NONE, control));
+        Thread.sleep(50);
+        control.cancel();
+        MatchResult cancelled = running.get(5, TimeUnit.SECONDS);
+        assertTrue(cancelled.partial());
+        assertTrue(cancelled.checkedServers() < cancelled.totalServers());
+
+        MatchResult complete = checker.checkHost("200.24.34.55", 2, ScanListener.NONE,
+                new ScanControl(Duration.ofSeconds(30)));
+        assertFalse(complete.partial());
+        assertFalse(complete.trustworthy());
+
+        assertEquals(2, registry.get("blacklist.check.duration").tag("verdict", "partial").timer().count());
+        assertThrows(IllegalArgumentException.class, () -> new ScanControl(Duration.ofMillis(-1)));
+    }
+
+    /**
+     * Test 4.7: Verifies that a check keeps the data epoch it started with, so an update
+     * published mid-scan does not leak into its verdict, and that the result carries the epoch.
+     */
+    @Test
+    void test4_7_checkShouldSeeTheEpochItStartedWith() throws Exception {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        String ip = "198.51.100.77";
+        BlacklistSourceProperties.Latency latency = new BlacklistSourceProperties.Latency();
+        latency.setMean(Duration.ofNanos(100_000));
+        BlacklistChecker slowChecker = new BlacklistChecker(
+                new SimulatedRemoteBlacklistSource(facade, latency), new Policies());
+        try {
+            long before = facade.epoch();
+            CompletableFuture<MatchResult> running = CompletableFuture.supplyAsync(
+                    () -> slowChecker.checkHost(ip, 2));
+            Thread.sleep(100);
+            long after = facade.update(editor -> editor.seed(ip, List.of(9_990, 9_991, 9_992, 9_993, 9_994)));
+            MatchResult pinned = running.get(30, TimeUnit.SECONDS);
+
+            assertTrue(after > before);
+            assertTrue(pinned.trustworthy());
+            assertEquals(before, pinned.epoch());
+
+            MatchResult fresh = new BlacklistChecker(facade, new Policies()).checkHost(ip, 2);
+            assertFalse(fresh.trustworthy());
+            assertEquals(after, fresh.epoch());
+        } finally {
+            facade.clear(ip);
+        }
+    }
+
+    /**
+     * Test 4.8: Verifies that with negative lookup a clean IP ruled out by the facade's filter
+     * is trustworthy without scanning any segment, with the same result as a full scan, while
+     * listed IPs are still scanned.
+     */
+    @Test
+    void test4_8_negativeLookupShouldSkipTheScanOfCleanIps() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        double previous = facade.getNegativeFilterRate();
+        facade.setNegativeFilterRate(0.01);
+        try {
+            Policies policies = new Policies();
+            MatchResult scanned = new BlacklistChecker(facade, policies).checkHost("212.24.24.55", 4);
+
+            policies.setNegativeLookup(true);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            BlacklistChecker checker = new BlacklistChecker(facade, policies, ScanExecutors.shared(),
+                    new CheckMetrics(registry));
+            MatchResult filtered = checker.checkHost("212.24.24.55", 4);
+
+            assertTrue(filtered.trustworthy());
+            assertEquals(MatchResult.Lookup.SCAN, scanned.lookup());
+            assertEquals(MatchResult.Lookup.FILTER, filtered.lookup());
+            assertEquals(scanned.matches(), filtered.matches());
+            assertEquals(scanned.checkedServers(), filtered.checkedServers());
+            assertEquals(0, registry.get("blacklist.segment.duration").timer().count());
+            assertEquals(1, registry.get("blacklist.check.duration").tag("verdict", "trustworthy")
+                    .tag("lookup", "filter").timer().count());
+
+            assertFalse(checker.checkHost("200.24.34.55", 4).trustworthy());
+            assertEquals(4, registry.get("blacklist.segment.duration").timer().count());
+        } finally {
+            facade.setNegativeFilterRate(previous);
+        }
+    }
+
+    /**
+     * Test 4.9: Verifies that a batch checked in one pass over the servers reaches the same
+     * results as checking each IP on its own, and is recorded under the batch lookup.
+     */
+    @Test
+    void test4_9_batchPassShouldAgreeWithSingleChecks() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlacklistChecker scan = new BlacklistChecker(facade, new Policies());
+        BlacklistChecker batch = new BlacklistChecker(facade, new Policies(), ScanExecutors.shared(),
+                new CheckMetrics(registry));
+        List<String> ips = List.of("200.24.34.55", "202.24.34.55", "212.24.24.55");
+
+        List<MatchResult> results = batch.checkHosts(ips);
+
+        assertEquals(ips.size(), results.size());
+        for (int i = 0; i < ips.size(); i++) {
+            MatchResult expected = scan.checkHost(ips.get(i), 1);
+            MatchResult actual = results.get(i);
+            assertEquals(ips.get(i), actual.ip());
+            assertEquals(expected.trustworthy(), actual.trustworthy(), ips.get(i));
+            assertEquals(expected.matches(), actual.matches(), ips.get(i));
+            assertEquals(expected.checkedServers(), actual.checkedServers(), ips.get(i));
+            assertEquals(1, actual.threads());
+        }
+        assertEquals(2, registry.get("blacklist.check.duration").tag("verdict", "untrustworthy")
+                .tag("lookup", "batch").timer().count());
+        assertEquals(1, registry.get("blacklist.check.duration").tag("verdict", "trustworthy")
+                .tag("lookup", "batch").timer().count());
+        assertEquals(0, registry.get("blacklist.segment.duration").timer().count());
+    }
+
+    /**
+     * Test 4.10: Verifies that the matches found by parallel workers are merged in ascending
+     * order into an int[]-backed list equal to the boxed one, and that the source's probe of
+     * an address agrees with its per-server lookup.
+     */
+    @Test
+    void test4_10_workerMatchesShouldMergeIntoPrimitiveList() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        String ip = "2001:db8::4:10";
+        List<Integer> servers = List.of(17, 2_500, 5_001, 7_777, 9_998);
+        facade.seed(ip, servers);
+        try {
+            Policies policies = new Policies();
+            policies.setScheduling(Policies.Scheduling.DYNAMIC);
+            policies.setChunkSize(3);
+            MatchResult result = new BlacklistChecker(facade, policies).checkHost("2001:DB8:0::4:10", 16);
+
+            assertFalse(result.trustworthy());
+            assertEquals(servers, result.matches());
+            assertEquals(servers.hashCode(), result.matches().hashCode());
+            ServerIndexList indices = result.matchIndices();
+            assertEquals(7_777, indices.getInt(3));
+            assertArrayEquals(new int[]{17, 2_500, 5_001, 7_777, 9_998}, indices.toIntArray());
+            assertThrows(UnsupportedOperationException.class, () -> result.matches().add(1));
+
+            MatchResult boxed = new MatchResult(ip, false, List.of(3, 1), 4, 10, 0, 1);
+            assertEquals(List.of(3, 1), boxed.matches());
+            assertEquals(1, boxed.matchIndices().getInt(1));
+
+            for (String text : new String[]{"2001:DB8:0::4:10", "200.24.34.55", "212.24.24.55", "not-an-ip"}) {
+                IntPredicate probe = facade.pinned().probe(text);
+                for (int s = 0; s < facade.getRegisteredServersCount(); s++) {
+                    assertEquals(facade.isInBlackListServer(s, text), probe.test(s), text + " on " + s);
+                }
+            }
+        } finally {
+            facade.clear(ip);
+        }
+    }
+
+    /**
+     * Test 4.11: Verifies that the servers checked, counted by each worker on its own, add up
+     * exactly once the scan ends, for a full scan with more workers than servers per chunk and
+     * for a single worker stopped at the alarm threshold.
+     */
+    @Test
+    void test4_11_workerCountsShouldAddUpToServersChecked() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        for (Policies.Scheduling scheduling : Policies.Scheduling.values()) {
+            Policies policies = new Policies();
+            policies.setScheduling(scheduling);
+            BlacklistChecker checker = new BlacklistChecker(facade, policies);
+            IntSupplier[] progress = new IntSupplier[1];
+            ScanListener listener = new ScanListener() {
+                @Override
+                public void onStart(String ip, int totalServers, IntSupplier checkedServers) {
+                    progress[0] = checkedServers;
+                }
+            };
+
+            MatchResult clean = checker.checkHost("212.24.24.55", 128, listener);
+            assertTrue(clean.trustworthy());
+            assertEquals(clean.totalServers(), clean.checkedServers(), scheduling.name());
+            assertEquals(clean.checkedServers(), progress[0].getAsInt());
+
+            // A lone worker reads the stop flag before every server, so it stops right after the 5th match
+            MatchResult stopped = checker.checkHost("200.24.34.55", 1, listener);
+            assertFalse(stopped.trustworthy());
+            assertEquals(stopped.matches().get(4) + 1, stopped.checkedServers(), scheduling.name());
+            assertEquals(stopped.checkedServers(), progress[0].getAsInt());
+        }
+    }
 }
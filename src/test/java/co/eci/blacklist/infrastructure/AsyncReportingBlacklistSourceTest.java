@@ -0,0 +1,130 @@
+package co.eci.blacklist.infrastructure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 12 - Tests for the asynchronous, batched and deduplicated verdict reporting pipeline.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class AsyncReportingBlacklistSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<VerdictSink.Verdict>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Test 12.1: Verdicts are published in batches no larger than the batch size, unchanged
+     * repeats are suppressed, changed verdicts are reported and close flushes the rest.
+     */
+    @Test
+    void test12_1_verdictsShouldBeBatchedAndDeduplicated() {
+        ReportingProperties properties = new ReportingProperties();
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        AsyncReportingBlacklistSource source = new AsyncReportingBlacklistSource(
+                HostBlackListsDataSourceFacade.getInstance(), batches::add, properties, registry);
+
+        for (int i = 0; i < 250; i++) {
+            source.reportAsTrustworthy("10.0.0." + i);
+        }
+        for (int i = 0; i < 250; i++) {
+            source.reportAsTrustworthy("10.0.0." + i);
+        }
+        source.reportAsNotTrustworthy("10.0.0.7");
+        source.close();
+
+        List<VerdictSink.Verdict> all = new ArrayList<>();
+        batches.forEach(batch -> {
+            assertTrue(batch.size() <= 100);
+            all.addAll(batch);
+        });
+        assertEquals(251, all.size());
+        assertEquals(new VerdictSink.Verdict("10.0.0.0", true), all.get(0));
+        assertEquals(new VerdictSink.Verdict("10.0.0.7", false), all.get(250));
+        assertEquals(250.0, outcome("suppressed"));
+        assertEquals(251.0, registry.get("blacklist.reporting.published").counter().count());
+
+        source.reportAsTrustworthy("10.0.1.1");
+        assertEquals(1.0, outcome("dropped"), "Verdicts submitted after close are dropped");
+    }
+
+    /**
+     * Test 12.2: A full queue drops verdicts instead of blocking the caller, and every
+     * accepted verdict is still published once the sink recovers.
+     */
+    @Test
+    void test12_2_fullQueueShouldDropWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ReportingProperties properties = new ReportingProperties();
+        properties.setQueueCapacity(5);
+        properties.setBatchSize(1);
+        AsyncReportingBlacklistSource source = new AsyncReportingBlacklistSource(
+                HostBlackListsDataSourceFacade.getInstance(), batch -> {
+                    await(release);
+                    batches.add(batch);
+                }, properties, registry);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            source.reportAsNotTrustworthy("10.0.2." + i);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Reporting must not block checks");
+        release.countDown();
+        source.close();
+
+        assertTrue(outcome("dropped") > 0);
+        assertEquals(50.0, outcome("queued") + outcome("dropped"));
+        assertEquals(outcome("queued"), batches.size());
+        assertEquals(0.0, registry.get("blacklist.reporting.queue").gauge().value());
+    }
+
+    /**
+     * Test 12.3: A partial batch is published after the flush interval without waiting to fill,
+     * and lookups go straight to the delegate.
+     */
+    @Test
+    void test12_3_partialBatchShouldFlushOnInterval() throws Exception {
+        ReportingProperties properties = new ReportingProperties();
+        properties.setFlushInterval(Duration.ofMillis(20));
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        AsyncReportingBlacklistSource source = new AsyncReportingBlacklistSource(
+                facade, batches::add, properties, registry);
+        try {
+            source.reportAsTrustworthy("10.0.3.1");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (batches.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(List.of(List.of(new VerdictSink.Verdict("10.0.3.1", true))), batches);
+            assertEquals(facade.getRegisteredServersCount(), source.getRegisteredServersCount());
+            assertArrayEquals(facade.getFirstMatches("200.24.34.55", 5), source.getFirstMatches("200.24.34.55", 5));
+            assertTrue(source.supportsBulkLookup());
+        } finally {
+            source.close();
+        }
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("blacklist.reporting.verdicts").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
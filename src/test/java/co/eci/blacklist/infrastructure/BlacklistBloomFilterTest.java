@@ -0,0 +1,121 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 18 - Tests for the negative-lookup Bloom filter.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class BlacklistBloomFilterTest {
+
+    /**
+     * Test 18.1: Every added address is reported as present, and the measured false-positive
+     * rate of a full filter stays close to its target, as does the rate estimated from its fill.
+     */
+    @Test
+    void test18_1_filterShouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        SplittableRandom random = new SplittableRandom(20);
+        BlacklistBloomFilter filter = BlacklistBloomFilter.create(200_000, 0.01);
+        Set<Integer> ipv4 = new HashSet<>();
+        long[][] ipv6 = new long[100_000][];
+        while (ipv4.size() < 100_000) {
+            int ip = random.nextInt();
+            if (ipv4.add(ip)) {
+                filter.addIpv4(ip);
+            }
+        }
+        for (int i = 0; i < ipv6.length; i++) {
+            ipv6[i] = new long[]{random.nextLong(), random.nextLong()};
+            filter.add(ipv6[i][0], ipv6[i][1]);
+        }
+
+        for (int ip : ipv4) {
+            assertTrue(filter.mightContainIpv4(ip));
+        }
+        for (long[] address : ipv6) {
+            assertTrue(filter.mightContain(address[0], address[1]));
+        }
+
+        int falsePositives = 0;
+        int probes = 0;
+        while (probes < 1_000_000) {
+            int ip = random.nextInt();
+            if (!ipv4.contains(ip)) {
+                probes++;
+                if (filter.mightContainIpv4(ip)) {
+                    falsePositives++;
+                }
+            }
+        }
+        double measured = falsePositives / (double) probes;
+        assertTrue(measured < 0.015, "measured false-positive rate " + measured);
+        assertEquals(measured, filter.estimatedFalsePositiveRate(), 0.005);
+        assertFalse(filter.isSaturated());
+    }
+
+    /**
+     * Test 18.2: A copy is independent of the original, and a filter knows when more
+     * addresses were added than it was sized for.
+     */
+    @Test
+    void test18_2_copyShouldBeIndependentAndSaturationTracked() {
+        BlacklistBloomFilter filter = BlacklistBloomFilter.create(2, 0.01);
+        filter.addIpv4(0xC0000201);
+        BlacklistBloomFilter copy = filter.copy();
+        copy.add(0x20010DB800000000L, 1L);
+
+        assertTrue(copy.mightContainIpv4(0xC0000201));
+        assertTrue(copy.mightContain(0x20010DB800000000L, 1L));
+        assertFalse(filter.mightContain(0x20010DB800000000L, 1L));
+        assertEquals(1, filter.insertions());
+        assertEquals(2, copy.insertions());
+
+        copy.addIpv4(0xC0000202);
+        assertTrue(copy.isSaturated());
+        assertFalse(filter.isSaturated());
+        assertEquals(filter.sizeBytes(), copy.sizeBytes());
+    }
+
+    /**
+     * Test 18.3: A low target rate needs more hashes than one 64-bit word of positions holds,
+     * and every one of them must still be drawn independently for the rate to be met.
+     */
+    @Test
+    void test18_3_lowTargetRateShouldBeMet() {
+        SplittableRandom random = new SplittableRandom(21);
+        BlacklistBloomFilter filter = BlacklistBloomFilter.create(100_000, 1e-4);
+        Set<Integer> ipv4 = new HashSet<>();
+        while (ipv4.size() < 100_000) {
+            int ip = random.nextInt();
+            if (ipv4.add(ip)) {
+                filter.addIpv4(ip);
+            }
+        }
+        for (int ip : ipv4) {
+            assertTrue(filter.mightContainIpv4(ip));
+        }
+
+        int falsePositives = 0;
+        int probes = 0;
+        while (probes < 4_000_000) {
+            int ip = random.nextInt();
+            if (!ipv4.contains(ip)) {
+                probes++;
+                if (filter.mightContainIpv4(ip)) {
+                    falsePositives++;
+                }
+            }
+        }
+        double measured = falsePositives / (double) probes;
+        assertTrue(measured < 1.5e-4, "measured false-positive rate " + measured);
+        assertEquals(measured, filter.estimatedFalsePositiveRate(), 5e-5);
+    }
+}
@@ -0,0 +1,245 @@
+package co.eci.blacklist.infrastructure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 14 - Tests for the streaming import of blacklist feeds.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class BlacklistFeedImporterTest {
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+    private final List<String> imported = new ArrayList<>();
+    private final List<BlacklistFeedImporter.Progress> progress = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        facade.update(editor -> imported.forEach(editor::clear));
+    }
+
+    /**
+     * Test 14.1: A pairs feed merges every server of an address, duplicates included once,
+     * and skips blank lines and comments.
+     */
+    @Test
+    void test14_1_pairsFeedShouldMergeServersPerAddress() throws IOException {
+        Path feed = write("pairs.csv", false,
+                "# ip,server\n"
+                + "198.51.100.1,7\n"
+                + "\n"
+                + " 198.51.100.2 , 3 \r\n"
+                + "198.51.100.1,2\n"
+                + "198.51.100.1,7\n"
+                + "2001:db8::1,4\n"
+                + "198.51.100.2,3000");
+        imported.addAll(List.of("198.51.100.1", "198.51.100.2", "2001:db8::1"));
+
+        BlacklistFeedImporter.Result result = importer(2).importPairs(feed);
+
+        assertEquals(6, result.rows());
+        assertEquals(0, result.rejected());
+        assertArrayEquals(new int[]{2, 7}, facade.getMatches("198.51.100.1"));
+        assertArrayEquals(new int[]{3, 3000}, facade.getMatches("198.51.100.2"));
+        assertArrayEquals(new int[]{4}, facade.getMatches("2001:db8::1"));
+        assertFalse(progress.isEmpty());
+        assertEquals(6, progress.get(progress.size() - 1).rows());
+    }
+
+    /**
+     * Test 14.2: Malformed lines are counted as rejected and leave the store untouched.
+     */
+    @Test
+    void test14_2_malformedLinesShouldBeRejected() throws IOException {
+        Path feed = write("bad.csv", false,
+                "198.51.100.10,1\n"
+                + "198.51.100.11\n"
+                + "198.51.100.12,-4\n"
+                + "198.51.100.013,5\n"
+                + "198.51.100.14,x\n"
+                + "not-an-ip,2\n");
+        imported.addAll(List.of("198.51.100.10", "198.51.100.11", "198.51.100.12", "198.51.100.14"));
+
+        BlacklistFeedImporter.Result result = importer(1).importPairs(feed);
+
+        assertEquals(6, result.rows());
+        assertEquals(5, result.rejected());
+        assertArrayEquals(new int[]{1}, facade.getMatches("198.51.100.10"));
+        assertEquals(0, facade.getMatches("198.51.100.11").length);
+        assertEquals(0, facade.getMatches("198.51.100.12").length);
+        assertEquals(0, facade.getMatches("198.51.100.14").length);
+    }
+
+    /**
+     * Test 14.3: A gzip-compressed per-server list spanning many chunks is imported
+     * completely by several workers.
+     */
+    @Test
+    void test14_3_gzipServerListShouldImportEveryAddress() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300_000; i++) {
+            text.append("10.").append(i >> 16 & 255).append('.').append(i >> 8 & 255).append('.')
+                    .append(i & 255).append('\n');
+        }
+        Path feed = write("server-42.txt.gz", true, text.toString());
+        for (int i = 0; i < 300_000; i++) {
+            imported.add("10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255));
+        }
+
+        BlacklistFeedImporter.Result result = importer(4).importServerList(feed, 42);
+
+        assertEquals(300_000, result.rows());
+        assertEquals(0, result.rejected());
+        for (int i = 0; i < 300_000; i += 997) {
+            assertArrayEquals(new int[]{42}, facade.getMatches(imported.get(i)), imported.get(i));
+        }
+        assertTrue(facade.isInBlackListServer(42, "10.4.147.223"));
+        assertFalse(facade.isInBlackListServer(41, "10.4.147.223"));
+    }
+
+    /**
+     * Test 14.4: Listeners are notified once, with null, when the import ends.
+     */
+    @Test
+    void test14_4_importShouldSignalABulkChange() throws IOException {
+        Path feed = write("one.csv", false, "198.51.100.20,9\n198.51.100.21,9\n");
+        imported.addAll(List.of("198.51.100.20", "198.51.100.21"));
+        List<String> changes = new ArrayList<>();
+        Consumer<String> listener = changes::add;
+        facade.addChangeListener(listener);
+        try {
+            importer(2).importPairs(feed);
+        } finally {
+            facade.removeChangeListener(listener);
+        }
+
+        assertEquals(1, changes.size());
+        assertNull(changes.get(0));
+    }
+
+    /**
+     * Test 14.5: A reload replaces all the data in one new epoch, and a reload that fails
+     * leaves the current data in place.
+     */
+    @Test
+    void test14_5_reloadShouldReplaceTheDataAtomically() throws IOException {
+        Path feed = write("reload.csv", false, "198.51.100.30,1\n198.51.100.31,2\n");
+        imported.addAll(List.of("198.51.100.30", "198.51.100.31"));
+        int[] concentrated = facade.getMatches("200.24.34.55");
+        int[] dispersed = facade.getMatches("202.24.34.55");
+        long before = facade.epoch();
+        try {
+            assertThrows(IOException.class, () -> importer(2).reloadPairs(dir.resolve("missing.csv")));
+            assertEquals(before, facade.epoch());
+            assertArrayEquals(concentrated, facade.getMatches("200.24.34.55"));
+
+            BlacklistFeedImporter.Result result = importer(2).reloadPairs(feed);
+
+            assertEquals(before + 1, result.epoch());
+            assertEquals(result.epoch(), facade.epoch());
+            assertArrayEquals(new int[]{1}, facade.getMatches("198.51.100.30"));
+            assertArrayEquals(new int[]{2}, facade.getMatches("198.51.100.31"));
+            assertEquals(0, facade.getMatches("200.24.34.55").length);
+        } finally {
+            facade.update(editor -> editor
+                    .seed("200.24.34.55", Arrays.stream(concentrated).boxed().toList())
+                    .seed("202.24.34.55", Arrays.stream(dispersed).boxed().toList()));
+        }
+    }
+
+    /**
+     * Test 14.6: CIDR prefixes in a feed list every covered address; prefixes with host bits
+     * set are rejected.
+     */
+    @Test
+    void test14_6_prefixLinesShouldListWholeNetworks() throws IOException {
+        Path feed = write("networks.csv", false, "203.0.113.0/24,5\n203.0.113.128/25,6\n203.0.113.1/24,7\n");
+        imported.addAll(List.of("203.0.113.0/24", "203.0.113.128/25"));
+
+        BlacklistFeedImporter.Result result = importer(2).importPairs(feed);
+
+        assertEquals(3, result.rows());
+        assertEquals(1, result.rejected());
+        assertArrayEquals(new int[]{5}, facade.getMatches("203.0.113.9"));
+        assertArrayEquals(new int[]{5, 6}, facade.getMatches("203.0.113.200"));
+        assertFalse(facade.isInBlackListServer(7, "203.0.113.1"));
+    }
+
+    /**
+     * Test 14.7: IPv6 rows in any textual form land on the same address, and malformed
+     * IPv6 text is rejected.
+     */
+    @Test
+    void test14_7_ipv6LinesShouldBeCanonicalized() throws IOException {
+        Path feed = write("ipv6.csv", false,
+                "2001:db8::a,1\n2001:DB8:0:0:0:0:0:A,2\n2001:0db8::000a,2\n2001:db8::1::a,3\nfe80::1%eth0,4\n");
+        imported.add("2001:db8::a");
+
+        BlacklistFeedImporter.Result result = importer(2).importPairs(feed);
+
+        assertEquals(5, result.rows());
+        assertEquals(2, result.rejected());
+        assertArrayEquals(new int[]{1, 2}, facade.getMatches("2001:db8:0::a"));
+        assertEquals(1, facade.ipv6AddressCount());
+    }
+
+    /**
+     * Test 14.8: Server indices past the registered server count are rejected, per row in a
+     * pairs feed and up front for a per-server list, so no lookup path ever sees them.
+     */
+    @Test
+    void test14_8_serversPastTheCountShouldBeRejected() throws IOException {
+        int servers = facade.getRegisteredServersCount();
+        Path feed = write("servers.csv", false,
+                "198.51.100.30," + (servers - 1) + "\n198.51.100.31," + servers + "\n198.51.100.32,50000\n");
+        imported.addAll(List.of("198.51.100.30", "198.51.100.31", "198.51.100.32"));
+
+        BlacklistFeedImporter.Result result = importer(1).importPairs(feed);
+
+        assertEquals(3, result.rows());
+        assertEquals(2, result.rejected());
+        assertArrayEquals(new int[]{servers - 1}, facade.getMatches("198.51.100.30"));
+        assertEquals(0, facade.getMatches("198.51.100.31").length);
+        assertEquals(0, facade.getMatches("198.51.100.32").length);
+
+        Path list = write("server-list.txt", false, "198.51.100.33\n");
+        long epoch = facade.epoch();
+        assertThrows(IllegalArgumentException.class, () -> importer(1).importServerList(list, servers));
+        assertThrows(IllegalArgumentException.class,
+                () -> facade.update(editor -> editor.seed("198.51.100.33", List.of(1, servers))));
+        assertEquals(epoch, facade.epoch());
+        assertEquals(0, facade.getMatches("198.51.100.33").length);
+    }
+
+    private BlacklistFeedImporter importer(int parallelism) {
+        return new BlacklistFeedImporter(facade, parallelism, progress::add, Duration.ZERO);
+    }
+
+    private Path write(String name, boolean gzip, String content) throws IOException {
+        Path path = dir.resolve(name);
+        try (OutputStream out = gzip ? new GZIPOutputStream(Files.newOutputStream(path)) : Files.newOutputStream(path)) {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+        return path;
+    }
+}
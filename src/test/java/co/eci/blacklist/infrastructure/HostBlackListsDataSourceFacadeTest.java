@@ -0,0 +1,180 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 6 - Tests for the per-IP index of HostBlackListsDataSourceFacade.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class HostBlackListsDataSourceFacadeTest {
+
+    private static final String TEST_IP = "198.51.100.7";
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        facade.clear(TEST_IP);
+    }
+
+    /**
+     * Test 6.1: Bulk queries agree with per-server lookups, including word boundaries.
+     */
+    @Test
+    void test6_1_bulkQueriesShouldMatchPerServerLookups() {
+        facade.seed(TEST_IP, List.of(63, 64, 9999, 0, 127));
+        facade.seed(TEST_IP, List.of(128));
+
+        assertArrayEquals(new int[]{0, 63, 64, 127, 128, 9999}, facade.getMatches(TEST_IP));
+        assertArrayEquals(new int[]{0, 63, 64}, facade.getFirstMatches(TEST_IP, 3));
+        assertEquals(2, facade.countMatches(TEST_IP, 63, 65));
+        assertEquals(3, facade.countMatches(TEST_IP, 64, 129));
+        assertEquals(6, facade.countMatches(TEST_IP, 0, facade.getRegisteredServersCount()));
+        assertEquals(0, facade.countMatches(TEST_IP, 129, 9999));
+
+        for (int s = 0; s < facade.getRegisteredServersCount(); s++) {
+            boolean expected = s == 0 || s == 63 || s == 64 || s == 127 || s == 128 || s == 9999;
+            assertEquals(expected, facade.isInBlackListServer(s, TEST_IP), "server " + s);
+        }
+    }
+
+    /**
+     * Test 6.2: Unknown and cleared IPs have no matches.
+     */
+    @Test
+    void test6_2_unknownIpShouldHaveNoMatches() {
+        assertEquals(0, facade.getMatches("212.24.24.55").length);
+        assertEquals(0, facade.countMatches("212.24.24.55", 0, facade.getRegisteredServersCount()));
+
+        facade.seed(TEST_IP, List.of(1, 2));
+        facade.clear(TEST_IP);
+        assertEquals(0, facade.getMatches(TEST_IP).length);
+    }
+
+    /**
+     * Test 6.3: A pinned epoch keeps answering with its own data after updates, every update
+     * publishes a higher epoch, and an update that fails publishes nothing.
+     */
+    @Test
+    void test6_3_pinnedEpochShouldBeUnaffectedByUpdates() {
+        facade.seed(TEST_IP, List.of(1, 2));
+        BlacklistSource pinned = facade.pinned();
+        long epoch = pinned.epoch();
+
+        long next = facade.update(editor -> editor.clear(TEST_IP).seed(TEST_IP, List.of(3)));
+        assertEquals(epoch + 1, next);
+        assertEquals(next, facade.epoch());
+        assertArrayEquals(new int[]{1, 2}, pinned.getMatches(TEST_IP));
+        assertTrue(pinned.isInBlackListServer(2, TEST_IP));
+        assertArrayEquals(new int[]{3}, facade.getMatches(TEST_IP));
+        assertArrayEquals(new int[]{3}, facade.pinned().getMatches(TEST_IP));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> facade.update(editor -> editor.seed(TEST_IP, List.of(4)).seed(TEST_IP, List.of(-1))));
+        assertEquals(next, facade.epoch());
+        assertArrayEquals(new int[]{3}, facade.getMatches(TEST_IP));
+    }
+
+    /**
+     * Test 6.4: A CIDR prefix lists every covered address, merged with its exact entry, for
+     * both per-server and bulk queries; clearing it notifies listeners of a bulk change.
+     */
+    @Test
+    void test6_4_prefixShouldListEveryCoveredAddress() {
+        List<String> changes = new ArrayList<>();
+        Consumer<String> listener = changes::add;
+        facade.addChangeListener(listener);
+        try {
+            facade.update(editor -> editor
+                    .seed("198.51.100.0/24", List.of(40, 41))
+                    .seed("198.51.0.0/16", List.of(7))
+                    .seed(TEST_IP, List.of(1)));
+
+            assertArrayEquals(new int[]{1, 7, 40, 41}, facade.getMatches(TEST_IP));
+            assertArrayEquals(new int[]{7, 40, 41}, facade.getMatches("198.51.100.200"));
+            assertArrayEquals(new int[]{7}, facade.getMatches("198.51.7.1"));
+            assertEquals(0, facade.getMatches("198.52.0.1").length);
+            assertTrue(facade.isInBlackListServer(41, "198.51.100.200"));
+            assertFalse(facade.isInBlackListServer(41, "198.51.7.1"));
+            assertEquals(2, facade.countMatches("198.51.100.9", 8, 100));
+            assertArrayEquals(new int[]{7, 40}, facade.getFirstMatches("198.51.100.9", 2));
+            assertThrows(IllegalArgumentException.class, () -> facade.seed("198.51.100.1/24", List.of(1)));
+        } finally {
+            facade.update(editor -> editor.clear("198.51.100.0/24").clear("198.51.0.0/16"));
+            facade.removeChangeListener(listener);
+        }
+        assertEquals(0, facade.getMatches("198.51.100.200").length);
+        assertNull(changes.get(changes.size() - 1));
+    }
+
+    /**
+     * Test 6.5: IPv6 addresses are stored once whatever their textual form, answer bulk and
+     * per-server queries, and are reported to listeners in their canonical form.
+     */
+    @Test
+    void test6_5_ipv6FormsShouldShareOneEntry() {
+        List<String> changes = new ArrayList<>();
+        Consumer<String> listener = changes::add;
+        facade.addChangeListener(listener);
+        try {
+            facade.seed("2001:DB8:0:0:0:0:0:7", List.of(9_000, 3));
+            facade.seed("2001:db8::0007", List.of(5));
+
+            assertArrayEquals(new int[]{3, 5, 9_000}, facade.getMatches("2001:db8::7"));
+            assertArrayEquals(new int[]{3}, facade.getFirstMatches("2001:0db8:0000:0000:0000:0000:0000:0007", 1));
+            assertTrue(facade.isInBlackListServer(9_000, "2001:db8:0::7"));
+            assertEquals(2, facade.countMatches("2001:db8::7", 4, 10_000));
+            assertEquals(0, facade.getMatches("2001:db8::8").length);
+            assertEquals(List.of("2001:db8::7", "2001:db8::7"), changes);
+            assertThrows(IllegalArgumentException.class, () -> facade.seed("not-an-ip", List.of(1)));
+        } finally {
+            facade.clear("2001:db8:0:0:0:0:0:7");
+            facade.removeChangeListener(listener);
+        }
+        assertEquals(0, facade.getMatches("2001:db8::7").length);
+    }
+
+    /**
+     * Test 6.6: With the negative filter on, listed addresses, their other IPv6 forms and
+     * addresses covered by a prefix might be listed, clean ones are ruled out, and updates
+     * keep the filter current.
+     */
+    @Test
+    void test6_6_negativeFilterShouldRuleOutCleanAddresses() {
+        double previous = facade.getNegativeFilterRate();
+        facade.setNegativeFilterRate(0.01);
+        try {
+            facade.update(editor -> editor
+                    .seed("2001:db8::66", List.of(1))
+                    .seed("203.0.113.0/24", List.of(2)));
+
+            assertTrue(facade.mightBeListed("200.24.34.55"));
+            assertTrue(facade.mightBeListed("2001:DB8:0:0:0:0:0:66"));
+            assertTrue(facade.mightBeListed("203.0.113.200"));
+            assertFalse(facade.mightBeListed("212.24.24.55"));
+            assertFalse(facade.mightBeListed(TEST_IP));
+            assertFalse(facade.mightBeListed("not-an-ip"));
+            assertTrue(facade.negativeFilterSizeBytes() > 0);
+
+            facade.seed(TEST_IP, List.of(3));
+            assertTrue(facade.mightBeListed(TEST_IP));
+
+            facade.setNegativeFilterRate(0);
+            assertTrue(facade.mightBeListed("212.24.24.55"));
+            assertEquals(0, facade.negativeFilterSizeBytes());
+        } finally {
+            facade.update(editor -> editor.clear("2001:db8::66").clear("203.0.113.0/24"));
+            facade.setNegativeFilterRate(previous);
+        }
+        assertThrows(IllegalArgumentException.class, () -> facade.setNegativeFilterRate(0.6));
+    }
+}
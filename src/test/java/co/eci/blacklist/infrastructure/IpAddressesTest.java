@@ -0,0 +1,72 @@
+package co.eci.blacklist.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 21 - Tests for the IP address parser shared by every endpoint.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class IpAddressesTest {
+
+    /**
+     * Test 21.1: The parser accepts the same addresses as the former InetAddress check without
+     * ever resolving a name.
+     */
+    @Test
+    void test21_1_parserShouldValidateWithoutResolvingNames() {
+        for (String ip : List.of("0.0.0.0", "200.24.34.55", "255.255.255.255", "::", "::1",
+                "2001:DB8::A110:C8", "::ffff:192.0.2.1")) {
+            assertTrue(IpAddresses.isValid(ip), ip);
+        }
+        for (String ip : List.of("", "1.2.3", "01.2.3.4", "1.2.3.256", "1.2.3.4 ", "localhost",
+                "example.invalid", "1::2::3", "fe80::1%eth0", "2001:db8::/32")) {
+            assertFalse(IpAddresses.isValid(ip), ip);
+            assertNull(IpAddresses.canonical(ip), ip);
+        }
+    }
+
+    /**
+     * Test 21.2: IPv4 addresses are canonical as given, and every textual form of an IPv6
+     * address has the same canonical form.
+     */
+    @Test
+    void test21_2_canonicalFormShouldBeSharedByEveryTextualForm() {
+        assertEquals("200.24.34.55", IpAddresses.canonical("200.24.34.55"));
+        assertEquals("2001:db8::a110:c8", IpAddresses.canonical("2001:0DB8:0:0::a110:c8"));
+        assertEquals("2001:db8::a110:c8", IpAddresses.canonical("2001:DB8::A110:C8"));
+    }
+
+    /**
+     * Test 21.3: Feed bytes and request text go through the same parsers, so both agree on
+     * every input, including malformed and non-ASCII ones.
+     */
+    @Test
+    void test21_3_byteAndTextParsersShouldAgree() {
+        List<String> inputs = List.of("200.24.34.55", "0.0.0.0", "203.0.113.0/24", "0.0.0.0/0", "1.2.3.4/32",
+                "::", "::1", "2001:DB8::A110:C8", "::ffff:192.0.2.1", "1:2:3:4:5:6:7:8",
+                "", ".", "/", ":", ":::", "1.2.3", "01.2.3.4", "1.2.3.256", "1..2.3", "1.2.3.4.",
+                "203.0.113.1/24", "203.0.113.0/", "203.0.113.0/08", "203.0.113.0/33", "1.2.3.4/2x",
+                "1::2::3", "1:2:3:4:5:6:7:8:9", "12345::", "::g", "1:2:3:4:5:6:7:1.2.3.4", "::1.2.3",
+                "fe80::1%eth0", "2001:db8::/32", "1.2.3.é", "::ÿ");
+        long[] text = new long[2];
+        long[] bytes = new long[2];
+        for (String input : inputs) {
+            byte[] padded = ("x" + input + "x").getBytes(StandardCharsets.ISO_8859_1);
+            int to = input.length() + 1;
+            assertEquals(Ipv4Addresses.parse(input), Ipv4Addresses.parse(padded, 1, to), input);
+            assertEquals(Ipv4Addresses.parsePrefix(input), Ipv4Addresses.parsePrefix(padded, 1, to), input);
+            boolean valid = Ipv6Addresses.parse(input, text);
+            assertEquals(valid, Ipv6Addresses.parse(padded, 1, to, bytes), input);
+            if (valid) {
+                assertArrayEquals(text, bytes, input);
+            }
+        }
+    }
+}
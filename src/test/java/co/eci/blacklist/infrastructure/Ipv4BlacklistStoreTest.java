@@ -0,0 +1,86 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 7 - Tests for the primitive IPv4 store, its server sets and address parsing.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class Ipv4BlacklistStoreTest {
+
+    /**
+     * Test 7.1: Random inserts and removals agree with a reference HashMap,
+     * exercising collisions, rehashing, backward-shift deletion and the zero key.
+     */
+    @Test
+    void test7_1_storeShouldMatchReferenceMap() {
+        Ipv4BlacklistStore store = new Ipv4BlacklistStore();
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int ip = random.nextInt(50_000) - 10;
+            if (random.nextInt(4) == 0) {
+                assertEquals(reference.remove(ip) != null, store.remove(ip));
+            } else {
+                int server = random.nextInt(10_000);
+                store.add(ip, new int[]{server});
+                reference.merge(ip, 1, Integer::sum);
+            }
+        }
+
+        assertEquals(reference.size(), store.size());
+        for (int ip = -10; ip < 50_000; ip++) {
+            assertEquals(reference.containsKey(ip), store.get(ip) != null, "ip " + ip);
+        }
+    }
+
+    /**
+     * Test 7.2: Server sets switch to the bitmap encoding when dense and answer the same queries.
+     */
+    @Test
+    void test7_2_serverSetsShouldEncodeSparseAndDense() {
+        int[] sparse = ServerSets.with(ServerSets.EMPTY, new int[]{8191, 5, 111, 5});
+        assertArrayEquals(new int[]{5, 111, 8191}, sparse);
+
+        int[] denseInput = new int[64];
+        for (int i = 0; i < denseInput.length; i++) {
+            denseInput[i] = i * 2;
+        }
+        int[] dense = ServerSets.with(ServerSets.EMPTY, denseInput);
+        assertEquals(ServerSets.DENSE_MARKER, dense[0]);
+        assertEquals(64, ServerSets.count(dense));
+        assertEquals(32, ServerSets.count(dense, 0, 64));
+        assertTrue(ServerSets.contains(dense, 126));
+        assertFalse(ServerSets.contains(dense, 127));
+        assertArrayEquals(new int[]{0, 2, 4}, ServerSets.first(dense, 3));
+
+        int[] grown = ServerSets.with(dense, new int[]{9999});
+        assertEquals(65, ServerSets.count(grown));
+        assertEquals(1, ServerSets.count(grown, 9000, 10_000));
+    }
+
+    /**
+     * Test 7.3: Only canonical dotted-quad text is parsed as IPv4.
+     */
+    @Test
+    void test7_3_parseShouldAcceptOnlyCanonicalIpv4() {
+        assertEquals(0xC8182237L, Ipv4Addresses.parse("200.24.34.55"));
+        assertEquals(0L, Ipv4Addresses.parse("0.0.0.0"));
+        assertEquals(0xFFFFFFFFL, Ipv4Addresses.parse("255.255.255.255"));
+        assertEquals("200.24.34.55", Ipv4Addresses.format((int) Ipv4Addresses.parse("200.24.34.55")));
+
+        for (String invalid : new String[]{"256.1.1.1", "01.2.3.4", "1.2.3", "1.2.3.4.5", "1..2.3", "1.2.3.4.",
+                "a.b.c.d", "::1", "1.2.3.-4", ""}) {
+            assertEquals(Ipv4Addresses.INVALID, Ipv4Addresses.parse(invalid), invalid);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 16 - Tests for the CIDR prefix trie and prefix parsing.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class Ipv4PrefixTrieTest {
+
+    /**
+     * Test 16.1: Random inserts and removals of nested and diverging prefixes agree with a
+     * brute-force reference, and earlier versions of the trie are left untouched.
+     */
+    @Test
+    void test16_1_trieShouldMatchBruteForceReference() {
+        Random random = new Random(16);
+        Map<Long, TreeSet<Integer>> reference = new HashMap<>();
+        List<Long> inserted = new ArrayList<>();
+        Ipv4PrefixTrie trie = Ipv4PrefixTrie.EMPTY;
+
+        for (int i = 0; i < 3_000; i++) {
+            if (!inserted.isEmpty() && random.nextInt(4) == 0) {
+                long key = inserted.remove(random.nextInt(inserted.size()));
+                reference.remove(key);
+                trie = trie.without(network(key), length(key));
+            } else {
+                // Keep addresses in 10.0.0.0/12 so prefixes nest and collide often
+                int length = random.nextInt(33);
+                int network = (0x0A000000 | random.nextInt(1 << 20)) & Ipv4Addresses.networkMask(length);
+                int server = random.nextInt(200);
+                long key = (long) network << 8 | length;
+                if (reference.computeIfAbsent(key, k -> new TreeSet<>()).add(server) && !inserted.contains(key)) {
+                    inserted.add(key);
+                }
+                trie = trie.with(network, length, new int[]{server});
+            }
+        }
+        Ipv4PrefixTrie before = trie;
+        assertEquals(reference.size(), trie.size());
+
+        for (int probe = 0; probe < 5_000; probe++) {
+            int ip = 0x0A000000 | random.nextInt(1 << 20);
+            TreeSet<Integer> expected = new TreeSet<>();
+            reference.forEach((key, servers) -> {
+                if (((ip ^ network(key)) & Ipv4Addresses.networkMask(length(key))) == 0) {
+                    expected.addAll(servers);
+                }
+            });
+            int[] actual = trie.serversOf(ip, ServerSets.EMPTY);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                    ServerSets.first(actual, Integer.MAX_VALUE), Ipv4Addresses.format(ip));
+            int server = random.nextInt(200);
+            assertEquals(expected.contains(server), trie.contains(ip, server));
+        }
+
+        for (long key : inserted) {
+            assertNotNull(trie.get(network(key), length(key)));
+            trie = trie.without(network(key), length(key));
+        }
+        assertTrue(trie.isEmpty());
+        assertEquals(reference.size(), before.size());
+    }
+
+    /**
+     * Test 16.2: Prefixes parse only in canonical form without host bits, and a prefix set
+     * merges with an exact entry.
+     */
+    @Test
+    void test16_2_prefixParsingAndMerging() {
+        long prefix = Ipv4Addresses.parsePrefix("203.0.113.0/24");
+        assertEquals(0xCB007100, Ipv4Addresses.prefixAddress(prefix));
+        assertEquals(24, Ipv4Addresses.prefixLength(prefix));
+        assertEquals(prefix, Ipv4Addresses.parsePrefix("x203.0.113.0/24x".getBytes(), 1, 15));
+        assertEquals(0, Ipv4Addresses.prefixLength(Ipv4Addresses.parsePrefix("0.0.0.0/0")));
+        assertEquals(32, Ipv4Addresses.prefixLength(Ipv4Addresses.parsePrefix("1.2.3.4/32")));
+        for (String invalid : new String[]{"203.0.113.1/24", "203.0.113.0/33", "203.0.113.0/", "203.0.113.0/08",
+                "203.0.113.0", "203.0.113/24", "203.0.113.0/2x"}) {
+            assertEquals(Ipv4Addresses.INVALID, Ipv4Addresses.parsePrefix(invalid), invalid);
+        }
+
+        Ipv4PrefixTrie trie = Ipv4PrefixTrie.EMPTY
+                .with(0xCB007100, 24, new int[]{9, 3})
+                .with(0xCB000000, 16, new int[]{3});
+        assertArrayEquals(new int[]{1, 3, 9}, ServerSets.first(
+                trie.serversOf(0xCB007107, ServerSets.encode(new int[]{1}, 1)), Integer.MAX_VALUE));
+        assertArrayEquals(new int[]{3}, ServerSets.first(trie.serversOf(0xCB007207, ServerSets.EMPTY), 10));
+        assertEquals(0, trie.serversOf(0xCC000000, ServerSets.EMPTY).length);
+    }
+
+    private static int network(long key) {
+        return (int) (key >>> 8);
+    }
+
+    private static int length(long key) {
+        return (int) (key & 0xFF);
+    }
+}
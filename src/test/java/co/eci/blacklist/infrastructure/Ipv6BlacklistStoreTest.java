@@ -0,0 +1,95 @@
+package co.eci.blacklist.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 17 - Tests for the primitive IPv6 store and IPv6 address parsing and formatting.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class Ipv6BlacklistStoreTest {
+
+    /**
+     * Test 17.1: Random inserts and removals agree with a reference HashMap, with keys that
+     * share their high half or differ only in it, and the all-zero address.
+     */
+    @Test
+    void test17_1_storeShouldMatchReferenceMap() {
+        Ipv6BlacklistStore store = new Ipv6BlacklistStore();
+        Map<String, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long hi = random.nextBoolean() ? 0x20010DB800000000L : random.nextInt(64);
+            long lo = random.nextInt(20_000) - 10;
+            String key = hi + "/" + lo;
+            if (random.nextInt(4) == 0) {
+                assertEquals(reference.remove(key) != null, store.remove(hi, lo));
+            } else {
+                store.add(hi, lo, new int[]{random.nextInt(10_000)});
+                reference.merge(key, 1, Integer::sum);
+            }
+        }
+
+        assertEquals(reference.size(), store.size());
+        assertEquals(reference.size() * 2, store.keys().length);
+        for (long lo = -10; lo < 20_000; lo++) {
+            assertEquals(reference.containsKey(0x20010DB800000000L + "/" + lo),
+                    store.get(0x20010DB800000000L, lo) != null, "lo " + lo);
+        }
+        store.add(0, 0, new int[]{3});
+        assertArrayEquals(new int[]{3}, store.copy().get(0, 0));
+    }
+
+    /**
+     * Test 17.2: Every textual form of an address parses to the same bits, malformed text is
+     * rejected, and the address is formatted back in its RFC 5952 form. The byte[] overload
+     * agrees with the String one on a range in the middle of a larger buffer.
+     */
+    @Test
+    void test17_2_parseShouldAcceptEveryFormAndFormatCanonically() {
+        long[] address = new long[2];
+        for (String form : new String[]{"2001:db8::1", "2001:DB8:0:0:0:0:0:1", "2001:0db8:0000::0001",
+                "2001:db8:0:0::0:1", "2001:db8::0.0.0.1"}) {
+            assertTrue(Ipv6Addresses.parse(form, address), form);
+            assertEquals(0x20010DB800000000L, address[0], form);
+            assertEquals(1L, address[1], form);
+            assertEquals("2001:db8::1", Ipv6Addresses.canonical(form), form);
+
+            address = new long[2];
+            assertTrue(Ipv6Addresses.parse(bytes(form), 1, form.length() + 1, address), form);
+            assertEquals(0x20010DB800000000L, address[0], form);
+            assertEquals(1L, address[1], form);
+        }
+
+        assertEquals("::", Ipv6Addresses.canonical("0:0:0:0:0:0:0:0"));
+        assertEquals("::1", Ipv6Addresses.canonical("::0:1"));
+        assertEquals("1::", Ipv6Addresses.canonical("1:0:0:0:0:0:0:0"));
+        assertEquals("::ffff:c018:2237", Ipv6Addresses.canonical("::ffff:192.24.34.55"));
+        assertEquals("2001:db8:0:1:1:1:1:1", Ipv6Addresses.canonical("2001:db8:0:1:1:1:1:1"));
+        assertEquals("2001:0:0:1::1", Ipv6Addresses.canonical("2001:0:0:1:0:0:0:1"));
+        assertEquals("fe80::1:0:0:1", Ipv6Addresses.canonical("fe80:0:0:0:1::1"));
+
+        for (String bad : new String[]{"", ":", ":::", "1:", ":1", "1:::2", "1::2::3", "12345::",
+                "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "g::1", "fe80::1%eth0",
+                "2001:db8::/32", "::1.2.3", "::01.2.3.4", "1:2:3:4:5:6:7:1.2.3.4", "1.2.3.4"}) {
+            assertFalse(Ipv6Addresses.parse(bad, address), bad);
+            assertFalse(Ipv6Addresses.parse(bytes(bad), 1, bad.length() + 1, address), bad);
+        }
+    }
+
+    /**
+     * Returns the ASCII bytes of the text between two delimiters, as the feed importer sees a line.
+     */
+    private static byte[] bytes(String text) {
+        return ("\n" + text + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+}
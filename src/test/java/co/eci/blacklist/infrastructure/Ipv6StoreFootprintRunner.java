@@ -0,0 +1,80 @@
+package co.eci.blacklist.infrastructure;
+
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the heap footprint and build time of the previous layout for IPv6 addresses, a
+ * {@code HashMap<String, int[]>} keyed by the text, with the primitive {@link Ipv6BlacklistStore},
+ * for 1M and 5M random global unicast addresses listed on one random server each.
+ *
+ * <p>Run it from the test classpath with a heap large enough for the biggest feed (for
+ * example {@code -Xmx6g}), optionally passing the address counts as arguments.
+ */
+public class Ipv6StoreFootprintRunner {
+
+    private static final int SERVERS = 10_000;
+
+    /**
+     * Main method to run the footprint comparison.
+     *
+     * @param args Address counts to compare; defaults to 1M and 5M.
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+                ? new int[]{1_000_000, 5_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.println("\n=====================================================================");
+        System.out.printf("%-10s | %-18s | %-10s | %-13s | %s%n", "Addresses", "Layout", "Heap", "Bytes/address", "Build");
+        System.out.println("=====================================================================");
+        for (int n : sizes) {
+            measure(n, "HashMap<String>", Ipv6StoreFootprintRunner::buildMap);
+            measure(n, "Ipv6BlacklistStore", Ipv6StoreFootprintRunner::buildStore);
+        }
+        System.out.println("=====================================================================");
+    }
+
+    private static void measure(int n, String layout, IntFunction<Object> builder) {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Object built = builder.apply(n);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+        long bytes = Math.max(0, usedHeap() - before);
+        System.out.printf("%-10d | %-18s | %7.1f MB | %13.1f | %d ms%n",
+                n, layout, bytes / (double) (1 << 20), bytes / (double) n, buildMs);
+        Reference.reachabilityFence(built);
+    }
+
+    private static Object buildMap(int n) {
+        SplittableRandom random = new SplittableRandom(19);
+        Map<String, int[]> map = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String ip = Ipv6Addresses.format(0x2000000000000000L | random.nextLong() >>> 3, random.nextLong());
+            map.put(ip, ServerSets.with(ServerSets.EMPTY, new int[]{random.nextInt(SERVERS)}));
+        }
+        return map;
+    }
+
+    private static Object buildStore(int n) {
+        SplittableRandom random = new SplittableRandom(19);
+        Ipv6BlacklistStore store = new Ipv6BlacklistStore();
+        for (int i = 0; i < n; i++) {
+            store.add(0x2000000000000000L | random.nextLong() >>> 3, random.nextLong(),
+                    new int[]{random.nextInt(SERVERS)});
+        }
+        return store;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,129 @@
+package co.eci.blacklist.infrastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 13 - Tests for the memory-mapped binary snapshot of the blacklist data.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class MappedBlacklistSnapshotTest {
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+    private final List<String> seeded = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        seeded.forEach(facade::clear);
+    }
+
+    /**
+     * Test 13.1: A snapshot answers every query like the facade it was written from,
+     * including dense sets and the addresses at both ends of the unsigned key order.
+     */
+    @Test
+    void test13_1_snapshotShouldAnswerLikeTheFacade() throws IOException {
+        Random random = new Random(13);
+        seed("0.0.0.0", List.of(1, 2));
+        seed("255.255.255.255", List.of(9_999));
+        seed("128.0.0.1", List.of(0));
+        List<Integer> dense = new ArrayList<>();
+        for (int s = 0; s < 2_000; s += 3) {
+            dense.add(s);
+        }
+        seed("10.20.30.40", dense);
+        for (int i = 0; i < 2_000; i++) {
+            String ip = random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + ".7";
+            seed(ip, List.of(random.nextInt(10_000), random.nextInt(10_000)));
+        }
+
+        Path path = dir.resolve("blacklist.snap");
+        int written = MappedBlacklistSnapshot.write(facade, path);
+        MappedBlacklistSnapshot snapshot = MappedBlacklistSnapshot.open(path);
+
+        assertEquals(written, snapshot.size());
+        assertEquals(facade.getRegisteredServersCount(), snapshot.getRegisteredServersCount());
+        List<String> probes = new ArrayList<>(seeded);
+        probes.addAll(List.of("200.24.34.55", "202.24.34.55", "212.24.24.55", "1.1.1.1", "not-an-ip"));
+        for (String ip : probes) {
+            assertArrayEquals(facade.getMatches(ip), snapshot.getMatches(ip), ip);
+            assertArrayEquals(facade.getFirstMatches(ip, 5), snapshot.getFirstMatches(ip, 5), ip);
+            assertEquals(facade.countMatches(ip, 100, 1_500), snapshot.countMatches(ip, 100, 1_500), ip);
+            for (int s : new int[]{0, 1, 2, 3, 5, 6, 999, 1_998, 1_999, 9_999, 10_000}) {
+                assertEquals(facade.isInBlackListServer(s, ip), snapshot.isInBlackListServer(s, ip), ip + "@" + s);
+            }
+        }
+        assertFalse(Files.exists(dir.resolve("blacklist.snap.tmp")));
+    }
+
+    /**
+     * Test 13.2: A checker over the snapshot reaches the same verdicts as over the facade.
+     */
+    @Test
+    void test13_2_checkerShouldAgreeOverSnapshot() throws IOException {
+        Path path = dir.resolve("blacklist.snap");
+        MappedBlacklistSnapshot.write(facade, path);
+        MappedBlacklistSnapshot snapshot = MappedBlacklistSnapshot.open(path);
+        Policies policies = new Policies();
+        policies.setIndexedLookup(true);
+
+        for (String ip : new String[]{"200.24.34.55", "202.24.34.55", "212.24.24.55"}) {
+            MatchResult expected = new BlacklistChecker(facade, new Policies()).checkHost(ip, 1);
+            MatchResult indexed = new BlacklistChecker(snapshot, policies).checkHost(ip, 4);
+            MatchResult scanned = new BlacklistChecker(snapshot, new Policies()).checkHost(ip, 1);
+            assertEquals(expected.trustworthy(), indexed.trustworthy(), ip);
+            assertEquals(expected.matches(), indexed.matches(), ip);
+            assertEquals(expected.matches(), scanned.matches(), ip);
+        }
+    }
+
+    /**
+     * Test 13.3: Files that are not complete snapshots are rejected when opened.
+     */
+    @Test
+    void test13_3_invalidFilesShouldBeRejected() throws IOException {
+        Path path = dir.resolve("blacklist.snap");
+        MappedBlacklistSnapshot.write(facade, path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = dir.resolve("truncated.snap");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> MappedBlacklistSnapshot.open(truncated));
+
+        Path foreign = dir.resolve("foreign.snap");
+        byte[] corrupted = bytes.clone();
+        ByteBuffer.wrap(corrupted).putInt(0, 0x12345678);
+        Files.write(foreign, corrupted);
+        assertThrows(IOException.class, () -> MappedBlacklistSnapshot.open(foreign));
+
+        Path empty = dir.resolve("empty.snap");
+        Files.write(empty, new byte[0]);
+        assertThrows(IOException.class, () -> MappedBlacklistSnapshot.open(empty));
+    }
+
+    private void seed(String ip, List<Integer> servers) {
+        facade.seed(ip, servers);
+        seeded.add(ip);
+    }
+}
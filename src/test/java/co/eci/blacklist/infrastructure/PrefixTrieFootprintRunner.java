@@ -0,0 +1,65 @@
+package co.eci.blacklist.infrastructure;
+
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the heap footprint and build time of the {@link Ipv4PrefixTrie} for feeds of
+ * 1M and 4M random prefixes (70% /24, 10% /32, the rest /16 to /32) on one random server each.
+ *
+ * <p>Run it from the test classpath with a heap large enough for the biggest feed (for
+ * example {@code -Xmx4g}), optionally passing the prefix counts as arguments.
+ */
+public class PrefixTrieFootprintRunner {
+
+    private static final int SERVERS = 10_000;
+
+    /**
+     * Main method to run the footprint measurement.
+     *
+     * @param args Prefix counts to measure; defaults to 1M and 4M.
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+                ? new int[]{1_000_000, 4_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.println("\n=====================================================================");
+        System.out.printf("%-12s | %-12s | %-14s | %s%n", "Prefixes", "Heap", "Bytes/prefix", "Build");
+        System.out.println("=====================================================================");
+        for (int n : sizes) {
+            long before = usedHeap();
+            long start = System.nanoTime();
+            Ipv4PrefixTrie trie = build(n);
+            long buildMs = (System.nanoTime() - start) / 1_000_000;
+            long bytes = Math.max(0, usedHeap() - before);
+            System.out.printf("%-12d | %9.1f MB | %14.1f | %d ms (%d distinct)%n",
+                    n, bytes / (double) (1 << 20), bytes / (double) trie.size(), buildMs, trie.size());
+            Reference.reachabilityFence(trie);
+        }
+        System.out.println("=====================================================================");
+    }
+
+    private static Ipv4PrefixTrie build(int n) {
+        SplittableRandom random = new SplittableRandom(18);
+        Ipv4PrefixTrie trie = Ipv4PrefixTrie.EMPTY;
+        int[] server = new int[1];
+        for (int i = 0; i < n; i++) {
+            int roll = random.nextInt(10);
+            int length = roll < 7 ? 24 : roll == 7 ? 32 : 16 + random.nextInt(17);
+            int network = (int) random.nextLong(0x01000000L, 0xE0000000L) & Ipv4Addresses.networkMask(length);
+            server[0] = random.nextInt(SERVERS);
+            trie = trie.with(network, length, server);
+        }
+        return trie;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,114 @@
+package co.eci.blacklist.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 19 - Tests for the compressed bitmaps and the server-major index of batch checks.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class ServerMajorIndexTest {
+
+    /**
+     * Test 19.1: Intersections agree with reference sets across array and bitmap containers,
+     * sparse and dense, in ascending order.
+     */
+    @Test
+    void test19_1_bitmapIntersectionShouldMatchReferenceSets() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> a = randomSet(random, round % 2 == 0 ? 100_000 : 300, 1 << 20);
+            TreeSet<Integer> b = randomSet(random, round % 3 == 0 ? 60_000 : 2_000, 1 << 20);
+            CompressedBitmap left = CompressedBitmap.of(toArray(a), a.size());
+            CompressedBitmap right = CompressedBitmap.of(toArray(b), b.size());
+
+            TreeSet<Integer> expected = new TreeSet<>(a);
+            expected.retainAll(b);
+            List<Integer> common = new ArrayList<>();
+            left.forEachCommon(right, common::add);
+            assertEquals(new ArrayList<>(expected), common, "round " + round);
+
+            assertEquals(a.size(), left.cardinality());
+            for (int probe = 0; probe < 1_000; probe++) {
+                int value = random.nextInt(1 << 20);
+                assertEquals(a.contains(value), left.contains(value));
+            }
+        }
+        assertFalse(CompressedBitmap.EMPTY.contains(0));
+    }
+
+    /**
+     * Test 19.2: One pass over the server-major index gives every address of a batch the same
+     * lowest matches as its own lookup, for IPv4 and IPv6 entries, prefixes, repeated forms of
+     * one address, unlisted addresses and invalid text, and so does the default pass of the SPI.
+     */
+    @Test
+    void test19_2_batchShouldMatchPerAddressLookups() {
+        HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+        BlacklistSource scanning = new BlacklistSource() {
+            @Override
+            public int getRegisteredServersCount() {
+                return facade.getRegisteredServersCount();
+            }
+
+            @Override
+            public boolean isInBlackListServer(int serverIndex, String ip) {
+                return facade.isInBlackListServer(serverIndex, ip);
+            }
+
+            @Override
+            public void reportAsTrustworthy(String ip) {
+            }
+
+            @Override
+            public void reportAsNotTrustworthy(String ip) {
+            }
+        };
+        try {
+            facade.update(editor -> editor
+                    .seed("198.51.100.20", List.of(3, 40, 500, 9999))
+                    .seed("198.51.100.0/24", List.of(2, 40, 41))
+                    .seed("2001:db8::19", List.of(0, 7, 8000))
+                    .seed("0.0.0.0", List.of(5)));
+
+            List<String> batch = List.of("200.24.34.55", "202.24.34.55", "212.24.24.55", "198.51.100.20",
+                    "198.51.100.21", "2001:db8::19", "2001:DB8:0:0:0:0:0:19", "0.0.0.0", "2001:db8::20", "not-an-ip");
+            for (int limit : new int[]{0, 1, 3, 5, Integer.MAX_VALUE}) {
+                int[][] indexed = facade.getFirstMatches(batch, limit);
+                int[][] scanned = limit > 5 ? null : scanning.getFirstMatches(batch, limit);
+                for (int i = 0; i < batch.size(); i++) {
+                    int[] expected = facade.getFirstMatches(batch.get(i), Math.min(limit, 10_000));
+                    assertArrayEquals(expected, indexed[i], batch.get(i) + " limit " + limit);
+                    if (scanned != null) {
+                        assertArrayEquals(expected, scanned[i], batch.get(i) + " limit " + limit);
+                    }
+                }
+            }
+            assertArrayEquals(new int[]{2, 3, 40, 41, 500}, facade.getFirstMatches(batch, 5)[3]);
+        } finally {
+            facade.update(editor -> editor.clear("198.51.100.20").clear("198.51.100.0/24").clear("2001:db8::19")
+                    .clear("0.0.0.0"));
+        }
+    }
+
+    private static TreeSet<Integer> randomSet(SplittableRandom random, int size, int bound) {
+        TreeSet<Integer> set = new TreeSet<>();
+        // Half the values crowd into one 65536-value block, so it becomes a bitmap container
+        while (set.size() < size) {
+            set.add(random.nextBoolean() ? random.nextInt(bound) : 3 << 16 | random.nextInt(1 << 16));
+        }
+        return set;
+    }
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,120 @@
+package co.eci.blacklist.infrastructure;
+
+import java.time.Duration;
+
+import co.eci.blacklist.domain.BlacklistChecker;
+import co.eci.blacklist.domain.MatchResult;
+import co.eci.blacklist.domain.Policies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test 10 - Tests for the BlacklistSource SPI and the latency-simulating remote source.
+ *
+ * @author ARSW-PANDILLA-2025
+ * @version 1.0
+ */
+class SimulatedRemoteBlacklistSourceTest {
+
+    private final HostBlackListsDataSourceFacade facade = HostBlackListsDataSourceFacade.getInstance();
+
+    /**
+     * Test 10.1: The simulated source answers like the facade but has no bulk lookup,
+     * so a checker with indexed lookup enabled falls back to the scan and reaches the same verdict.
+     */
+    @Test
+    void test10_1_checkerShouldScanSourcesWithoutBulkLookup() {
+        BlacklistSourceProperties.Latency latency = new BlacklistSourceProperties.Latency();
+        latency.setMean(Duration.ZERO);
+        SimulatedRemoteBlacklistSource remote = new SimulatedRemoteBlacklistSource(facade, latency);
+        assertFalse(remote.supportsBulkLookup());
+        assertTrue(facade.supportsBulkLookup());
+
+        Policies policies = new Policies();
+        policies.setIndexedLookup(true);
+        for (String ip : new String[]{"200.24.34.55", "202.24.34.55", "212.24.24.55"}) {
+            MatchResult indexed = new BlacklistChecker(facade, policies).checkHost(ip, 1);
+            MatchResult scanned = new BlacklistChecker(remote, policies).checkHost(ip, 1);
+
+            assertEquals(indexed.trustworthy(), scanned.trustworthy(), ip);
+            assertEquals(indexed.matches(), scanned.matches(), ip);
+            assertEquals(indexed.checkedServers(), scanned.checkedServers(), ip);
+            assertArrayEquals(facade.getFirstMatches(ip, 3), remote.getFirstMatches(ip, 3), ip);
+        }
+    }
+
+    /**
+     * Test 10.2: Sampled latencies follow the configured distribution, slow servers are
+     * chosen deterministically in the configured proportion and stalls add their duration.
+     */
+    @Test
+    void test10_2_latencyShouldFollowConfiguredDistribution() {
+        BlacklistSourceProperties.Latency latency = new BlacklistSourceProperties.Latency();
+        latency.setMean(Duration.ofNanos(1_000));
+        SimulatedRemoteBlacklistSource fixed = new SimulatedRemoteBlacklistSource(facade, latency);
+        assertEquals(1_000, fixed.sampleLatencyNanos(7));
+
+        latency.setDistribution(BlacklistSourceProperties.Distribution.LONG_TAIL);
+        SimulatedRemoteBlacklistSource tail = new SimulatedRemoteBlacklistSource(facade, latency);
+        long max = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long sample = tail.sampleLatencyNanos(i);
+            assertTrue(sample >= 333, "Samples start at the Pareto scale, mean / 3 for shape 1.5");
+            max = Math.max(max, sample);
+        }
+        assertTrue(max > 10_000, "Long tail should produce outliers");
+
+        // A shape with finite variance lets the sample mean settle on the configured mean
+        latency.setTailShape(3.0);
+        SimulatedRemoteBlacklistSource settled = new SimulatedRemoteBlacklistSource(facade, latency);
+        double sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += settled.sampleLatencyNanos(i);
+        }
+        assertEquals(1_000, sum / 100_000, 50);
+        latency.setTailShape(1.5);
+
+        latency.setDistribution(BlacklistSourceProperties.Distribution.NORMAL);
+        latency.setStdDev(Duration.ofNanos(5_000));
+        SimulatedRemoteBlacklistSource normal = new SimulatedRemoteBlacklistSource(facade, latency);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(normal.sampleLatencyNanos(i) >= 0);
+        }
+
+        latency.setDistribution(BlacklistSourceProperties.Distribution.FIXED);
+        latency.setSlowServerRatio(0.25);
+        latency.setSlowServerFactor(4.0);
+        latency.setStallProbability(1.0);
+        latency.setStallDuration(Duration.ofNanos(500));
+        SimulatedRemoteBlacklistSource skewed = new SimulatedRemoteBlacklistSource(facade, latency);
+        int slow = 0;
+        for (int s = 0; s < 10_000; s++) {
+            boolean isSlow = skewed.isSlowServer(s);
+            assertEquals(isSlow, skewed.isSlowServer(s));
+            assertEquals(isSlow ? 4_500 : 1_500, skewed.sampleLatencyNanos(s));
+            slow += isSlow ? 1 : 0;
+        }
+        assertEquals(2_500, slow, 250);
+    }
+
+    /**
+     * Test 10.3: A lookup blocks for at least the simulated latency and invalid settings are rejected.
+     */
+    @Test
+    void test10_3_lookupShouldBlockAndPropertiesShouldValidate() {
+        BlacklistSourceProperties.Latency latency = new BlacklistSourceProperties.Latency();
+        latency.setMean(Duration.ofMillis(5));
+        SimulatedRemoteBlacklistSource remote = new SimulatedRemoteBlacklistSource(facade, latency);
+
+        long start = System.nanoTime();
+        remote.isInBlackListServer(0, "200.24.34.55");
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(5).toNanos());
+
+        assertThrows(IllegalArgumentException.class, () -> latency.setMean(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> latency.setTailShape(1.0));
+        assertThrows(IllegalArgumentException.class, () -> latency.setStallProbability(1.5));
+        assertThrows(IllegalArgumentException.class, () -> latency.setSlowServerFactor(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new BlacklistSourceProperties().setType(null));
+    }
+}
@@ -0,0 +1,108 @@
+package co.eci.blacklist.infrastructure;
+
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Compares the heap footprint of the previous {@code ConcurrentHashMap<String, Set<Integer>>}
+ * layout with the primitive {@link Ipv4BlacklistStore}, for 1M, 10M and 50M IPs listed on
+ * three random servers each.
+ *
+ * <p>Sizes that do not fit in the current heap are extrapolated from the largest size that
+ * was measured and marked as estimated. Run it from the test classpath with a large heap
+ * (for example {@code -Xmx24g}) and the entry counts as arguments to measure them directly.
+ */
+public class StoreFootprintRunner {
+
+    private static final int SERVERS = 10_000;
+    private static final int SERVERS_PER_IP = 3;
+
+    /**
+     * Main method to run the footprint comparison.
+     *
+     * @param args Entry counts to compare; defaults to 1M, 10M and 50M.
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+                ? new int[]{1_000_000, 10_000_000, 50_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        Map<Integer, double[]> results = new LinkedHashMap<>();
+        double mapPerEntry = 0;
+        double storePerEntry = 0;
+
+        for (int n : sizes) {
+            double mapBytes;
+            double storeBytes;
+            boolean estimated = mapPerEntry > 0 && mapPerEntry * n > Runtime.getRuntime().maxMemory() * 0.7;
+            if (estimated) {
+                mapBytes = mapPerEntry * n;
+                storeBytes = storePerEntry * n;
+            } else {
+                mapBytes = measure(() -> buildMap(n));
+                storeBytes = measure(() -> buildStore(n));
+                mapPerEntry = mapBytes / n;
+                storePerEntry = storeBytes / n;
+            }
+            results.put(n, new double[]{mapBytes, storeBytes, estimated ? 1 : 0});
+        }
+
+        System.out.println("\n=====================================================================");
+        System.out.printf("%-12s | %-16s | %-16s | %-8s | %s%n", "Entries", "CHM<String,Set>", "Ipv4 store", "Ratio", "");
+        System.out.println("=====================================================================");
+        for (Map.Entry<Integer, double[]> entry : results.entrySet()) {
+            double[] r = entry.getValue();
+            System.out.printf("%-12d | %13.1f MB | %13.1f MB | %7.1fx | %s%n",
+                    entry.getKey(), r[0] / (1 << 20), r[1] / (1 << 20), r[0] / r[1], r[2] == 1 ? "estimated" : "measured");
+        }
+        System.out.println("=====================================================================");
+    }
+
+    private static ConcurrentMap<String, Set<Integer>> buildMap(int n) {
+        ConcurrentMap<String, Set<Integer>> map = new ConcurrentHashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < n; i++) {
+            Set<Integer> servers = map.computeIfAbsent(Ipv4Addresses.format(0x0A000000 + i), k -> ConcurrentHashMap.newKeySet());
+            for (int s = 0; s < SERVERS_PER_IP; s++) {
+                servers.add(random.nextInt(SERVERS));
+            }
+        }
+        return map;
+    }
+
+    private static Ipv4BlacklistStore buildStore(int n) {
+        Ipv4BlacklistStore store = new Ipv4BlacklistStore(n);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] servers = new int[SERVERS_PER_IP];
+        for (int i = 0; i < n; i++) {
+            for (int s = 0; s < SERVERS_PER_IP; s++) {
+                servers[s] = random.nextInt(SERVERS);
+            }
+            store.add(0x0A000000 + i, servers);
+        }
+        return store;
+    }
+
+    private static double measure(Supplier<Object> builder) {
+        long before = usedHeap();
+        Object retained = builder.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(retained);
+        return Math.max(0, after - before);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}